@@ -113,6 +113,7 @@ suite = {
       ],
       "requires" : [
         "java.management",
+        "jdk.jfr",
         "jdk.management",
         "jdk.unsupported",
       ],
@@ -391,6 +392,10 @@ suite = {
     "GRAALJS" : {
       "moduleInfo" : {
         "name" : "org.graalvm.js",
+        "requires" : [
+          # only used by the optional parse metrics JFR event
+          "static jdk.jfr",
+        ],
         "requiresConcealed" : {
           "org.graalvm.truffle" : [
             "com.oracle.truffle.api"
@@ -171,7 +171,7 @@ public class Lexer extends Scanner {
      */
     public Lexer(final Source source, final int start, final int len, final TokenStream stream, final boolean scripting, final int ecmaScriptVersion, final boolean shebang, final boolean isModule,
                     final boolean pauseOnFunctionBody, final boolean allowBigInt) {
-        super(source.getContent(), 1, start, len);
+        super(source.getPrologue(), source.getEnclosedContent(), source.getEpilogue(), 1, start, len);
         this.source = source;
         this.stream = stream;
         this.scripting = scripting;
@@ -914,7 +914,7 @@ public class Lexer extends Scanner {
         if (len != keyword.length()) {
             return false;
         }
-        return content.regionMatches(start, keyword, 0, len);
+        return regionMatches(start, keyword, len);
     }
 
     /**
@@ -936,7 +936,7 @@ public class Lexer extends Scanner {
         // Scan until end of line or end of file.
         while (pos < end) {
 
-            char curCh0 = content.charAt(pos);
+            char curCh0 = textCharAt(pos);
 
             // If escape character.
             if (convertUnicode && curCh0 == '\\' && charAt(pos + 1) == 'u') {
@@ -978,7 +978,7 @@ public class Lexer extends Scanner {
         // Scan identifier.
         final int length = scanIdentifier();
         // Check to see if it is a keyword.
-        final TokenType type = TokenLookup.lookupKeyword(content, start, length);
+        final TokenType type = lookupKeyword(start, length);
         if (type == FUNCTION && pauseOnFunctionBody) {
             pauseOnNextLeftBrace = true;
         }
@@ -1588,7 +1588,7 @@ public class Lexer extends Scanner {
      */
     private boolean identifierEqual(final int aStart, final int aLength, final int bStart, final int bLength) {
         if (aLength == bLength) {
-            return content.regionMatches(aStart, content, bStart, aLength);
+            return regionMatches(aStart, bStart, aLength);
         }
         return false;
     }
@@ -1864,12 +1864,12 @@ public class Lexer extends Scanner {
             // Remove last end of line if specified.
             if (excludeLastEOL) {
                 // Handles \n.
-                if (content.charAt(stringEnd - 1) == '\n') {
+                if (textCharAt(stringEnd - 1) == '\n') {
                     stringEnd--;
                 }
 
                 // Handles \r and \r\n.
-                if (content.charAt(stringEnd - 1) == '\r') {
+                if (textCharAt(stringEnd - 1) == '\r') {
                     stringEnd--;
                 }
 
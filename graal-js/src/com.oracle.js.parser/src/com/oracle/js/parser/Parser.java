@@ -46,10 +46,12 @@ import static com.oracle.js.parser.TokenType.ARROW;
 import static com.oracle.js.parser.TokenType.AS;
 import static com.oracle.js.parser.TokenType.ASSERT;
 import static com.oracle.js.parser.TokenType.ASSIGN;
+import static com.oracle.js.parser.TokenType.ASSIGN_DIV;
 import static com.oracle.js.parser.TokenType.ASSIGN_INIT;
 import static com.oracle.js.parser.TokenType.ASYNC;
 import static com.oracle.js.parser.TokenType.AT;
 import static com.oracle.js.parser.TokenType.AWAIT;
+import static com.oracle.js.parser.TokenType.BREAK;
 import static com.oracle.js.parser.TokenType.CASE;
 import static com.oracle.js.parser.TokenType.CATCH;
 import static com.oracle.js.parser.TokenType.CLASS;
@@ -57,8 +59,11 @@ import static com.oracle.js.parser.TokenType.COLON;
 import static com.oracle.js.parser.TokenType.COMMARIGHT;
 import static com.oracle.js.parser.TokenType.COMMENT;
 import static com.oracle.js.parser.TokenType.CONST;
+import static com.oracle.js.parser.TokenType.CONTINUE;
 import static com.oracle.js.parser.TokenType.DECPOSTFIX;
 import static com.oracle.js.parser.TokenType.DECPREFIX;
+import static com.oracle.js.parser.TokenType.DIV;
+import static com.oracle.js.parser.TokenType.DO;
 import static com.oracle.js.parser.TokenType.ELLIPSIS;
 import static com.oracle.js.parser.TokenType.ELSE;
 import static com.oracle.js.parser.TokenType.EOF;
@@ -68,6 +73,7 @@ import static com.oracle.js.parser.TokenType.ESCSTRING;
 import static com.oracle.js.parser.TokenType.EXPORT;
 import static com.oracle.js.parser.TokenType.EXTENDS;
 import static com.oracle.js.parser.TokenType.FINALLY;
+import static com.oracle.js.parser.TokenType.FOR;
 import static com.oracle.js.parser.TokenType.FROM;
 import static com.oracle.js.parser.TokenType.FUNCTION;
 import static com.oracle.js.parser.TokenType.GET;
@@ -82,11 +88,15 @@ import static com.oracle.js.parser.TokenType.LBRACKET;
 import static com.oracle.js.parser.TokenType.LET;
 import static com.oracle.js.parser.TokenType.LPAREN;
 import static com.oracle.js.parser.TokenType.MUL;
+import static com.oracle.js.parser.TokenType.NEW;
 import static com.oracle.js.parser.TokenType.OF;
+import static com.oracle.js.parser.TokenType.OPTIONAL_CHAIN;
 import static com.oracle.js.parser.TokenType.PERIOD;
 import static com.oracle.js.parser.TokenType.PRIVATE_IDENT;
 import static com.oracle.js.parser.TokenType.RBRACE;
 import static com.oracle.js.parser.TokenType.RBRACKET;
+import static com.oracle.js.parser.TokenType.REGEX;
+import static com.oracle.js.parser.TokenType.RETURN;
 import static com.oracle.js.parser.TokenType.RPAREN;
 import static com.oracle.js.parser.TokenType.SEMICOLON;
 import static com.oracle.js.parser.TokenType.SET;
@@ -96,6 +106,7 @@ import static com.oracle.js.parser.TokenType.SPREAD_OBJECT;
 import static com.oracle.js.parser.TokenType.STATIC;
 import static com.oracle.js.parser.TokenType.STRING;
 import static com.oracle.js.parser.TokenType.SUPER;
+import static com.oracle.js.parser.TokenType.SWITCH;
 import static com.oracle.js.parser.TokenType.TEMPLATE;
 import static com.oracle.js.parser.TokenType.TEMPLATE_HEAD;
 import static com.oracle.js.parser.TokenType.TEMPLATE_MIDDLE;
@@ -105,10 +116,12 @@ import static com.oracle.js.parser.TokenType.THIS;
 import static com.oracle.js.parser.TokenType.VAR;
 import static com.oracle.js.parser.TokenType.VOID;
 import static com.oracle.js.parser.TokenType.WHILE;
+import static com.oracle.js.parser.TokenType.WITH;
 import static com.oracle.js.parser.TokenType.YIELD;
 import static com.oracle.js.parser.TokenType.YIELD_STAR;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -362,6 +375,12 @@ public class Parser extends AbstractParser {
 
     private boolean isModule;
 
+    /** Only preparse the bodies of inner functions, see {@link PreparsedFunctionData}. */
+    private boolean preparseFunctions;
+
+    /** Start of the preparsed function being parsed in full by {@link #parsePreparsedFunction}. */
+    private int eagerFunctionStart = -1;
+
     /**
      * Used to pass (async) arrow function flags from head to body.
      *
@@ -521,6 +540,7 @@ public class Parser extends AbstractParser {
     public FunctionNode parse(final TruffleString scriptName, final int startPos, final int len, final int reparseFlags, Scope parentScope, List<String> argumentNames) {
         long startTime = PROFILE_PARSING ? System.nanoTime() : 0L;
         try {
+            preparseFunctions = env.lazyParsing && reparsedFunction == null && (reparseFlags & PARSE_EVAL) == 0;
             prepareLexer(startPos, len);
 
             scanFirstToken();
@@ -556,6 +576,7 @@ public class Parser extends AbstractParser {
         try {
             isModule = true;
             isStrictMode = true; // Module code is always strict mode code. (ES6 10.2.1)
+            preparseFunctions = env.lazyParsing && reparsedFunction == null;
             prepareLexer(startPos, len);
 
             scanFirstToken();
@@ -671,6 +692,67 @@ public class Parser extends AbstractParser {
         }
     }
 
+    /**
+     * Parses the body of a function that has only been preparsed (see
+     * {@link FunctionNode#isPreparsed()}), returning a new, fully parsed function node. The parser
+     * must have been created for the source of the preparsed function. Inner functions are again
+     * only preparsed, if enabled.
+     *
+     * @param preparsedFunction the preparsed function node
+     * @return function node resulting from successful parse
+     */
+    public FunctionNode parsePreparsedFunction(final FunctionNode preparsedFunction) {
+        final PreparsedFunctionData data = preparsedFunction.getPreparsedFunctionData();
+        final ParserState startParserState = (ParserState) data.getStartParserState();
+        final boolean oldModule = isModule;
+        final boolean oldStrictMode = isStrictMode;
+        try {
+            isModule = data.isModule();
+            isStrictMode = data.isStrict();
+            preparseFunctions = env.lazyParsing && reparsedFunction == null;
+            eagerFunctionStart = startParserState.position;
+
+            stream = new TokenStream();
+            lexer = startParserState.createLexer(source, preparsedFunction.getFinish(), stream, scripting, env.ecmaScriptVersion, shebang, isModule, allowBigInt);
+            line = startParserState.line;
+            linePosition = startParserState.linePosition;
+            type = SEMICOLON;
+            scanFirstToken();
+
+            return preparsedFunction(preparsedFunction, data);
+        } catch (final Exception e) {
+            handleParseException(e);
+            return null;
+        } finally {
+            isStrictMode = oldStrictMode;
+            isModule = oldModule;
+        }
+    }
+
+    private FunctionNode preparsedFunction(final FunctionNode preparsedFunction, final PreparsedFunctionData data) {
+        // Parse the function as the only element of a synthetic script in the enclosing scope.
+        final long scriptToken = Token.toDesc(FUNCTION, start, preparsedFunction.getFinish() - start);
+        final Scope topScope = Scope.createFunctionBody(data.getParentScope());
+        final ParserContextFunctionNode script = createParserContextFunctionNode(null, scriptToken, FunctionNode.IS_SCRIPT, line, List.of(), 0, topScope);
+
+        lc.push(script);
+        final ParserContextBlockNode body = newBlock(topScope);
+        functionDeclarations = new ArrayList<>();
+        try {
+            final boolean async = preparsedFunction.isAsync();
+            final boolean declared = preparsedFunction.isDeclared();
+            final long functionToken = async ? expectAsyncFunction() : token;
+            final FunctionNode function = (FunctionNode) functionDeclarationOrExpression(functionToken, preparsedFunction.isStatement(), true, async, false, declared,
+                            false, false, !declared || preparsedFunction.isAnonymous());
+            // names of anonymous functions are inferred from the enclosing code
+            return function.setName(null, preparsedFunction.getNameTS());
+        } finally {
+            functionDeclarations = null;
+            restoreBlock(body);
+            lc.pop(script);
+        }
+    }
+
     private void handleParseException(final Exception e) {
         // Issue message.
         if (e instanceof ParserException) {
@@ -815,7 +897,8 @@ public class Parser extends AbstractParser {
                         body,
                         function.getEndParserState(),
                         function.getModule(),
-                        function.getInternalNameTS());
+                        function.getInternalNameTS(),
+                        function.getPreparsedFunctionData());
 
         return functionNode;
     }
@@ -1277,7 +1360,7 @@ public class Parser extends AbstractParser {
         final Expression exp = ((ExpressionStatement) stmt).getExpression();
         // A directive is either a string or an escape string
         // Make sure that we don't unescape anything. Return as seen in source!
-        return source.getContent().regionMatches(exp.getStart() + 1, USE_STRICT, 0, Token.descLength(exp.getToken()) - 2);
+        return source.regionMatches(exp.getStart() + 1, USE_STRICT, 0, Token.descLength(exp.getToken()) - 2);
     }
 
     /**
@@ -1912,7 +1995,7 @@ public class Parser extends AbstractParser {
                 }
                 constructor = constructor.setValue(new FunctionNode(ctor.getSource(), ctor.getLineNumber(), ctor.getToken(), classFinish, classToken, lastToken, className,
                                 className == null ? TruffleString.Encoding.UTF_16.getEmpty() : className.getNameTS(),
-                                ctor.getLength(), ctor.getNumOfParams(), ctor.getParameters(), flags, ctor.getBody(), ctor.getEndParserState(), ctor.getModule(), ctor.getInternalNameTS()));
+                                ctor.getLength(), ctor.getNumOfParams(), ctor.getParameters(), flags, ctor.getBody(), ctor.getEndParserState(), ctor.getModule(), ctor.getInternalNameTS(), ctor.getPreparsedFunctionData()));
             }
 
             IdentNode invalidPrivateIdent = classNode.verifyAllPrivateIdentifiersValid(lc);
@@ -5105,7 +5188,10 @@ public class Parser extends AbstractParser {
                     throw error(AbstractParser.message(MSG_UNEXPECTED_IMPORT_META), importToken);
                 }
                 next();
-                return new IdentNode(importToken, finish, lexer.stringIntern(IMPORT_META_NAME)).setIsImportMeta();
+                IdentNode importMeta = new IdentNode(importToken, finish, lexer.stringIntern(IMPORT_META_NAME)).setIsImportMeta();
+                // never resolved, but needed in the free names of preparsed functions
+                addIdentifierReference(importMeta.getName());
+                return importMeta;
             } else {
                 throw error(AbstractParser.message(MSG_UNEXPECTED_IDENT, meta), token);
             }
@@ -5125,6 +5211,8 @@ public class Parser extends AbstractParser {
             expect(RPAREN);
 
             IdentNode importIdent = new IdentNode(importToken, Token.descPosition(importToken) + Token.descLength(importToken), lexer.stringIntern(IMPORT.getNameTS()));
+            // never resolved, but needed in the free names of preparsed functions
+            addIdentifierReference(importIdent.getName());
             return CallNode.forImport(importLine, importToken, importStart, finish, importIdent, arguments);
         } else {
             throw error(AbstractParser.message(MSG_EXPECTED_OPERAND, IMPORT.getName()), importToken);
@@ -5262,6 +5350,15 @@ public class Parser extends AbstractParser {
         return functionDeclarationOrExpression(token, false, false, false, false, false, false, false, true);
     }
 
+    /**
+     * Decides whether the body of a function declaration or expression is only preparsed, see
+     * {@link #preparseFunctionBody}. Functions in classes may refer to private names and are always
+     * parsed in full.
+     */
+    private boolean canPreparseFunction(long functionToken) {
+        return preparseFunctions && Token.descPosition(functionToken) != eagerFunctionStart && lc.getCurrentClass() == null;
+    }
+
     /**
      * Parse (async) (generator) function declaration or expression.
      *
@@ -5283,6 +5380,9 @@ public class Parser extends AbstractParser {
     private Expression functionDeclarationOrExpression(long functionToken, boolean isStatement, boolean topLevel, boolean async,
                     boolean expressionStatement, boolean isDeclaration, boolean isYield, boolean isAwait, boolean isDefault) {
         final int functionLine = line;
+        final int functionLinePosition = linePosition;
+        // A parenthesized function expression is likely to be invoked immediately.
+        final boolean parenthesized = last == LPAREN;
         // FUNCTION is tested in caller.
         assert type == FUNCTION;
         next();
@@ -5335,6 +5435,10 @@ public class Parser extends AbstractParser {
             // name is null, generate anonymous name
             functionNode.setInternalName(getDefaultFunctionName());
         }
+        if (!parenthesized && canPreparseFunction(functionToken)) {
+            ParserState startParserState = new ParserState(Token.descPosition(functionToken), functionLine, functionLinePosition);
+            functionNode.setPreparsedFunctionData(new PreparsedFunctionData(startParserState, functionNode.getParentScope(), isStrictMode, isModule));
+        }
 
         lc.push(functionNode);
 
@@ -5356,7 +5460,7 @@ public class Parser extends AbstractParser {
             } finally {
                 restoreBlock(parameterBlock);
             }
-            if (parameterBlock != null) {
+            if (parameterBlock != null && !functionNode.isPreparsed()) {
                 functionBody = wrapParameterBlock(parameterBlock, functionBody);
             }
         } finally {
@@ -5687,6 +5791,10 @@ public class Parser extends AbstractParser {
         Object endParserState = null;
         // Create a new function block.
         ParserContextBlockNode body = newBlock(functionNode.createBodyScope());
+        final Scope functionTopScope = functionNode.hasParameterExpressions() ? functionNode.getParameterScope() : body.getScope();
+        if (functionNode.isPreparsed()) {
+            functionTopScope.recordFreeNames();
+        }
         try {
             final int functionId = functionNode.getId();
             parseBody = reparsedFunction == null || functionId <= reparsedFunction.getFunctionNodeId();
@@ -5717,7 +5825,9 @@ public class Parser extends AbstractParser {
                 bodyFinish = finish;
             } else {
                 expectDontAdvance(LBRACE);
-                if (parseBody || !skipFunctionBody(functionNode)) {
+                if (functionNode.isPreparsed() && !scripting && preparseFunctionBody()) {
+                    endParserState = new ParserState(Token.descPosition(token), line, linePosition);
+                } else if (parseBody || !skipFunctionBody(functionNode)) {
                     next();
                     // Gather the function elements.
                     final List<Statement> prevFunctionDecls = functionDeclarations;
@@ -5796,9 +5906,369 @@ public class Parser extends AbstractParser {
                 }
             }
         }
+        if (functionNode.isPreparsed()) {
+            // Only keep the scope facts of the function; the body is parsed in full on demand.
+            functionNode.getPreparsedFunctionData().setFreeNames(functionTopScope.getFreeNames());
+            return new Block(bodyToken, bodyFinish, body.getFlags() | Block.IS_BODY, body.getScope(), List.of());
+        }
         return new Block(bodyToken, bodyFinish, body.getFlags() | Block.IS_BODY, body.getScope(), body.getStatements());
     }
 
+    /**
+     * Skips over the body of a preparsed function by scanning its tokens, without building any
+     * nodes. Identifiers used in the body are recorded as references in the current scope, so that
+     * the free names of the function are known, albeit over-approximated since declarations in the
+     * body are not seen.
+     *
+     * Apart from lexical errors and unbalanced brackets, the scan looks for candidates of the cheap
+     * early errors: duplicate parameter names, reserved words of strict mode code, {@code let} as
+     * a lexically bound name, and {@code break}, {@code continue} and {@code return} outside of
+     * their statement context. A body with such a candidate is parsed in full right away, so that
+     * the error, if any, is reported at parse time with its usual message and position. Other early
+     * errors are reported when the body is parsed in full on first call.
+     *
+     * Bodies that start with a directive, refer to {@code eval} or use {@code new.target} affect
+     * the flags of the function and are parsed in full instead, as are bodies that cannot be
+     * scanned unambiguously without the grammar (e.g. a {@code /} after a {@code }}).
+     *
+     * @return true if the body has been skipped and the current token is its closing brace, false
+     *         if the body has to be parsed and the current token is its opening brace
+     */
+    private boolean preparseFunctionBody() {
+        assert type == LBRACE;
+        final ParserState bodyStartState = new ParserState(Token.descPosition(token), line, linePosition);
+        final boolean pauseOnRightBrace = lexer.pauseOnRightBrace;
+        final List<String> references = new ArrayList<>();
+        // Open brackets; TEMPLATE_HEAD stands for an open template substitution.
+        final List<TokenType> brackets = new ArrayList<>();
+        // What the open brackets belong to: the token before a parenthesis, or FOR, SWITCH,
+        // FUNCTION or STATIC for the braces of loops, switch statements, functions and static
+        // blocks, respectively.
+        final List<TokenType> owners = new ArrayList<>();
+        // Nesting depths that are within a loop statement whose body is not a block.
+        final BitSet loopStatements = new BitSet();
+        // Identifiers directly in the open parentheses, each of which starts with a null.
+        final List<String> parenNames = new ArrayList<>();
+        // Nested functions may have their own directive, and classes are strict mode code.
+        boolean strict = isStrictMode;
+        try {
+            next();
+            if (type == STRING || type == ESCSTRING) {
+                // possibly a "use strict" directive
+                return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+            }
+            TokenType beforePrevious = null;
+            TokenType previous = LBRACE;
+            boolean previousIsPropertyName = false;
+            TokenType previousParenOwner = null;
+            boolean previousParenHasDuplicateNames = false;
+            while (true) {
+                // identifier names after . and ?. are property names, even if reserved words
+                final boolean isPropertyName = (previous == PERIOD || previous == OPTIONAL_CHAIN) && (type == IDENT || isIdentifierName());
+                if (!isPropertyName && !previousIsPropertyName && isEarlyErrorCandidate(previous, strict)) {
+                    return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+                }
+                TokenType parenOwner = null;
+                boolean parenHasDuplicateNames = false;
+                switch (type) {
+                    case LPAREN:
+                        brackets.add(type);
+                        owners.add(previousIsPropertyName ? null : (previous == AWAIT && beforePrevious == FOR) ? FOR : previous);
+                        parenNames.add(null);
+                        break;
+                    case LBRACKET:
+                        brackets.add(type);
+                        owners.add(null);
+                        break;
+                    case LBRACE: {
+                        final TokenType owner = previousIsPropertyName ? null : braceOwner(previous, previousParenOwner);
+                        if (owner == FUNCTION && previous == RPAREN && previousParenHasDuplicateNames) {
+                            return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+                        }
+                        brackets.add(type);
+                        owners.add(owner);
+                        break;
+                    }
+                    case TEMPLATE_HEAD:
+                    case TEMPLATE_MIDDLE:
+                        lexer.pauseOnRightBrace = true;
+                        brackets.add(TEMPLATE_HEAD);
+                        owners.add(null);
+                        break;
+                    case RPAREN:
+                    case RBRACKET:
+                    case RBRACE:
+                        if (brackets.isEmpty()) {
+                            if (type != RBRACE) {
+                                return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+                            }
+                            lexer.pauseOnRightBrace = pauseOnRightBrace;
+                            for (String name : references) {
+                                addIdentifierReference(name);
+                            }
+                            return true;
+                        }
+                        final TokenType open = brackets.remove(brackets.size() - 1);
+                        final TokenType owner = owners.remove(owners.size() - 1);
+                        loopStatements.clear(brackets.size() + 1);
+                        if (open == TEMPLATE_HEAD && type == RBRACE) {
+                            // end of a template substitution, continue with the next template span
+                            lexer.scanTemplateSpan();
+                            next();
+                            assert type == TEMPLATE_MIDDLE || type == TEMPLATE_TAIL : type;
+                            if (type == TEMPLATE_TAIL) {
+                                lexer.pauseOnRightBrace = pauseOnRightBrace || brackets.contains(TEMPLATE_HEAD);
+                            }
+                            continue;
+                        } else if (open != (type == RPAREN ? LPAREN : type == RBRACKET ? LBRACKET : LBRACE)) {
+                            return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+                        }
+                        if (type == RPAREN) {
+                            parenOwner = owner;
+                            parenHasDuplicateNames = removeParenNames(parenNames);
+                            if (owner == FOR || owner == WHILE) {
+                                loopStatements.set(brackets.size());
+                            }
+                        } else if (type == RBRACE) {
+                            // end of a block, which also ends a loop statement it is the body of
+                            loopStatements.clear(brackets.size());
+                        }
+                        break;
+                    case SEMICOLON:
+                        loopStatements.clear(brackets.size());
+                        break;
+                    case DO:
+                        if (!isPropertyName) {
+                            loopStatements.set(brackets.size());
+                        }
+                        break;
+                    case ARROW:
+                        if (previous == RPAREN && previousParenHasDuplicateNames) {
+                            return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+                        }
+                        break;
+                    case BREAK:
+                    case CONTINUE:
+                        if (!isPropertyName && !isInBreakableStatement(type == CONTINUE, brackets, owners, loopStatements)) {
+                            return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+                        }
+                        break;
+                    case RETURN:
+                        if (!isPropertyName && !isInFunctionBody(brackets, owners)) {
+                            return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+                        }
+                        break;
+                    case CLASS:
+                        if (!isPropertyName) {
+                            strict = true;
+                        }
+                        break;
+                    case STRING:
+                    case ESCSTRING:
+                        if (previous == LBRACE && !owners.isEmpty() && owners.get(owners.size() - 1) == FUNCTION) {
+                            // possibly a "use strict" directive of a nested function
+                            strict = true;
+                        }
+                        break;
+                    case DIV:
+                    case ASSIGN_DIV:
+                        if (previous == RBRACE || (!previousIsPropertyName && (previous.getKind() == TokenKind.CONTEXTUAL || previous.getKind() == TokenKind.FUTURESTRICT))) {
+                            // cannot tell a regular expression from a division without the grammar
+                            return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+                        }
+                        if (isRegExpAfter(previous, previousIsPropertyName, isControlParenOwner(previousParenOwner))) {
+                            if (!lexer.scanLiteral(token, type, lineInfoReceiver)) {
+                                return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+                            }
+                            next();
+                            assert type == REGEX : type;
+                        }
+                        break;
+                    case PERIOD:
+                        if (previous == NEW) {
+                            // new.target
+                            return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+                        }
+                        break;
+                    case IDENT:
+                        if (!isPropertyName) {
+                            final String name = ((TruffleString) lexer.getValueOf(token, isStrictMode)).toJavaStringUncached();
+                            if (EVAL_NAME.equals(name)) {
+                                return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+                            }
+                            references.add(name);
+                            if (!brackets.isEmpty() && brackets.get(brackets.size() - 1) == LPAREN && (previous == LPAREN || previous == COMMARIGHT || previous == ELLIPSIS)) {
+                                // possibly a parameter name
+                                parenNames.add(name);
+                            }
+                        }
+                        break;
+                    case IMPORT:
+                        if (!isPropertyName) {
+                            // import() and import.meta
+                            references.add(IMPORT.getName());
+                        }
+                        break;
+                    case EOF:
+                        return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+                    default:
+                        if (!isPropertyName && (type.isContextualKeyword() || isNonStrictModeIdent())) {
+                            references.add(type.getName());
+                        }
+                        break;
+                }
+                beforePrevious = previous;
+                previous = type;
+                previousIsPropertyName = isPropertyName;
+                previousParenOwner = parenOwner;
+                previousParenHasDuplicateNames = parenHasDuplicateNames;
+                // No backtracking from here on.
+                stream.commit(k);
+                next();
+            }
+        } catch (final ParserException e) {
+            // let the full parse report the error
+            return restartFunctionBody(bodyStartState, pauseOnRightBrace);
+        }
+    }
+
+    /**
+     * Decides whether the current token, following the given one, may be an early error of a
+     * preparsed function body: a label of {@code break} or {@code continue}, which has to refer to
+     * an enclosing statement, {@code let} as a lexically bound name, or a reserved word of strict
+     * mode code.
+     */
+    private boolean isEarlyErrorCandidate(TokenType previous, boolean strict) {
+        if ((previous == BREAK || previous == CONTINUE) && (type == IDENT || type.isContextualKeyword() || isNonStrictModeIdent())) {
+            return true;
+        } else if (type == LET) {
+            return previous == LET || previous == CONST || (strict && previous == VAR);
+        } else if (strict) {
+            return type == WITH || (type.getKind() == TokenKind.FUTURESTRICT && type != STATIC && type != YIELD);
+        }
+        return false;
+    }
+
+    /**
+     * Returns what a {@code {} following the given token belongs to in a preparsed function body.
+     *
+     * @see #preparseFunctionBody()
+     */
+    private static TokenType braceOwner(TokenType previous, TokenType previousParenOwner) {
+        switch (previous) {
+            case RPAREN:
+                if (previousParenOwner == FOR || previousParenOwner == WHILE) {
+                    return FOR;
+                } else if (previousParenOwner == SWITCH) {
+                    return SWITCH;
+                } else if (isControlParenOwner(previousParenOwner) || previousParenOwner == CATCH) {
+                    return null;
+                }
+                // parameter list of a function or method
+                return FUNCTION;
+            case DO:
+                return FOR;
+            case ARROW:
+                return FUNCTION;
+            case STATIC:
+                return STATIC;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isControlParenOwner(TokenType owner) {
+        return owner == IF || owner == FOR || owner == WHILE || owner == WITH;
+    }
+
+    /**
+     * Decides whether a {@code break} or {@code continue} in the open brackets of a preparsed
+     * function body is within a loop or, for a {@code break}, a switch statement of the function.
+     */
+    private static boolean isInBreakableStatement(boolean isContinue, List<TokenType> brackets, List<TokenType> owners, BitSet loopStatements) {
+        for (int depth = brackets.size(); !loopStatements.get(depth); depth--) {
+            if (depth == 0) {
+                return false;
+            }
+            if (brackets.get(depth - 1) == LBRACE) {
+                final TokenType owner = owners.get(depth - 1);
+                if (owner == FOR || (owner == SWITCH && !isContinue)) {
+                    return true;
+                } else if (owner == FUNCTION || owner == STATIC) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decides whether a {@code return} in the open brackets of a preparsed function body is within
+     * a function rather than a class static block.
+     */
+    private static boolean isInFunctionBody(List<TokenType> brackets, List<TokenType> owners) {
+        for (int i = brackets.size() - 1; i >= 0; i--) {
+            if (brackets.get(i) == LBRACE && (owners.get(i) == FUNCTION || owners.get(i) == STATIC)) {
+                return owners.get(i) == FUNCTION;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes the identifiers directly in the innermost parentheses of a preparsed function body,
+     * and decides whether any of them occurs more than once, i.e. whether these parentheses have
+     * duplicate parameter names if they are a parameter list.
+     */
+    private static boolean removeParenNames(List<String> parenNames) {
+        final List<String> names = parenNames.subList(parenNames.lastIndexOf(null), parenNames.size());
+        final boolean hasDuplicates = names.size() > 2 && new HashSet<>(names).size() < names.size();
+        names.clear();
+        return hasDuplicates;
+    }
+
+    /**
+     * Decides whether a {@code /} following the given token starts a regular expression literal
+     * rather than being a division operator.
+     */
+    private static boolean isRegExpAfter(TokenType previous, boolean previousIsPropertyName, boolean previousIsControlParen) {
+        if (previousIsPropertyName) {
+            return false;
+        }
+        switch (previous) {
+            case RPAREN:
+                return previousIsControlParen;
+            case RBRACKET:
+            case THIS:
+            case SUPER:
+            case INCPREFIX:
+            case DECPREFIX:
+                return false;
+            case TEMPLATE_HEAD:
+            case TEMPLATE_MIDDLE:
+                return true;
+            default:
+                return previous.getKind() != TokenKind.LITERAL;
+        }
+    }
+
+    /**
+     * Resumes parsing at the start of a function body that could not be preparsed.
+     *
+     * @return false
+     */
+    private boolean restartFunctionBody(final ParserState bodyStartState, final boolean pauseOnRightBrace) {
+        stream.reset();
+        lexer = bodyStartState.createLexer(source, lexer.limit, stream, scripting, env.ecmaScriptVersion, shebang, isModule, allowBigInt);
+        lexer.pauseOnRightBrace = pauseOnRightBrace;
+        line = bodyStartState.line;
+        linePosition = bodyStartState.linePosition;
+        type = SEMICOLON;
+        scanFirstToken();
+        assert type == LBRACE : type;
+        return false;
+    }
+
     private boolean skipFunctionBody(final ParserContextFunctionNode functionNode) {
         if (reparsedFunction == null) {
             // Not reparsing, so don't skip any function body.
@@ -5833,7 +6303,7 @@ public class Parser extends AbstractParser {
         }
 
         stream.reset();
-        lexer = parserState.createLexer(source, lexer, stream, scripting, env.ecmaScriptVersion, shebang, isModule, allowBigInt);
+        lexer = parserState.createLexer(source, lexer.limit, stream, scripting, env.ecmaScriptVersion, shebang, isModule, allowBigInt);
         line = parserState.line;
         linePosition = parserState.linePosition;
         // Doesn't really matter, but it's safe to treat it as if there were a semicolon before
@@ -5846,7 +6316,8 @@ public class Parser extends AbstractParser {
 
     /**
      * Encapsulates part of the state of the parser, enough to reconstruct the state of both parser
-     * and lexer for resuming parsing after skipping a function body.
+     * and lexer for resuming parsing after skipping a function body, or for parsing a preparsed
+     * function.
      */
     private static class ParserState {
         private final int position;
@@ -5859,9 +6330,9 @@ public class Parser extends AbstractParser {
             this.linePosition = linePosition;
         }
 
-        Lexer createLexer(final Source source, final Lexer lexer, final TokenStream stream,
+        Lexer createLexer(final Source source, final int limit, final TokenStream stream,
                         final boolean scripting, final int ecmaScriptVersion, final boolean shebang, final boolean isModule, final boolean allowBigInt) {
-            final Lexer newLexer = new Lexer(source, position, lexer.limit - position, stream, scripting, ecmaScriptVersion, shebang, isModule, true, allowBigInt);
+            final Lexer newLexer = new Lexer(source, position, limit - position, stream, scripting, ecmaScriptVersion, shebang, isModule, true, allowBigInt);
             newLexer.restoreState(new Lexer.State(position, Integer.MAX_VALUE, line, -1, linePosition, SEMICOLON));
             return newLexer;
         }
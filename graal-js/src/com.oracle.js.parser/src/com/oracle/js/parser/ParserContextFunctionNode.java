@@ -90,6 +90,9 @@ class ParserContextFunctionNode extends ParserContextBaseNode {
     /** Opaque node for parser end state, see {@link Parser} */
     private Object endParserState;
 
+    /** Non-null if the body of this function is only preparsed, see {@link Parser}. */
+    private PreparsedFunctionData preparsedFunctionData;
+
     private int length;
     private int parameterCount;
     private IdentNode duplicateParameterBinding;
@@ -289,6 +292,18 @@ class ParserContextFunctionNode extends ParserContextBaseNode {
         this.endParserState = endParserState;
     }
 
+    public PreparsedFunctionData getPreparsedFunctionData() {
+        return preparsedFunctionData;
+    }
+
+    public void setPreparsedFunctionData(final PreparsedFunctionData preparsedFunctionData) {
+        this.preparsedFunctionData = preparsedFunctionData;
+    }
+
+    public boolean isPreparsed() {
+        return preparsedFunctionData != null;
+    }
+
     /**
      * Returns the if of this function
      *
@@ -516,6 +531,10 @@ class ParserContextFunctionNode extends ParserContextBaseNode {
         this.bodyScope = scope;
     }
 
+    public Scope getParentScope() {
+        return parentScope;
+    }
+
     public Scope getParameterScope() {
         return parameterBlock.getScope();
     }
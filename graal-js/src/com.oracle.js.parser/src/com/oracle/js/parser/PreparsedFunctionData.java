@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oracle.js.parser;
+
+import java.util.List;
+
+import com.oracle.js.parser.ir.Scope;
+
+/**
+ * Information retained for an inner function whose body has only been preparsed, i.e. scanned for
+ * the names it refers to, but not parsed into IR. Used to parse the function in full once it is
+ * needed.
+ *
+ * @see Parser#parsePreparsedFunction
+ */
+public final class PreparsedFunctionData {
+    /** Parser state at the start of the function, to resume parsing from. */
+    private final Object startParserState;
+    /** Scope enclosing the function. */
+    private final Scope parentScope;
+    /** Strict mode of the code enclosing the function. */
+    private final boolean strict;
+    /** Is the function in module code. */
+    private final boolean module;
+    /**
+     * Names of the free variables possibly referenced in the function, including nested functions.
+     * May contain names that are declared in the function.
+     */
+    private List<String> freeNames;
+
+    PreparsedFunctionData(Object startParserState, Scope parentScope, boolean strict, boolean module) {
+        this.startParserState = startParserState;
+        this.parentScope = parentScope;
+        this.strict = strict;
+        this.module = module;
+        this.freeNames = List.of();
+    }
+
+    Object getStartParserState() {
+        return startParserState;
+    }
+
+    Scope getParentScope() {
+        return parentScope;
+    }
+
+    boolean isStrict() {
+        return strict;
+    }
+
+    boolean isModule() {
+        return module;
+    }
+
+    /**
+     * Returns the names of the free variables referenced in the function or any of its nested
+     * functions, i.e. the names that are resolved in an enclosing scope (or the global object).
+     */
+    public List<String> getFreeNames() {
+        return freeNames;
+    }
+
+    void setFreeNames(List<String> freeNames) {
+        this.freeNames = List.copyOf(freeNames);
+    }
+}
@@ -45,8 +45,20 @@ package com.oracle.js.parser;
  * Utility for scanning thru a char array.
  */
 public class Scanner {
-    /** Characters to scan. */
-    protected final String content;
+    /** Characters to scan, without prologue and epilogue. */
+    private final String content;
+
+    /** Characters scanned before {@link #content}. */
+    private final String prologue;
+
+    /** Characters scanned after {@link #content}. */
+    private final String epilogue;
+
+    /** Position of the first character of {@link #content}. */
+    private final int contentStart;
+
+    /** Position after the last character of {@link #content}. */
+    private final int contentEnd;
 
     /** Position in content. */
     protected int position;
@@ -75,7 +87,26 @@ public class Scanner {
      * @param length length of input
      */
     protected Scanner(final String content, final int line, final int start, final int length) {
+        this("", content, "", line, start, length);
+    }
+
+    /**
+     * Constructor for content enclosed in a prologue and an epilogue, which are scanned as if they
+     * had been concatenated with the content.
+     *
+     * @param prologue characters preceding the content
+     * @param content content to scan
+     * @param epilogue characters following the content
+     * @param line start line number
+     * @param start position index where to start, counted from the start of the prologue
+     * @param length length of input
+     */
+    protected Scanner(final String prologue, final String content, final String epilogue, final int line, final int start, final int length) {
         this.content = content;
+        this.prologue = prologue;
+        this.epilogue = epilogue;
+        this.contentStart = prologue.length();
+        this.contentEnd = contentStart + content.length();
         this.position = start;
         this.limit = start + length;
         this.line = line;
@@ -91,6 +122,10 @@ public class Scanner {
      */
     Scanner(final Scanner scanner, final State state) {
         content = scanner.content;
+        prologue = scanner.prologue;
+        epilogue = scanner.epilogue;
+        contentStart = scanner.contentStart;
+        contentEnd = scanner.contentEnd;
         position = state.position;
         limit = state.limit;
         line = state.line;
@@ -173,7 +208,69 @@ public class Scanner {
      */
     protected final char charAt(final int i) {
         // Get a character from the content, '\0' if beyond the end of file.
-        return i < limit ? content.charAt(i) : '\0';
+        return i < limit ? textCharAt(i) : '\0';
+    }
+
+    /**
+     * Get the ith character of prologue, content and epilogue, regardless of the scan limit.
+     *
+     * @param i Index of character.
+     * @return ith character.
+     */
+    protected final char textCharAt(final int i) {
+        if (i >= contentStart && i < contentEnd) {
+            return content.charAt(i - contentStart);
+        }
+        return i < contentStart ? prologue.charAt(i) : epilogue.charAt(i - contentEnd);
+    }
+
+    /**
+     * Tests if the characters at {@code start} match the first {@code len} characters of
+     * {@code other}.
+     */
+    protected final boolean regionMatches(final int start, final String other, final int len) {
+        if (start >= contentStart && start + len <= contentEnd) {
+            return content.regionMatches(start - contentStart, other, 0, len);
+        }
+        for (int i = 0; i < len; i++) {
+            if (textCharAt(start + i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests if the characters at {@code aStart} match those at {@code bStart}.
+     */
+    protected final boolean regionMatches(final int aStart, final int bStart, final int len) {
+        if (aStart >= contentStart && aStart + len <= contentEnd && bStart >= contentStart && bStart + len <= contentEnd) {
+            return content.regionMatches(aStart - contentStart, content, bStart - contentStart, len);
+        }
+        for (int i = 0; i < len; i++) {
+            if (textCharAt(aStart + i) != textCharAt(bStart + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lookup the keyword at a position.
+     *
+     * @param start Position of the first character.
+     * @param length Length of the identifier.
+     * @return Token type for keyword.
+     */
+    protected final TokenType lookupKeyword(final int start, final int length) {
+        if (start >= contentStart && start + length <= contentEnd) {
+            return TokenLookup.lookupKeyword(content, start - contentStart, length);
+        }
+        final StringBuilder sb = new StringBuilder(length);
+        for (int i = start; i < start + length; i++) {
+            sb.append(textCharAt(i));
+        }
+        return TokenLookup.lookupKeyword(sb.toString(), 0, length);
     }
 
     /**
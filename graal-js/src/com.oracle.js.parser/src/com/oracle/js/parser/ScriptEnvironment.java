@@ -122,9 +122,12 @@ public final class ScriptEnvironment {
     /** Are V8 intrinsics supported? */
     final boolean v8Intrinsics;
 
+    /** Are inner function bodies only preparsed, to be parsed fully on demand? */
+    final boolean lazyParsing;
+
     private ScriptEnvironment(boolean strict, int ecmaScriptVersion, boolean emptyStatements, boolean syntaxExtensions, boolean scripting, boolean shebang,
                     boolean constAsVar, boolean allowBigInt, boolean annexB, boolean classFields, boolean importAssertions, boolean privateFieldsIn, boolean topLevelAwait, boolean v8Intrinsics,
-                    FunctionStatementBehavior functionStatementBehavior,
+                    boolean lazyParsing, FunctionStatementBehavior functionStatementBehavior,
                     PrintWriter dumpOnError) {
         this.err = dumpOnError;
 
@@ -144,6 +147,7 @@ public final class ScriptEnvironment {
         this.privateFieldsIn = privateFieldsIn;
         this.topLevelAwait = topLevelAwait;
         this.v8Intrinsics = v8Intrinsics;
+        this.lazyParsing = lazyParsing;
     }
 
     /**
@@ -179,6 +183,7 @@ public final class ScriptEnvironment {
         private boolean privateFieldsIn = false;
         private boolean topLevelAwait = false;
         private boolean v8Intrinsics = false;
+        private boolean lazyParsing = false;
         private FunctionStatementBehavior functionStatementBehavior = FunctionStatementBehavior.ERROR;
         private PrintWriter dumpOnError;
 
@@ -255,6 +260,11 @@ public final class ScriptEnvironment {
             return this;
         }
 
+        public Builder lazyParsing(boolean lazyParsing) {
+            this.lazyParsing = lazyParsing;
+            return this;
+        }
+
         public Builder functionStatementBehavior(FunctionStatementBehavior functionStatementBehavior) {
             this.functionStatementBehavior = functionStatementBehavior;
             return this;
@@ -267,7 +277,7 @@ public final class ScriptEnvironment {
 
         public ScriptEnvironment build() {
             return new ScriptEnvironment(strict, ecmaScriptVersion, emptyStatements, syntaxExtensions, scripting, shebang, constAsVar, allowBigInt, annexB,
-                            classFields, importAssertions, privateFieldsIn, topLevelAwait, v8Intrinsics, functionStatementBehavior, dumpOnError);
+                            classFields, importAssertions, privateFieldsIn, topLevelAwait, v8Intrinsics, lazyParsing, functionStatementBehavior, dumpOnError);
         }
     }
 }
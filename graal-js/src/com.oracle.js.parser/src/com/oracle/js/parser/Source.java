@@ -72,6 +72,15 @@ public final class Source {
     /** Source content */
     private final Data data;
 
+    /**
+     * Characters preceding the content of {@link #data}, e.g. a function header wrapped around a
+     * script. Kept apart from the content so that the content does not have to be copied.
+     */
+    private final String prologue;
+
+    /** Characters following the content of {@link #data}. */
+    private final String epilogue;
+
     /** Cached hash code */
     private int hash;
 
@@ -83,9 +92,15 @@ public final class Source {
 
     // Do *not* make this public, ever! Trusts the URL and content.
     private Source(final String name, final String base, final Data data) {
+        this(name, base, data, "", "");
+    }
+
+    private Source(final String name, final String base, final Data data, final String prologue, final String epilogue) {
         this.name = name;
         this.base = base;
         this.data = data;
+        this.prologue = prologue;
+        this.epilogue = epilogue;
     }
 
     // Wrapper to manage lazy loading
@@ -172,10 +187,6 @@ public final class Source {
         return data.data();
     }
 
-    private int length() {
-        return data.length();
-    }
-
     /**
      * Returns a Source instance
      *
@@ -188,6 +199,21 @@ public final class Source {
         return new Source(name, baseName(name), new RawData(content, isEval));
     }
 
+    /**
+     * Returns a Source instance whose content is {@code content} enclosed in {@code prologue} and
+     * {@code epilogue}. The three parts are scanned as one, but are not concatenated.
+     *
+     * @param name source name
+     * @param prologue characters preceding the content
+     * @param content contents as {@link CharSequence}
+     * @param epilogue characters following the content
+     * @param isEval does this represent code from 'eval' call?
+     * @return source instance
+     */
+    public static Source sourceFor(final String name, final String prologue, final CharSequence content, final String epilogue, final boolean isEval) {
+        return new Source(name, baseName(name), new RawData(content, isEval), prologue, epilogue);
+    }
+
     /**
      * Returns a Source instance
      *
@@ -208,14 +234,14 @@ public final class Source {
             return false;
         }
         final Source other = (Source) obj;
-        return Objects.equals(name, other.name) && data.equals(other.data);
+        return Objects.equals(name, other.name) && data.equals(other.data) && prologue.equals(other.prologue) && epilogue.equals(other.epilogue);
     }
 
     @Override
     public int hashCode() {
         int h = hash;
         if (h == 0) {
-            h = hash = data.hashCode() ^ Objects.hashCode(name);
+            h = hash = data.hashCode() ^ Objects.hashCode(name) ^ (31 * prologue.hashCode() + epilogue.hashCode());
         }
         return h;
     }
@@ -255,7 +281,72 @@ public final class Source {
      * @return Source content portion.
      */
     public String getString(final int start, final int len) {
-        return data().substring(start, start + len);
+        final int end = start + len;
+        final int contentStart = prologue.length();
+        final int contentEnd = contentStart + data.length();
+        if (start >= contentStart && end <= contentEnd) {
+            return data().substring(start - contentStart, end - contentStart);
+        } else if (end <= contentStart) {
+            return prologue.substring(start, end);
+        } else if (start >= contentEnd) {
+            return epilogue.substring(start - contentEnd, end - contentEnd);
+        }
+        // Spans the boundary of the content.
+        final StringBuilder sb = new StringBuilder(len);
+        for (int i = start; i < end; i++) {
+            sb.append(charAt(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Tests if a portion of source content matches a portion of {@code other}, like
+     * {@link String#regionMatches(int, String, int, int)}.
+     */
+    boolean regionMatches(final int start, final String other, final int otherStart, final int len) {
+        final int contentStart = prologue.length();
+        if (start >= contentStart && start + len <= contentStart + data.length()) {
+            return data().regionMatches(start - contentStart, other, otherStart, len);
+        }
+        return getContent().regionMatches(start, other, otherStart, len);
+    }
+
+    /**
+     * Get the ith character of the source content, including prologue and epilogue.
+     */
+    private char charAt(final int i) {
+        final int contentStart = prologue.length();
+        final int contentEnd = contentStart + data.length();
+        if (i < contentStart) {
+            return prologue.charAt(i);
+        } else if (i < contentEnd) {
+            return data().charAt(i - contentStart);
+        } else {
+            return epilogue.charAt(i - contentEnd);
+        }
+    }
+
+    /**
+     * Characters preceding the content passed to
+     * {@link #sourceFor(String, String, CharSequence, String, boolean)}, or an empty string.
+     */
+    String getPrologue() {
+        return prologue;
+    }
+
+    /**
+     * Content without {@linkplain #getPrologue() prologue} and {@linkplain #getEpilogue() epilogue}.
+     */
+    String getEnclosedContent() {
+        return data();
+    }
+
+    /**
+     * Characters following the content passed to
+     * {@link #sourceFor(String, String, CharSequence, String, boolean)}, or an empty string.
+     */
+    String getEpilogue() {
+        return epilogue;
     }
 
     /**
@@ -314,9 +405,8 @@ public final class Source {
      * @return Index of first character of line.
      */
     private int findBOLN(final int position) {
-        final String d = data();
         for (int i = position - 1; i >= 0; i--) {
-            final char ch = d.charAt(i);
+            final char ch = charAt(i);
 
             if (ch == '\n' || ch == '\r') {
                 return i + 1;
@@ -333,10 +423,9 @@ public final class Source {
      * @return Index of last character of line.
      */
     private int findEOLN(final int position) {
-        final String d = data();
-        final int length = length();
+        final int length = getLength();
         for (int i = position; i < length; i++) {
-            final char ch = d.charAt(i);
+            final char ch = charAt(i);
 
             if (ch == '\n' || ch == '\r') {
                 return i - 1;
@@ -358,12 +447,11 @@ public final class Source {
      * @return Line number.
      */
     public int getLine(final int position) {
-        final String d = data();
         // Line count starts at 1.
         int line = 1;
 
         for (int i = 0; i < position; i++) {
-            final char ch = d.charAt(i);
+            final char ch = charAt(i);
             // Works for both \n and \r\n.
             if (ch == '\n') {
                 line++;
@@ -400,10 +488,14 @@ public final class Source {
     }
 
     /**
-     * Get the content of this source as a {@link String}.
+     * Get the content of this source as a {@link String}. If the source has a prologue or an
+     * epilogue, the content is copied into a new string.
      */
     public String getContent() {
-        return data();
+        if (prologue.isEmpty() && epilogue.isEmpty()) {
+            return data();
+        }
+        return prologue + data() + epilogue;
     }
 
     /**
@@ -412,7 +504,7 @@ public final class Source {
      * @return length
      */
     public int getLength() {
-        return data.length();
+        return prologue.length() + data.length() + epilogue.length();
     }
 
     /**
@@ -450,7 +542,7 @@ public final class Source {
     private byte[] getDigestBytes() {
         byte[] ldigest = digest;
         if (ldigest == null) {
-            final byte[] bytes = data().getBytes(StandardCharsets.UTF_16LE);
+            final byte[] bytes = getContent().getBytes(StandardCharsets.UTF_16LE);
             try {
                 final MessageDigest md = MessageDigest.getInstance("SHA-1");
                 if (name != null) {
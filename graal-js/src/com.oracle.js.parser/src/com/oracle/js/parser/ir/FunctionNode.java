@@ -45,6 +45,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
+import com.oracle.js.parser.PreparsedFunctionData;
 import com.oracle.js.parser.Source;
 import com.oracle.js.parser.Token;
 import com.oracle.js.parser.ir.visitor.NodeVisitor;
@@ -100,6 +101,9 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
     /** Optional internal/inferred function name. */
     private final TruffleString internalName;
 
+    /** Non-null if the body of this function has only been preparsed (and is empty). */
+    private final PreparsedFunctionData preparsedFunctionData;
+
     private boolean usesAncestorScope;
 
     /** Is anonymous function flag. */
@@ -258,6 +262,7 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
      * @param flags initial flags
      * @param body body of the function
      * @param endParserState The parser state at the end of the parsing.
+     * @param preparsedFunctionData data for parsing the body on demand if it was only preparsed
      */
     public FunctionNode(
                     final Source source,
@@ -275,7 +280,8 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
                     final Block body,
                     final Object endParserState,
                     final Module module,
-                    final TruffleString internalName) {
+                    final TruffleString internalName,
+                    final PreparsedFunctionData preparsedFunctionData) {
         super(token, Token.descPosition(firstToken), finish);
 
         this.source = source;
@@ -292,6 +298,7 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         this.endParserState = endParserState;
         this.module = module;
         this.internalName = internalName;
+        this.preparsedFunctionData = preparsedFunctionData;
     }
 
     private FunctionNode(
@@ -321,6 +328,7 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         this.numOfParams = functionNode.numOfParams;
         this.module = functionNode.module;
         this.internalName = functionNode.internalName;
+        this.preparsedFunctionData = functionNode.preparsedFunctionData;
     }
 
     @Override
@@ -749,6 +757,19 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         return module;
     }
 
+    /**
+     * Returns true if the body of this function has only been preparsed, i.e., the names it refers
+     * to are known, but its body is empty and has to be parsed in full (and checked for early
+     * errors) before the function can be translated.
+     */
+    public boolean isPreparsed() {
+        return preparsedFunctionData != null;
+    }
+
+    public PreparsedFunctionData getPreparsedFunctionData() {
+        return preparsedFunctionData;
+    }
+
     public boolean isStatement() {
         return getFlag(IS_STATEMENT);
     }
@@ -87,6 +87,8 @@ public final class Scope {
     protected final EconomicMap<String, Symbol> symbols;
     /** Use map. */
     protected EconomicMap<String, UseInfo> uses;
+    /** Names of unresolved uses passed on to the parent scope (only recorded on request). */
+    private List<String> freeNames;
 
     private boolean closed;
     private boolean hasBlockScopedOrRedeclaredSymbols;
@@ -522,6 +524,28 @@ public final class Scope {
         return isArrowFunctionParameterScope();
     }
 
+    /**
+     * Requests that the names of all uses that remain unresolved when this scope is closed, i.e.
+     * the free variables of this scope and its inner scopes, are recorded.
+     */
+    public void recordFreeNames() {
+        assert !closed : "scope is closed";
+        if (freeNames == null) {
+            freeNames = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Returns the recorded names of the free variables of this scope; only valid after the scope
+     * has been closed.
+     *
+     * @see #recordFreeNames()
+     */
+    public List<String> getFreeNames() {
+        assert closed : "scope is not closed";
+        return freeNames == null ? List.of() : freeNames;
+    }
+
     /**
      * Resolves free variables in this scope and forwards unresolved uses to the parent scope.
      */
@@ -543,6 +567,9 @@ public final class Scope {
                 } else {
                     // unresolved, pass on to parent scope, if possible
                     // no use in this scope, skip this scope and remove the use here.
+                    if (freeNames != null) {
+                        freeNames.add(usedName);
+                    }
                     if (parent == null || parent.closed) {
                         // A closed parent scope implies a parsing boundary, e.g. eval().
                         // We cannot make any symbols available that are not already captured.
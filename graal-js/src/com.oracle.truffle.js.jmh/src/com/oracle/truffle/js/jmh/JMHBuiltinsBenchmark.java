@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Frequently used Array and RegExp builtins.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHBuiltinsBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        @Param({"array-map", "array-filter", "array-reduce", "array-sort", "array-indexOf", "array-push-pop", "regexp-exec", "regexp-replace", "regexp-split"}) String builtin;
+
+        Context context;
+        Value function;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            context.eval(Source.create("js", "var numbers = Array.from({length: 10000}, (_, i) => (i * 7919) % 10007);" +
+                            "var text = Array.from({length: 1000}, (_, i) => 'user' + i + '@example.com visited /page/' + i + ' at 2023-01-' + (i % 28 + 1)).join('\\n');"));
+            function = context.eval(Source.create("js", "() => " + createBody(builtin)));
+        }
+
+        private static String createBody(String builtin) {
+            switch (builtin) {
+                case "array-map":
+                    return "numbers.map(x => x * 2).length";
+                case "array-filter":
+                    return "numbers.filter(x => (x & 1) === 0).length";
+                case "array-reduce":
+                    return "numbers.reduce((a, x) => a + x, 0)";
+                case "array-sort":
+                    return "numbers.slice().sort((a, b) => a - b)[0]";
+                case "array-indexOf":
+                    return "numbers.indexOf(-1) + numbers.indexOf(numbers[numbers.length - 1])";
+                case "array-push-pop":
+                    return "{ var a = []; for (var i = 0; i < 10000; i++) { a.push(i); } var s = 0; while (a.length > 0) { s += a.pop(); } return s; }";
+                case "regexp-exec":
+                    return "{ var re = /(\\w+)@(\\w+)\\.com visited \\/page\\/(\\d+)/g; var m, n = 0; while ((m = re.exec(text)) !== null) { n += m[3].length; } return n; }";
+                case "regexp-replace":
+                    return "text.replace(/\\d{4}-\\d{2}-(\\d+)/g, (s, d) => d).length";
+                case "regexp-split":
+                    return "text.split(/\\s+/).length";
+                default:
+                    throw new IllegalArgumentException(builtin);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testBuiltin(MyState state) {
+        return state.function.execute();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHJSONParseBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        protected static final int RECORD_COUNT = 1000;
+
+        /**
+         * Payload shapes: API-style records, long text with escapes, and numeric arrays; each either
+         * compact or pretty-printed.
+         */
+        @Param({"records", "records-pretty", "text", "numbers"}) String payload;
+
+        Context context;
+        Value parse;
+        String json;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            parse = context.eval(Source.create("js", "(json) => JSON.parse(json)"));
+            json = context.eval(Source.create("js", createPayloadSource(payload))).asString();
+        }
+
+        private static String createPayloadSource(String payload) {
+            switch (payload) {
+                case "records":
+                case "records-pretty":
+                    return "JSON.stringify(Array.from({length: " + RECORD_COUNT + "}, (_, i) => ({id: i, uuid: 'a1b2c3d4-' + i, name: 'User ' + i, " +
+                                    "email: 'user' + i + '@example.com', active: i % 3 !== 0, score: i * 1.5, balance: -i / 7, " +
+                                    "tags: ['alpha', 'beta', 'gamma'], address: {street: i + ' Main Street', city: 'Springfield', zip: '' + (10000 + i)}}))" +
+                                    (payload.equals("records-pretty") ? ", null, 2)" : ")");
+                case "text":
+                    return "JSON.stringify(Array.from({length: " + RECORD_COUNT + "}, (_, i) => ({title: 'Entry ' + i, " +
+                                    "body: 'Lorem ipsum dolor sit amet, consectetur adipiscing elit. \"Quoted\"\\n\\tSed do eiusmod tempor incididunt ut labore. '.repeat(4)})))";
+                case "numbers":
+                    return "JSON.stringify(Array.from({length: " + (RECORD_COUNT * 10) + "}, (_, i) => [i, -i * 31, i / 8, i * 1.0e-3, 6.02e23 + i]))";
+                default:
+                    throw new IllegalArgumentException(payload);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testJSONParse(MyState state) {
+        return state.parse.execute(state.json);
+    }
+}
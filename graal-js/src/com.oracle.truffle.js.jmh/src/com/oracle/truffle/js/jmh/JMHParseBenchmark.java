@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parser and translator throughput. With lazy translation, only the top-level code is translated,
+ * so the score is dominated by the parser; the difference to eager translation is the time spent
+ * in the translator. A real-world bundle can be used instead of the generated one by setting the
+ * system property {@value #BUNDLE_PROPERTY} to its path.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHParseBenchmark {
+    public static final String BUNDLE_PROPERTY = "js.jmh.bundle";
+
+    @State(Scope.Thread)
+    public static class MyState {
+        protected static final int MODULE_COUNT = 200;
+
+        @Param({"true", "false"}) String lazyTranslation;
+
+        Context context;
+        String code;
+
+        @Setup(Level.Trial)
+        public void doSetup() throws IOException {
+            context = Context.newBuilder("js").allowExperimentalOptions(true).option("js.lazy-translation", lazyTranslation).build();
+            String bundle = System.getProperty(BUNDLE_PROPERTY);
+            code = bundle != null ? new String(Files.readAllBytes(Paths.get(bundle)), StandardCharsets.UTF_8) : createBundle(MODULE_COUNT);
+        }
+
+        /**
+         * Generates a webpack-style bundle: a module table of function wrappers with classes,
+         * closures, destructuring, template literals and regular expressions, most of which are
+         * never called.
+         */
+        static String createBundle(int moduleCount) {
+            StringBuilder sb = new StringBuilder("(function(modules) { var cache = {};\n" +
+                            "function require(id) { if (cache[id]) return cache[id].exports; var module = cache[id] = {exports: {}};\n" +
+                            "modules[id].call(module.exports, module, module.exports, require); return module.exports; }\n" +
+                            "return require(0); })([\n");
+            for (int i = 0; i < moduleCount; i++) {
+                sb.append("function(module, exports, require) {\n");
+                sb.append("'use strict';\n");
+                sb.append("const DEFAULTS_").append(i).append(" = {name: 'module").append(i).append("', retries: 3, timeout: 1000, tags: ['a', 'b', 'c']};\n");
+                sb.append("class Service").append(i).append(" {\n");
+                sb.append("  constructor(options = {}) { this.options = {...DEFAULTS_").append(i).append(", ...options}; this.items = new Map(); }\n");
+                sb.append("  get size() { return this.items.size; }\n");
+                sb.append("  add(key, {value, weight = 1} = {}) { this.items.set(key, {value, weight}); return this; }\n");
+                sb.append("  *entries() { for (const [k, v] of this.items) { if (v.weight > 0) yield [k, v.value]; } }\n");
+                sb.append("  async load(url) { const res = await fetch(`${url}/api/v1/items?page=${this.size}`); return res.ok ? res.json() : null; }\n");
+                sb.append("  format(s) { return String(s).replace(/[&<>\"']/g, (c) => '&#' + c.charCodeAt(0) + ';').trim(); }\n");
+                sb.append("}\n");
+                sb.append("function helper").append(i).append("(list, pred) {\n");
+                sb.append("  let result = [];\n");
+                sb.append("  for (let j = 0; j < list.length; j++) { switch (typeof list[j]) { case 'number': if (pred(list[j])) result.push(list[j] * 2); break;\n");
+                sb.append("    case 'string': result.push(list[j].toUpperCase()); break; default: try { result.push(JSON.stringify(list[j])); } catch (e) { result.push(null); } } }\n");
+                sb.append("  return result.filter(x => x != null).map((x, k) => ({x, k}));\n");
+                sb.append("}\n");
+                sb.append("module.exports = {Service").append(i).append(", helper").append(i);
+                if (i + 1 < moduleCount) {
+                    sb.append(", next: () => require(").append(i + 1).append(")");
+                }
+                sb.append("};\n},\n");
+            }
+            sb.append("]);\n");
+            return sb.toString();
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testParse(MyState state) {
+        // an uncached source is parsed and translated again every time
+        return state.context.parse(Source.newBuilder("js", state.code, "bundle.js").cached(false).buildLiteral());
+    }
+}
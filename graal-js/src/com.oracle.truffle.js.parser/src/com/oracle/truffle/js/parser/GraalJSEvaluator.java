@@ -58,6 +58,7 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.Supplier;
 
+import com.oracle.js.parser.Lexer.RegexToken;
 import com.oracle.js.parser.ir.Expression;
 import com.oracle.js.parser.ir.Module;
 import com.oracle.js.parser.ir.Module.ExportEntry;
@@ -242,6 +243,15 @@ public final class GraalJSEvaluator implements JSParser {
         if (isModuleSource(source)) {
             return fakeScriptForModule(context, source);
         }
+        if (prolog.isEmpty() && epilog.isEmpty() && argumentNames == null) {
+            String parseCacheDir = context.getContextOptions().getParseCacheDir();
+            if (!parseCacheDir.isEmpty()) {
+                ScriptNode cached = ParseCache.parseScript(context, source, isStrict, parseCacheDir);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
         try {
             return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, isStrict, prolog, epilog, argumentNames);
         } catch (com.oracle.js.parser.ParserException e) {
@@ -249,6 +259,13 @@ public final class GraalJSEvaluator implements JSParser {
         }
     }
 
+    @TruffleBoundary
+    @Override
+    public boolean hasParseCacheEntry(JSContext context, Source source, boolean isStrict) {
+        String parseCacheDir = context.getContextOptions().getParseCacheDir();
+        return !parseCacheDir.isEmpty() && ParseCache.hasEntry(context, source, isStrict, parseCacheDir);
+    }
+
     private static boolean isModuleSource(Source source) {
         String mimeType = source.getMimeType();
         return MODULE_MIME_TYPE.equals(mimeType) || (mimeType == null && source.getName().endsWith(MODULE_SOURCE_NAME_SUFFIX));
@@ -389,6 +406,44 @@ public final class GraalJSEvaluator implements JSParser {
 
     }
 
+    /**
+     * Result of {@link #parseModuleAhead}, with the regular expression literals still to be
+     * validated.
+     */
+    private static final class ParsedModule {
+        final com.oracle.js.parser.ir.FunctionNode functionNode;
+        final List<RegexToken> regexLiterals;
+
+        ParsedModule(com.oracle.js.parser.ir.FunctionNode functionNode, List<RegexToken> regexLiterals) {
+            this.functionNode = functionNode;
+            this.regexLiterals = regexLiterals;
+        }
+    }
+
+    @TruffleBoundary
+    @Override
+    public Object parseModuleAhead(JSContext context, Source source) {
+        assert isModuleSource(source) : source;
+        List<RegexToken> regexLiterals = new ArrayList<>();
+        com.oracle.js.parser.ir.FunctionNode parsed = GraalJSParserHelper.parseModuleAhead(context, source, context.getParserOptions().putStrict(true), regexLiterals);
+        return parsed == null ? null : new ParsedModule(parsed, regexLiterals);
+    }
+
+    @TruffleBoundary
+    @Override
+    public JSModuleData parseModule(JSContext context, Source source, Object parsedModule) {
+        ParsedModule parsed = (ParsedModule) parsedModule;
+        if (!GraalJSParserHelper.validateRegexLiterals(context, context.getParserOptions(), parsed.regexLiterals)) {
+            // parse again to report the error
+            return parseModule(context, source);
+        }
+        try {
+            return JavaScriptTranslator.translateModule(NodeFactory.getInstance(context), context, source, parsed.functionNode);
+        } catch (com.oracle.js.parser.ParserException e) {
+            throw Errors.createSyntaxError(e.getMessage(), e, null);
+        }
+    }
+
     @TruffleBoundary
     @Override
     public JSModuleData envParseModule(JSRealm realm, Source source) {
@@ -66,6 +66,7 @@ import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSParserOptions;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.RegexCompilerInterface;
+import com.oracle.truffle.js.runtime.util.ParseMetrics;
 
 public final class GraalJSParserHelper {
 
@@ -97,19 +98,10 @@ public final class GraalJSParserHelper {
     private static FunctionNode parseSource(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions,
                     boolean parseModule, boolean eval, boolean evalInFunction, Scope evalScope, String prologue, String epilogue, List<String> argumentNames) {
         CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
-        CharSequence code;
-        if (prologue.isEmpty() && epilogue.isEmpty()) {
-            code = truffleSource.getCharacters();
-        } else {
-            StringBuilder all = new StringBuilder();
-            all.append(prologue);
-            all.append(truffleSource.getCharacters());
-            all.append(epilogue);
-            code = all;
-        }
-        com.oracle.js.parser.Source source = com.oracle.js.parser.Source.sourceFor(truffleSource.getName(), code, eval);
+        com.oracle.js.parser.Source source = com.oracle.js.parser.Source.sourceFor(truffleSource.getName(), prologue, truffleSource.getCharacters(), epilogue, eval);
 
-        ScriptEnvironment env = makeScriptEnvironment(parserOptions);
+        boolean lazyParsing = !eval && context.getContextOptions().isLazyParsing() && context.getContextOptions().isLazyTranslation();
+        ScriptEnvironment env = makeScriptEnvironment(parserOptions, lazyParsing);
         ErrorManager errors;
         if (eval) {
             errors = new ErrorManager.ThrowErrorManager();
@@ -120,6 +112,8 @@ public final class GraalJSParserHelper {
 
         Parser parser = createParser(context, env, source, errors, parserOptions);
 
+        ParseMetrics metrics = context.getParseMetrics();
+        ParseMetrics.Sample sample = metrics != null ? metrics.start() : null;
         FunctionNode parsed;
         if (parseModule) {
             parsed = parser.parseModule(COLON_MODULE);
@@ -130,6 +124,75 @@ public final class GraalJSParserHelper {
         } else {
             parsed = parser.parse();
         }
+        if (metrics != null) {
+            metrics.end(sample, ParseMetrics.Phase.PARSE, truffleSource.getName());
+        }
+
+        if (errors.hasErrors()) {
+            throwErrors(truffleSource, errors);
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses a module without reporting errors, for use on a thread that has not entered the
+     * context. Regular expression literals are not validated but added to {@code regexLiterals},
+     * to be validated with {@link #validateRegexLiterals} before the module is translated.
+     *
+     * @return the parsed module, or {@code null} if the source has errors
+     */
+    public static FunctionNode parseModuleAhead(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions, List<RegexToken> regexLiterals) {
+        com.oracle.js.parser.Source source = com.oracle.js.parser.Source.sourceFor(truffleSource.getName(), truffleSource.getCharacters(), false);
+        boolean lazyParsing = context.getContextOptions().isLazyParsing() && context.getContextOptions().isLazyTranslation();
+        ScriptEnvironment env = makeScriptEnvironment(parserOptions, lazyParsing);
+        ErrorManager errors = new ErrorManager.StringBuilderErrorManager();
+        errors.setLimit(0);
+
+        Parser parser = createParser(context, env, source, errors, parserOptions, regexLiterals);
+        ParseMetrics metrics = context.getParseMetrics();
+        ParseMetrics.Sample sample = metrics != null ? metrics.start() : null;
+        FunctionNode parsed = parser.parseModule(COLON_MODULE);
+        if (metrics != null) {
+            metrics.end(sample, ParseMetrics.Phase.PARSE, truffleSource.getName());
+        }
+        return errors.hasErrors() ? null : parsed;
+    }
+
+    /**
+     * Validates regular expression literals collected by {@link #parseModuleAhead}.
+     *
+     * @return {@code false} if any of the literals is invalid
+     */
+    public static boolean validateRegexLiterals(JSContext context, JSParserOptions parserOptions, List<RegexToken> regexLiterals) {
+        for (RegexToken regex : regexLiterals) {
+            try {
+                RegexCompilerInterface.validate(context, regex.getExpression(), regex.getOptions(), parserOptions.getEcmaScriptVersion());
+            } catch (JSException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the body of a function that has only been preparsed as part of its enclosing script
+     * or module (see {@link FunctionNode#isPreparsed()}). Syntax errors in the body of the function
+     * are only reported now.
+     */
+    public static FunctionNode parsePreparsedFunction(JSContext context, com.oracle.truffle.api.source.Source truffleSource, FunctionNode preparsedFunction) {
+        CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
+        JSParserOptions parserOptions = context.getParserOptions();
+        ScriptEnvironment env = makeScriptEnvironment(parserOptions, true);
+        ErrorManager errors = new ErrorManager.StringBuilderErrorManager();
+        errors.setLimit(0);
+
+        Parser parser = createParser(context, env, preparsedFunction.getSource(), errors, parserOptions);
+        ParseMetrics metrics = context.getParseMetrics();
+        ParseMetrics.Sample sample = metrics != null ? metrics.start() : null;
+        FunctionNode parsed = parser.parsePreparsedFunction(preparsedFunction);
+        if (metrics != null) {
+            metrics.end(sample, ParseMetrics.Phase.PARSE, preparsedFunction.getSource().getName());
+        }
 
         if (errors.hasErrors()) {
             throwErrors(truffleSource, errors);
@@ -156,6 +219,11 @@ public final class GraalJSParserHelper {
     }
 
     private static Parser createParser(JSContext context, ScriptEnvironment env, com.oracle.js.parser.Source source, ErrorManager errors, JSParserOptions parserOptions) {
+        return createParser(context, env, source, errors, parserOptions, null);
+    }
+
+    private static Parser createParser(JSContext context, ScriptEnvironment env, com.oracle.js.parser.Source source, ErrorManager errors, JSParserOptions parserOptions,
+                    List<RegexToken> deferredRegexLiterals) {
         return new Parser(env, source, errors) {
             @Override
             protected void validateLexerToken(LexerToken lexerToken) {
@@ -163,10 +231,15 @@ public final class GraalJSParserHelper {
                     final RegexToken regex = (RegexToken) lexerToken;
                     // validate regular expression
                     if (context.getContextOptions().isValidateRegExpLiterals()) {
-                        try {
-                            RegexCompilerInterface.validate(context, regex.getExpression(), regex.getOptions(), parserOptions.getEcmaScriptVersion());
-                        } catch (JSException e) {
-                            throw error(e.getRawMessage());
+                        if (deferredRegexLiterals != null) {
+                            // validation needs an entered context
+                            deferredRegexLiterals.add(regex);
+                        } else {
+                            try {
+                                RegexCompilerInterface.validate(context, regex.getExpression(), regex.getOptions(), parserOptions.getEcmaScriptVersion());
+                            } catch (JSException e) {
+                                throw error(e.getRawMessage());
+                            }
                         }
                     }
                 }
@@ -180,6 +253,10 @@ public final class GraalJSParserHelper {
     }
 
     private static ScriptEnvironment makeScriptEnvironment(JSParserOptions parserOptions) {
+        return makeScriptEnvironment(parserOptions, false);
+    }
+
+    private static ScriptEnvironment makeScriptEnvironment(JSParserOptions parserOptions, boolean lazyParsing) {
         ScriptEnvironment.Builder builder = ScriptEnvironment.builder();
         builder.strict(parserOptions.isStrict());
         builder.ecmaScriptVersion(parserOptions.getEcmaScriptVersion());
@@ -195,6 +272,7 @@ public final class GraalJSParserHelper {
         builder.privateFieldsIn(parserOptions.isPrivateFieldsIn());
         builder.topLevelAwait(parserOptions.isTopLevelAwait());
         builder.v8Intrinsics(parserOptions.isV8Intrinsics());
+        builder.lazyParsing(lazyParsing);
         if (parserOptions.isFunctionStatementError()) {
             builder.functionStatementBehavior(FunctionStatementBehavior.ERROR);
         } else {
@@ -189,6 +189,7 @@ import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.InternalSlotId;
 import com.oracle.truffle.js.runtime.util.Pair;
+import com.oracle.truffle.js.runtime.util.ParseMetrics;
 
 abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.TranslatorNodeVisitor<LexicalContext, JavaScriptNode> {
 
@@ -385,12 +386,16 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
 
             LexicalContext savedLC = lc.copy();
             Environment parentEnv = environment;
+            if (context.getParseMetrics() != null) {
+                context.getParseMetrics().functionDeferred(source.getName());
+            }
             functionData.setLazyInit(fd -> {
                 GraalJSTranslator translator = newTranslator(parentEnv, savedLC);
                 translator.translateFunctionOnDemand(functionNode, fd, isStrict, isGlobal, needsParentFrame, functionName, hasSyntheticArguments);
             });
             functionRoot = null;
         } else {
+            assert !functionNode.isPreparsed() : "preparsed functions are always translated lazily";
             Environment prevEnv = environment;
             try (EnvironmentCloseable functionEnv = enterFunctionEnvironment(functionNode, isStrict, isGlobal, hasSyntheticArguments)) {
                 FunctionEnvironment currentFunction = currentFunction();
@@ -411,7 +416,7 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
                 }
 
                 if (functionNode.isProgram()) {
-                    functionNeedsParentFramePass(functionNode, context);
+                    functionNeedsParentFramePass(functionNode, new LexicalContext(), context);
                 }
 
                 boolean needsParentFrame = functionNode.usesAncestorScope();
@@ -430,6 +435,9 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
                 } else {
                     functionRoot = createFunctionRoot(functionNode, functionData, currentFunction, body);
                 }
+                if (context.getParseMetrics() != null) {
+                    context.getParseMetrics().functionTranslated(source.getName(), functionRoot, false);
+                }
 
                 // Freeze after root creation to allow registration of async/generator variables.
                 currentFunction.freeze();
@@ -487,12 +495,18 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         return body;
     }
 
-    private FunctionRootNode translateFunctionOnDemand(FunctionNode functionNode, JSFunctionData functionData, boolean isStrict,
+    private FunctionRootNode translateFunctionOnDemand(FunctionNode lazyFunctionNode, JSFunctionData functionData, boolean isStrict,
                     boolean isGlobal, boolean needsParentFrame, TruffleString functionName, boolean hasSyntheticArguments) {
+        FunctionNode functionNode = lazyFunctionNode;
+        if (lazyFunctionNode.isPreparsed()) {
+            functionNode = parsePreparsedFunction(lazyFunctionNode);
+        }
+        ParseMetrics metrics = context.getParseMetrics();
+        ParseMetrics.Sample sample = metrics != null ? metrics.start() : null;
         try (EnvironmentCloseable functionEnv = enterFunctionEnvironment(functionNode, isStrict, isGlobal, hasSyntheticArguments)) {
             FunctionEnvironment currentFunction = currentFunction();
             currentFunction.setFunctionName(functionName);
-            currentFunction.setInternalFunctionName(functionNode.getInternalNameTS());
+            currentFunction.setInternalFunctionName(lazyFunctionNode.getInternalNameTS());
             currentFunction.setNamedFunctionExpression(functionNode.isNamedFunctionExpression());
 
             currentFunction.setNeedsParentFrame(needsParentFrame);
@@ -505,10 +519,29 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
             currentFunction.freeze();
             assert currentFunction.isDeepFrozen();
 
-            return createFunctionRoot(functionNode, functionData, currentFunction, body);
+            FunctionRootNode functionRoot = createFunctionRoot(functionNode, functionData, currentFunction, body);
+            if (metrics != null) {
+                metrics.end(sample, ParseMetrics.Phase.TRANSLATE, source.getName());
+                metrics.functionTranslated(source.getName(), functionRoot, true);
+            }
+            return functionRoot;
         }
     }
 
+    /**
+     * Parses the body of a preparsed function and replaces it in the lexical context. Inner
+     * functions need the parent frame analysis that was skipped for the preparsed function body.
+     */
+    private FunctionNode parsePreparsedFunction(FunctionNode preparsedFunction) {
+        FunctionNode parsedFunction = GraalJSParserHelper.parsePreparsedFunction(context, source, preparsedFunction);
+        lc.replace(preparsedFunction, parsedFunction);
+
+        LexicalContext outerLC = lc.copy();
+        outerLC.pop(parsedFunction);
+        functionNeedsParentFramePass(parsedFunction, outerLC, context);
+        return parsedFunction;
+    }
+
     private FunctionRootNode createFunctionRoot(FunctionNode functionNode, JSFunctionData functionData, FunctionEnvironment currentFunction, JavaScriptNode body) {
         SourceSection functionSourceSection = createSourceSection(functionNode);
         FunctionBodyNode functionBody = factory.createFunctionBody(body);
@@ -1019,12 +1052,12 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         return Collections.emptyList();
     }
 
-    private static void functionNeedsParentFramePass(FunctionNode rootFunctionNode, JSContext context) {
+    private static void functionNeedsParentFramePass(FunctionNode rootFunctionNode, LexicalContext outerLC, JSContext context) {
         if (!context.getContextOptions().isLazyTranslation()) {
             return; // nothing to do
         }
 
-        com.oracle.js.parser.ir.visitor.NodeVisitor<LexicalContext> visitor = new com.oracle.js.parser.ir.visitor.NodeVisitor<>(new LexicalContext()) {
+        com.oracle.js.parser.ir.visitor.NodeVisitor<LexicalContext> visitor = new com.oracle.js.parser.ir.visitor.NodeVisitor<>(outerLC) {
             @Override
             public boolean enterIdentNode(IdentNode identNode) {
                 if (!identNode.isPropertyName()) {
@@ -1138,9 +1171,15 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
 
             @Override
             public boolean enterFunctionNode(FunctionNode functionNode) {
-                if (functionNode.hasEval()) {
+                if (functionNode.hasEval() || (functionNode.isPreparsed() && functionNode.getFlag(FunctionNode.HAS_NESTED_EVAL))) {
                     markUsesAncestorScopeUntil(null, false);
                 }
+                if (functionNode.isPreparsed()) {
+                    // the body is not available yet, only the free variables of the function
+                    for (String freeName : functionNode.getPreparsedFunctionData().getFreeNames()) {
+                        findSymbol(freeName);
+                    }
+                }
                 // TODO if function does not have nested functions we can skip it
                 return true;
             }
@@ -56,6 +56,7 @@ import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.objects.JSModuleData;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
+import com.oracle.truffle.js.runtime.util.ParseMetrics;
 
 public final class JavaScriptTranslator extends GraalJSTranslator {
 
@@ -125,6 +126,10 @@ public final class JavaScriptTranslator extends GraalJSTranslator {
 
     public static JSModuleData translateModule(NodeFactory factory, JSContext context, Source source) {
         FunctionNode parsed = GraalJSParserHelper.parseModule(context, source, context.getParserOptions().putStrict(true));
+        return translateModule(factory, context, source, parsed);
+    }
+
+    public static JSModuleData translateModule(NodeFactory factory, JSContext context, Source source, FunctionNode parsed) {
         JavaScriptTranslator translator = new JavaScriptTranslator(factory, context, source, 0, null, true);
         return translator.translateModule(parsed);
     }
@@ -133,11 +138,16 @@ public final class JavaScriptTranslator extends GraalJSTranslator {
         if (!functionNode.isScript()) {
             throw new IllegalArgumentException("root function node is not a script");
         }
+        ParseMetrics metrics = context.getParseMetrics();
+        ParseMetrics.Sample sample = metrics != null ? metrics.start() : null;
         JSFunctionExpressionNode functionExpression = (JSFunctionExpressionNode) transformFunction(functionNode);
         JSFunctionData functionData = functionExpression.getFunctionData();
         ScriptNode script = ScriptNode.fromFunctionData(functionData);
         ScriptOrModule scriptOrModule = factory.createScriptOrModule(context, source);
         resolveScriptOrModule(scriptOrModule);
+        if (metrics != null) {
+            metrics.end(sample, ParseMetrics.Phase.TRANSLATE, source.getName());
+        }
         return script;
     }
 
@@ -145,10 +155,15 @@ public final class JavaScriptTranslator extends GraalJSTranslator {
         if (!functionNode.isModule()) {
             throw new IllegalArgumentException("root function node is not a module");
         }
+        ParseMetrics metrics = context.getParseMetrics();
+        ParseMetrics.Sample sample = metrics != null ? metrics.start() : null;
         JSFunctionExpressionNode functionExpression = (JSFunctionExpressionNode) transformFunction(functionNode);
         JSFunctionData functionData = functionExpression.getFunctionData();
         JSModuleData moduleData = new JSModuleData(functionNode.getModule(), source, functionData, functionData.getRootNode().getFrameDescriptor());
         resolveScriptOrModule(moduleData);
+        if (metrics != null) {
+            metrics.end(sample, ParseMetrics.Phase.TRANSLATE, source.getName());
+        }
         return moduleData;
     }
 
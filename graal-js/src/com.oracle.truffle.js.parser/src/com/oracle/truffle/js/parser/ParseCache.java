@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.zip.CRC32;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.nodes.JSNodeDecoder;
+import com.oracle.truffle.js.nodes.NodeFactory;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.nodes.function.FunctionRootNode;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.JSRealm;
+
+/**
+ * Persistent cache of translated scripts (see {@link JSContextOptions#PARSE_CACHE_DIR}).
+ *
+ * Each entry holds the binary snapshot of a script (as read by {@link BinarySnapshotProvider})
+ * followed by a CRC32 checksum of the snapshot. Entries are keyed by a digest of the source code,
+ * the context and parser options and the node decoder checksum. Stale or corrupt entries are
+ * discarded, in which case the script is parsed normally. New entries are written on a cache miss
+ * if a {@link SnapshotRecorder} is available, or ahead of time by the snapshot tool.
+ *
+ * The cache directory is accessed through the public file system of the context, so the cache is
+ * only used if the context is allowed to read and write that directory.
+ */
+public final class ParseCache {
+
+    private static final String ENTRY_SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final SnapshotRecorder RECORDER = loadRecorder();
+
+    private ParseCache() {
+    }
+
+    private static SnapshotRecorder loadRecorder() {
+        Iterator<SnapshotRecorder> recorders = ServiceLoader.load(SnapshotRecorder.class, ParseCache.class.getClassLoader()).iterator();
+        return recorders.hasNext() ? recorders.next() : null;
+    }
+
+    /**
+     * Returns the cached translation of the script, or {@code null} if there is no usable entry
+     * and none could be created.
+     */
+    @TruffleBoundary
+    static ScriptNode parseScript(JSContext context, Source source, boolean isStrict, String cacheDir) {
+        Env env = JSRealm.get(null).getEnv();
+        TruffleFile entry = getEntryFile(env, context, source, isStrict, cacheDir);
+        if (entry == null) {
+            return null;
+        }
+        ScriptNode script = load(context, source, entry);
+        if (script == null) {
+            script = record(env, context, source, isStrict, entry);
+        }
+        return script;
+    }
+
+    /**
+     * Returns the cached translation of the script, or {@code null} if there is no usable entry.
+     */
+    @TruffleBoundary
+    public static ScriptNode loadScript(JSContext context, Source source, boolean isStrict, String cacheDir) {
+        TruffleFile entry = getEntryFile(JSRealm.get(null).getEnv(), context, source, isStrict, cacheDir);
+        return entry == null ? null : load(context, source, entry);
+    }
+
+    /**
+     * Returns {@code true} if there is an entry for the script. The entry is not validated.
+     */
+    @TruffleBoundary
+    static boolean hasEntry(JSContext context, Source source, boolean isStrict, String cacheDir) {
+        TruffleFile entry = getEntryFile(JSRealm.get(null).getEnv(), context, source, isStrict, cacheDir);
+        try {
+            return entry != null && entry.isRegularFile();
+        } catch (SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stores a snapshot of the script produced by a {@link SnapshotRecorder}.
+     *
+     * @return {@code true} if the entry has been written
+     */
+    @TruffleBoundary
+    public static boolean storeScript(JSContext context, Source source, boolean isStrict, String cacheDir, ByteBuffer snapshot) {
+        Env env = JSRealm.get(null).getEnv();
+        TruffleFile entry = getEntryFile(env, context, source, isStrict, cacheDir);
+        return entry != null && write(env, entry, snapshot);
+    }
+
+    private static TruffleFile getEntryFile(Env env, JSContext context, Source source, boolean isStrict, String cacheDir) {
+        try {
+            return env.getPublicTruffleFile(cacheDir).resolve(computeKey(context, source, isStrict) + ENTRY_SUFFIX);
+        } catch (IllegalArgumentException | UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static ScriptNode load(JSContext context, Source source, TruffleFile entry) {
+        try {
+            if (!entry.isRegularFile()) {
+                return null;
+            }
+        } catch (SecurityException e) {
+            return null;
+        }
+        try (SeekableByteChannel channel = entry.newByteChannel(EnumSet.of(StandardOpenOption.READ))) {
+            long size = channel.size();
+            if (size <= Integer.BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid parse cache entry size: " + size);
+            }
+            ByteBuffer buffer = readFully(channel, (int) size).order(ByteOrder.LITTLE_ENDIAN);
+            int snapshotSize = (int) size - Integer.BYTES;
+            ByteBuffer snapshot = buffer.duplicate().limit(snapshotSize);
+            if (buffer.getInt(snapshotSize) != checksum(snapshot)) {
+                throw new IOException("Parse cache entry checksum mismatch");
+            }
+            return decode(context, source, snapshot);
+        } catch (IOException | RuntimeException e) {
+            // stale or corrupt entry: drop it and fall back to a regular parse
+            deleteQuietly(entry);
+            return null;
+        }
+    }
+
+    private static ByteBuffer readFully(SeekableByteChannel channel, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Truncated parse cache entry");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static ScriptNode record(Env env, JSContext context, Source source, boolean isStrict, TruffleFile entry) {
+        // recording only captures functions that are translated eagerly
+        if (RECORDER == null || context.getContextOptions().isLazyTranslation()) {
+            return null;
+        }
+        ByteBuffer[] snapshot = new ByteBuffer[1];
+        ScriptNode script;
+        try {
+            // the recorded translation is used as is, so the script is translated only once
+            script = RECORDER.recordScript(context, source, isStrict, recorded -> snapshot[0] = recorded);
+        } catch (RuntimeException e) {
+            // not every script can be recorded; errors are reported by the regular parse
+            return null;
+        }
+        write(env, entry, snapshot[0]);
+        return script;
+    }
+
+    private static ScriptNode decode(JSContext context, Source source, ByteBuffer snapshot) {
+        return ScriptNode.fromFunctionRoot((FunctionRootNode) new BinarySnapshotProvider(snapshot).apply(NodeFactory.getInstance(context), context, source));
+    }
+
+    private static boolean write(Env env, TruffleFile entry, ByteBuffer snapshot) {
+        TruffleFile temp = null;
+        try {
+            TruffleFile dir = entry.getAbsoluteFile().getParent();
+            dir.createDirectories();
+            temp = env.createTempFile(dir, entry.getName(), TEMP_SUFFIX);
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, checksum(snapshot));
+            try (SeekableByteChannel channel = temp.newByteChannel(EnumSet.of(StandardOpenOption.WRITE))) {
+                writeFully(channel, snapshot.duplicate());
+                writeFully(channel, trailer);
+            }
+            // concurrent writers produce identical entries, so the last one wins
+            temp.move(entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException | SecurityException e) {
+            // the cache is best effort
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+            return false;
+        }
+    }
+
+    private static void writeFully(SeekableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static int checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static void deleteQuietly(TruffleFile file) {
+        try {
+            file.delete();
+        } catch (IOException | SecurityException e) {
+            // ignore
+        }
+    }
+
+    private static String computeKey(JSContext context, Source source, boolean isStrict) {
+        CharSequence code = source.getCharacters();
+        ByteBuffer fingerprint = ByteBuffer.allocate(4 * Integer.BYTES);
+        fingerprint.putInt(JSNodeDecoder.getChecksum());
+        fingerprint.putInt(context.getContextOptions().hashCode());
+        fingerprint.putInt(context.getParserOptions().putStrict(isStrict).hashCode());
+        fingerprint.putInt(code.length());
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(fingerprint.array());
+            md.update(code.toString().getBytes(StandardCharsets.UTF_16LE));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw Errors.shouldNotReachHere(e);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -38,27 +38,23 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-package com.oracle.truffle.js.runtime.util;
+package com.oracle.truffle.js.parser;
 
-import java.util.LinkedHashMap;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
 
-public final class LRUCache<K, V> extends LinkedHashMap<K, V> {
-
-    private static final long serialVersionUID = 7813848977534444613L;
-    private final int maxCacheSize;
-
-    public LRUCache(int maxCacheSize) {
-        this(maxCacheSize, 16);
-    }
-
-    public LRUCache(int maxCacheSize, int initialCapacity) {
-        super(initialCapacity, 0.75f, true);
-        this.maxCacheSize = maxCacheSize;
-    }
-
-    @Override
-    protected boolean removeEldestEntry(java.util.Map.Entry<K, V> eldest) {
-        return size() > maxCacheSize;
-    }
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.runtime.JSContext;
 
+/**
+ * Translates a script and encodes the result in the binary format read by
+ * {@link BinarySnapshotProvider}. Implementations are located using {@link java.util.ServiceLoader}.
+ */
+public interface SnapshotRecorder {
+    /**
+     * Translates the script, passes the encoded translation to {@code snapshotConsumer} and
+     * returns the translated script.
+     */
+    ScriptNode recordScript(JSContext context, Source source, boolean isStrict, Consumer<ByteBuffer> snapshotConsumer);
 }
@@ -49,17 +49,28 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 import javax.script.Bindings;
 import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.Invocable;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import javax.script.SimpleScriptContext;
 
+import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.proxy.ProxyObject;
 import org.junit.Assume;
@@ -295,4 +306,77 @@ public class TestEngine {
         } // else no nashorn engine anymore
     }
 
+
+    @Test
+    public void contextPool() throws ScriptException {
+        Source init = Source.create("js", "var counter = 0; function next() { return ++counter; }");
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 2, init)) {
+            assertEquals(1, ((Number) engine.eval("next()")).intValue());
+            assertEquals(2, ((Number) engine.eval("next()")).intValue());
+            // every ScriptContext gets its own context with the init sources evaluated
+            for (int i = 0; i < 5; i++) {
+                ScriptContext scriptContext = new SimpleScriptContext();
+                scriptContext.setBindings(engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+                assertEquals(1, ((Number) engine.eval("next()", scriptContext)).intValue());
+                engine.getPolyglotContext(scriptContext).close();
+            }
+            Bindings bindings = engine.createBindings();
+            bindings.put("polyglot.js.ecmascript-version", "2021");
+            assertEquals(1, ((Number) engine.eval("next()", bindings)).intValue());
+        }
+    }
+
+    @Test
+    public void contextPoolBindingsOptionsAreNotShared() throws ScriptException {
+        Supplier<Context.Builder> contextConfig = () -> Context.newBuilder("js").allowExperimentalOptions(true);
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, contextConfig, 2)) {
+            for (int i = 0; i < 3; i++) {
+                Bindings bindings = engine.createBindings();
+                bindings.put("polyglot.js.ecmascript-version", "5");
+                assertEquals("undefined", engine.eval("typeof Symbol", bindings));
+                // contexts of other bindings, pooled or not, use the base configuration
+                assertEquals("symbol", engine.eval("typeof Symbol()", engine.createBindings()));
+                ScriptContext scriptContext = new SimpleScriptContext();
+                scriptContext.setBindings(new SimpleBindings(), ScriptContext.ENGINE_SCOPE);
+                assertEquals("symbol", engine.eval("typeof Symbol()", scriptContext));
+            }
+        }
+    }
+
+    @Test
+    public void compiledScriptSharedAcrossThreads() throws ScriptException, InterruptedException, ExecutionException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            CompiledScript script = engine.compile("var counter = (typeof counter === 'undefined') ? 1 : counter + 1; counter");
+            assertEquals(1, ((Number) script.eval()).intValue());
+            assertEquals(2, ((Number) script.eval()).intValue());
+
+            int threads = 4;
+            int iterations = 100;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    results.add(executor.submit(() -> {
+                        // every thread uses its own ScriptContext, and therefore its own context
+                        ScriptContext scriptContext = new SimpleScriptContext();
+                        scriptContext.setBindings(engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+                        try {
+                            Object result = null;
+                            for (int i = 0; i < iterations; i++) {
+                                result = script.eval(scriptContext);
+                            }
+                            return ((Number) result).intValue();
+                        } finally {
+                            engine.getPolyglotContext(scriptContext).close();
+                        }
+                    }));
+                }
+                for (Future<Integer> result : results) {
+                    assertEquals(iterations, result.get().intValue());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
 }
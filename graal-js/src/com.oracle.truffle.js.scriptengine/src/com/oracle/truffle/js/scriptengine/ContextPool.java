@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+
+/**
+ * Polyglot contexts of a script engine, created ahead of time on a background thread from a new
+ * base context configuration each and initialized with the configured init sources. A context is
+ * handed out for a single {@link javax.script.ScriptContext} and is not returned to the pool, since
+ * the state of a used context cannot be reset; the pool is refilled instead.
+ */
+final class ContextPool implements AutoCloseable {
+
+    private final Supplier<Context.Builder> contextConfig;
+    private final int size;
+    private final Source[] initSources;
+
+    private final ArrayDeque<Context> contexts = new ArrayDeque<>();
+    private ExecutorService executor;
+    /** Number of contexts currently being created for the pool. */
+    private int pending;
+    private boolean closed;
+
+    ContextPool(Supplier<Context.Builder> contextConfig, int size, Source[] initSources) {
+        this.contextConfig = contextConfig;
+        this.size = size;
+        this.initSources = initSources;
+        refill();
+    }
+
+    /**
+     * Returns a context created from the base configuration, taken from the pool if one is
+     * available.
+     */
+    Context take() {
+        Context context = poll();
+        if (context == null) {
+            context = create(newContextConfig());
+        }
+        refill();
+        return context;
+    }
+
+    /**
+     * Returns a new base configuration that is not shared with any other context.
+     */
+    Context.Builder newContextConfig() {
+        return contextConfig.get();
+    }
+
+    /**
+     * Creates a new context from the given configuration and evaluates the init sources in it.
+     */
+    Context create(Context.Builder builder) {
+        Context context = GraalJSScriptEngine.createDefaultContext(builder);
+        try {
+            for (Source source : initSources) {
+                context.eval(source);
+            }
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+        return context;
+    }
+
+    private synchronized void refill() {
+        while (!closed && contexts.size() + pending < size) {
+            if (executor == null) {
+                executor = Executors.newSingleThreadExecutor((runnable) -> {
+                    Thread thread = new Thread(runnable, "GraalJSScriptEngine-Context-Pool");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            pending++;
+            executor.execute(this::fill);
+        }
+    }
+
+    private void fill() {
+        Context context = null;
+        try {
+            context = create(newContextConfig());
+        } catch (RuntimeException e) {
+            // reported when a context is created on demand
+        }
+        synchronized (this) {
+            pending--;
+            if (context != null && !closed) {
+                contexts.add(context);
+                return;
+            }
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+        Context context;
+        while ((context = poll()) != null) {
+            context.close();
+        }
+    }
+
+    private synchronized Context poll() {
+        return contexts.poll();
+    }
+}
@@ -45,11 +45,14 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import javax.script.Bindings;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.TypeLiteral;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyObject;
@@ -66,17 +69,25 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     private Map<String, Object> global;
     private Value deleteProperty;
     private Value clear;
+    // Shared base configuration, or the own configuration of a pooled context if null or
+    // if bindings options are set
     private Context.Builder contextBuilder;
+    // Creates the context if not null
+    private final ContextPool contextPool;
     // ScriptContext of the ScriptEngine where these bindings form ENGINE_SCOPE bindings
     private ScriptContext engineScriptContext;
+    // Compiled scripts parsed in the context
+    private Map<CompiledScript, Value> parsedScripts;
 
-    GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext) {
+    GraalJSBindings(Context.Builder contextBuilder, ContextPool contextPool, ScriptContext scriptContext) {
         this.contextBuilder = contextBuilder;
+        this.contextPool = contextPool;
         this.engineScriptContext = scriptContext;
     }
 
     GraalJSBindings(Context context, ScriptContext scriptContext) {
         this.context = context;
+        this.contextPool = null;
         initGlobal();
         this.engineScriptContext = scriptContext;
     }
@@ -88,7 +99,13 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     }
 
     private void initContext() {
-        context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        if (contextPool == null) {
+            context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        } else if (contextBuilder == null) {
+            context = contextPool.take();
+        } else {
+            context = contextPool.create(contextBuilder);
+        }
         initGlobal();
     }
 
@@ -119,7 +136,10 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
                 if (optionSetter == null) {
                     throw new IllegalArgumentException("unkown graal-js option \"" + name + "\"");
                 } else {
-                    contextBuilder = optionSetter.setOption(contextBuilder, v);
+                    if (contextBuilder == null) {
+                        contextBuilder = contextPool.newContextConfig();
+                    }
+                    contextBuilder = GraalJSScriptEngine.setMagicOption(optionSetter, contextBuilder, v);
                     return true;
                 }
             } else {
@@ -192,6 +212,18 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
         }
     }
 
+    Value parseScript(CompiledScript compiledScript, Source source) {
+        if (parsedScripts == null) {
+            parsedScripts = new WeakHashMap<>();
+        }
+        Value parsed = parsedScripts.get(compiledScript);
+        if (parsed == null) {
+            parsed = getContext().parse(source);
+            parsedScripts.put(compiledScript, parsed);
+        }
+        return parsed;
+    }
+
     void updateEngineScriptContext(ScriptContext scriptContext) {
         engineScriptContext = scriptContext;
     }
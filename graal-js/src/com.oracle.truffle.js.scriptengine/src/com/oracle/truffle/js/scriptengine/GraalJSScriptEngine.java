@@ -54,6 +54,7 @@ import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import javax.script.AbstractScriptEngine;
 import javax.script.Bindings;
@@ -303,7 +304,10 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     private final GraalJSEngineFactory factory;
+    /** Base configuration shared by all contexts, or {@code null} if a context pool is used. */
     private final Context.Builder contextConfig;
+    /** Creates the contexts of this engine, or {@code null} if the shared configuration is used. */
+    private final ContextPool contextPool;
 
     private boolean evalCalled;
 
@@ -312,34 +316,61 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     GraalJSScriptEngine(GraalJSEngineFactory factory, Engine engine, Context.Builder contextConfig) {
-        Engine engineToUse = engine;
-        if (engineToUse == null) {
-            engineToUse = Engine.newBuilder().allowExperimentalOptions(true).build();
-        }
-        Context.Builder contextConfigToUse = contextConfig;
-        if (contextConfigToUse == null) {
-            // default config
-            contextConfigToUse = Context.newBuilder(ID).allowExperimentalOptions(true);
-            contextConfigToUse.option(JS_SYNTAX_EXTENSIONS_OPTION, "true");
-            contextConfigToUse.option(JS_LOAD_OPTION, "true");
-            contextConfigToUse.option(JS_PRINT_OPTION, "true");
-            contextConfigToUse.option(JS_GLOBAL_ARGUMENTS_OPTION, "true");
-            // ScriptContext provides Reader/Writer while Context.Builder requires
-            // InputStream/OutpuStream. We use DelegatingInput/OutputStream for this conversion. We
-            // cannot use the default charset for that because it may not be able to represent all
-            // the needed characters. So, we hard-code the usage of UTF-8 in
-            // DelegatingInput/OutputStream => we have to tell the engine to use UTF-8 (not the
-            // default charset) to read input/output.
-            contextConfigToUse.option(JS_CHARSET_OPTION, "UTF-8");
-            if (NASHORN_COMPATIBILITY_MODE) {
-                updateForNashornCompatibilityMode(contextConfigToUse);
-            } else if (Boolean.getBoolean(INSECURE_SCRIPTENGINE_ACCESS_SYSTEM_PROPERTY)) {
-                updateForScriptEngineAccessibility(contextConfigToUse);
-            }
-        }
+        Engine engineToUse = engineOrDefault(engine);
         this.factory = (factory == null) ? new GraalJSEngineFactory(engineToUse) : factory;
-        this.contextConfig = contextConfigToUse.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
-        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context), ScriptContext.ENGINE_SCOPE);
+        this.contextConfig = initContextConfig(contextConfig == null ? newDefaultContextConfig() : contextConfig, engineToUse);
+        this.contextPool = null;
+        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.contextPool, this.context), ScriptContext.ENGINE_SCOPE);
+    }
+
+    GraalJSScriptEngine(Engine engine, Supplier<Context.Builder> contextConfig, int contextPoolSize, Source[] initSources) {
+        Engine engineToUse = engineOrDefault(engine);
+        this.factory = new GraalJSEngineFactory(engineToUse);
+        this.contextConfig = null;
+        this.contextPool = new ContextPool(() -> initContextConfig(contextConfig == null ? newDefaultContextConfig() : contextConfig.get(), engineToUse), contextPoolSize, initSources);
+        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.contextPool, this.context), ScriptContext.ENGINE_SCOPE);
+    }
+
+    private static Engine engineOrDefault(Engine engine) {
+        if (engine == null) {
+            return Engine.newBuilder().allowExperimentalOptions(true).build();
+        }
+        return engine;
+    }
+
+    private static Context.Builder newDefaultContextConfig() {
+        Context.Builder contextConfig = Context.newBuilder(ID).allowExperimentalOptions(true);
+        contextConfig.option(JS_SYNTAX_EXTENSIONS_OPTION, "true");
+        contextConfig.option(JS_LOAD_OPTION, "true");
+        contextConfig.option(JS_PRINT_OPTION, "true");
+        contextConfig.option(JS_GLOBAL_ARGUMENTS_OPTION, "true");
+        // ScriptContext provides Reader/Writer while Context.Builder requires
+        // InputStream/OutpuStream. We use DelegatingInput/OutputStream for this conversion. We
+        // cannot use the default charset for that because it may not be able to represent all
+        // the needed characters. So, we hard-code the usage of UTF-8 in
+        // DelegatingInput/OutputStream => we have to tell the engine to use UTF-8 (not the
+        // default charset) to read input/output.
+        contextConfig.option(JS_CHARSET_OPTION, "UTF-8");
+        if (NASHORN_COMPATIBILITY_MODE) {
+            updateForNashornCompatibilityMode(contextConfig);
+        } else if (Boolean.getBoolean(INSECURE_SCRIPTENGINE_ACCESS_SYSTEM_PROPERTY)) {
+            updateForScriptEngineAccessibility(contextConfig);
+        }
+        return contextConfig;
+    }
+
+    private static Context.Builder initContextConfig(Context.Builder contextConfig, Engine engine) {
+        return contextConfig.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engine);
+    }
+
+    /**
+     * Applies a {@code polyglot.js.*} bindings option to a context configuration. The
+     * configuration may be shared with other threads creating contexts, so it is locked.
+     */
+    static Context.Builder setMagicOption(MagicBindingsOptionSetter optionSetter, Context.Builder builder, Object value) {
+        synchronized (builder) {
+            return optionSetter.setOption(builder, value);
+        }
     }
 
     private static void updateForNashornCompatibilityMode(Context.Builder builder) {
@@ -356,8 +387,12 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         DelegatingInputStream in = new DelegatingInputStream();
         DelegatingOutputStream out = new DelegatingOutputStream();
         DelegatingOutputStream err = new DelegatingOutputStream();
-        builder.in(in).out(out).err(err);
-        Context ctx = builder.build();
+        Context ctx;
+        // the builder may be shared with other threads creating contexts
+        synchronized (builder) {
+            builder.in(in).out(out).err(err);
+            ctx = builder.build();
+        }
         ctx.getPolyglotBindings().putMember(OUT_SYMBOL, out);
         ctx.getPolyglotBindings().putMember(ERR_SYMBOL, err);
         ctx.getPolyglotBindings().putMember(IN_SYMBOL, in);
@@ -370,6 +405,9 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
      */
     @Override
     public void close() {
+        if (contextPool != null) {
+            contextPool.close();
+        }
         getPolyglotContext().close();
     }
 
@@ -405,7 +443,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     @Override
     public Bindings createBindings() {
-        return new GraalJSBindings(contextConfig, null);
+        return new GraalJSBindings(contextConfig, contextPool, null);
     }
 
     @Override
@@ -474,6 +512,10 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     private Object eval(Source source, ScriptContext scriptContext) throws ScriptException {
+        return eval(null, source, scriptContext);
+    }
+
+    private Object eval(CompiledScript compiledScript, Source source, ScriptContext scriptContext) throws ScriptException {
         GraalJSBindings engineBindings = getOrCreateGraalJSBindings(scriptContext);
         Context polyglotContext = engineBindings.getContext();
         updateDelegatingIOStreams(polyglotContext, scriptContext);
@@ -482,7 +524,13 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
                 jrunscriptInitWorkaround(source, polyglotContext);
             }
             engineBindings.importGlobalBindings(scriptContext);
-            return polyglotContext.eval(source).as(Object.class);
+            Value result;
+            if (compiledScript == null) {
+                result = polyglotContext.eval(source);
+            } else {
+                result = engineBindings.parseScript(compiledScript, source).execute();
+            }
+            return result.as(Object.class);
         } catch (PolyglotException e) {
             throw toScriptException(e);
         } finally {
@@ -539,15 +587,27 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private Context createContext(Bindings engineB) {
         Object ctx = engineB.get(POLYGLOT_CONTEXT);
         if (!(ctx instanceof Context)) {
+            // pooled contexts are configured with a fresh builder if bindings options are used
             Context.Builder builder = contextConfig;
+            boolean defaultConfig = true;
             for (MagicBindingsOptionSetter optionSetter : MAGIC_OPTION_SETTERS) {
                 Object value = engineB.get(optionSetter.getOptionKey());
                 if (value != null) {
-                    builder = optionSetter.setOption(builder, value);
+                    if (builder == null) {
+                        builder = contextPool.newContextConfig();
+                    }
+                    builder = setMagicOption(optionSetter, builder, value);
                     engineB.remove(optionSetter.getOptionKey());
+                    defaultConfig = false;
                 }
             }
-            ctx = createDefaultContext(builder);
+            if (contextPool == null) {
+                ctx = createDefaultContext(builder);
+            } else if (defaultConfig) {
+                ctx = contextPool.take();
+            } else {
+                ctx = contextPool.create(builder);
+            }
             engineB.put(POLYGLOT_CONTEXT, ctx);
         }
         return (Context) ctx;
@@ -655,9 +715,14 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return compile(source);
     }
 
+    /**
+     * Returns a compiled script that can be evaluated in any {@link ScriptContext}, also from
+     * different threads as long as each thread uses its own {@link ScriptContext}. The source is
+     * parsed once per polyglot engine and the parsed script is kept per polyglot context, so
+     * repeated evaluations do not parse or look up the source again.
+     */
     private CompiledScript compile(Source source) throws ScriptException {
-        checkSyntax(source);
-        return new CompiledScript() {
+        CompiledScript compiledScript = new CompiledScript() {
             @Override
             public ScriptEngine getEngine() {
                 return GraalJSScriptEngine.this;
@@ -665,17 +730,16 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
             @Override
             public Object eval(ScriptContext ctx) throws ScriptException {
-                return GraalJSScriptEngine.this.eval(source, ctx);
+                return GraalJSScriptEngine.this.eval(this, source, ctx);
             }
         };
-    }
-
-    private void checkSyntax(Source source) throws ScriptException {
+        // check the syntax
         try {
-            getPolyglotContext().parse(source);
+            getOrCreateGraalJSBindings(context).parseScript(compiledScript, source);
         } catch (PolyglotException pex) {
             throw toScriptException(pex);
         }
+        return compiledScript;
     }
 
     private static class DelegatingInputStream extends InputStream implements Proxy {
@@ -778,6 +842,33 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return new GraalJSScriptEngine(null, engine, newContextConfig);
     }
 
+    /**
+     * Creates a new GraalJS script engine like {@link #create(Engine, Context.Builder)} that keeps
+     * a pool of polyglot contexts created ahead of time on a background thread, and evaluates the
+     * given init sources in every context it creates. Each pooled context is used for a single
+     * {@link ScriptContext} (or {@link Bindings} object) and closed with it; it is not reused
+     * afterwards. Contexts configured with {@code polyglot.js.*} bindings options are created on
+     * demand. Passing an engine allows the pooled contexts to share compiled code.
+     *
+     * Every context is created from a new configuration obtained from {@code newContextConfig},
+     * so that bindings options only apply to the context of the bindings they are set in.
+     *
+     * @param engine the engine to be used for context configurations or <code>null</code> if a
+     *            default engine should be used.
+     * @param newContextConfig supplies a new base configuration for each context instance, or
+     *            <code>null</code> if the default configuration should be used to construct new
+     *            context instances.
+     * @param contextPoolSize the number of contexts to keep ready, or 0 to create contexts on
+     *            demand.
+     * @param initSources sources evaluated in every new context before it is used.
+     */
+    public static GraalJSScriptEngine create(Engine engine, Supplier<Context.Builder> newContextConfig, int contextPoolSize, Source... initSources) {
+        if (contextPoolSize < 0) {
+            throw new IllegalArgumentException("contextPoolSize must not be negative");
+        }
+        return new GraalJSScriptEngine(engine, newContextConfig, contextPoolSize, initSources.clone());
+    }
+
     private static boolean isInterfaceImplemented(final Class<?> iface, final Value obj) {
         for (final Method method : iface.getMethods()) {
             // ignore methods of java.lang.Object class
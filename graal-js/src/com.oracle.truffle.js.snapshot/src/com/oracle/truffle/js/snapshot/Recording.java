@@ -1828,7 +1828,19 @@ public class Recording {
         }
     }
 
-    private ByteBuffer saveAsBinary(OutputStream outs) {
+    private void saveAsBinary(OutputStream outs) {
+        ByteBuffer buffer = encodeBinary();
+        try {
+            outs.write(byteBufferToByteArray(buffer));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Encodes the recording in the format read by {@link BinarySnapshotProvider}.
+     */
+    public ByteBuffer encodeBinary() {
         BinaryEncoder sink = new BinaryEncoder();
         JSNodeEncoder encoder = new JSNodeEncoder(sink, source.getCharacters());
 
@@ -1839,11 +1851,6 @@ public class Recording {
         } else {
             encodeMethod(encoder, ENTRY_METHOD_NAME, insts, Collections.emptyList());
         }
-        try {
-            outs.write(byteBufferToByteArray(sink.getBuffer()));
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
 
         if (TEST_DECODE) {
             testDecode(sink.getBuffer());
@@ -43,17 +43,27 @@ package com.oracle.truffle.js.snapshot;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.io.IOAccess;
 
 import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.builtins.commonjs.CommonJSRequireBuiltin;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.NodeFactory;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.parser.JavaScriptTranslator;
+import com.oracle.truffle.js.parser.ParseCache;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSContextOptions;
 import com.oracle.truffle.js.runtime.JSRealm;
@@ -67,9 +77,12 @@ public class SnapshotTool {
     public static void main(String[] args) throws IOException {
         boolean binary = true;
         boolean wrapped = false;
+        boolean commonJS = false;
         String outDir = null;
         String inDir = null;
+        String parseCacheDir = null;
         List<String> srcFiles = new ArrayList<>();
+        Map<String, String> jsOptions = new HashMap<>();
         for (String arg : args) {
             if (arg.startsWith("--")) {
                 if (arg.equals("--java")) {
@@ -78,18 +91,44 @@ public class SnapshotTool {
                     binary = true;
                 } else if (arg.equals("--wrapped")) {
                     wrapped = true;
+                } else if (arg.equals("--commonjs")) {
+                    commonJS = true;
                 } else if (arg.startsWith("--file=")) {
                     srcFiles.add(arg.substring(arg.indexOf('=') + 1));
                 } else if (arg.startsWith("--outdir=")) {
                     outDir = requireDirectory(arg.substring(arg.indexOf('=') + 1));
                 } else if (arg.startsWith("--indir=")) {
                     inDir = requireDirectory(arg.substring(arg.indexOf('=') + 1));
+                } else if (arg.startsWith("--tree=")) {
+                    inDir = requireDirectory(arg.substring(arg.indexOf('=') + 1));
+                    srcFiles.addAll(listScriptFiles(inDir));
+                } else if (arg.startsWith("--parse-cache=")) {
+                    parseCacheDir = arg.substring(arg.indexOf('=') + 1);
+                } else if (arg.startsWith("--" + JSContextOptions.JS_OPTION_PREFIX) && arg.indexOf('=') > 0) {
+                    jsOptions.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
                 }
             }
         }
 
         SnapshotTool snapshotTool = new SnapshotTool();
-        if (!srcFiles.isEmpty() && outDir != null) {
+        if (!srcFiles.isEmpty() && parseCacheDir != null) {
+            // the options have to match the ones used at run time, otherwise the entries are not found
+            try (Context polyglotContext = Context.newBuilder(JavaScriptLanguage.ID).allowIO(IOAccess.newBuilder().allowHostFileAccess(true).build()).allowExperimentalOptions(true).//
+                            options(jsOptions).//
+                            build()) {
+                polyglotContext.initialize(JavaScriptLanguage.ID);
+                polyglotContext.enter();
+                for (String srcFile : srcFiles) {
+                    File sourceFile = inDir == null ? new File(srcFile) : Paths.get(inDir, srcFile).toFile();
+                    if (!sourceFile.isFile()) {
+                        throw new IllegalArgumentException("Not a file: " + sourceFile);
+                    }
+                    snapshotTool.snapshotScriptFileToParseCache(srcFile, sourceFile, parseCacheDir, commonJS);
+                }
+                snapshotTool.timeStats.print();
+                polyglotContext.leave();
+            }
+        } else if (!srcFiles.isEmpty() && outDir != null) {
             try (Context polyglotContext = Context.newBuilder(JavaScriptLanguage.ID).allowIO(IOAccess.newBuilder().allowHostFileAccess(true).build()).allowExperimentalOptions(true).//
                             option(JSContextOptions.CLASS_FIELDS_NAME, "true").//
                             option(JSContextOptions.LAZY_TRANSLATION_NAME, "false").//
@@ -109,6 +148,7 @@ public class SnapshotTool {
             }
         } else {
             System.out.println("Usage: [--java|--binary] --outdir=DIR [--indir=DIR] --file=FILE [--file=FILE ...]");
+            System.out.println("       --parse-cache=DIR [--commonjs] [--js.<option>=<value> ...] (--tree=DIR | [--indir=DIR] --file=FILE [--file=FILE ...])");
         }
     }
 
@@ -119,6 +159,17 @@ public class SnapshotTool {
         return dir;
     }
 
+    private static List<String> listScriptFiles(String dir) throws IOException {
+        Path root = Paths.get(dir);
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(f -> Files.isRegularFile(f) && isScriptFileName(f.getFileName().toString())).map(f -> root.relativize(f).toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isScriptFileName(String fileName) {
+        return fileName.endsWith(JavaScriptLanguage.SCRIPT_SOURCE_NAME_SUFFIX) || fileName.endsWith(".cjs");
+    }
+
     private void snapshotScriptFileTo(String fileName, File sourceFile, File outputFile, boolean binary, boolean wrapped) throws IOException {
         JSRealm realm = JavaScriptLanguage.getCurrentJSRealm();
         JSContext context = realm.getContext();
@@ -153,6 +204,41 @@ public class SnapshotTool {
         }
     }
 
+    private void snapshotScriptFileToParseCache(String fileName, File sourceFile, String parseCacheDir, boolean commonJS) throws IOException {
+        JSRealm realm = JavaScriptLanguage.getCurrentJSRealm();
+        JSContext context = realm.getContext();
+        Recording.logv("recording parse cache entry of %s", fileName);
+        Source fileSource = Source.newBuilder(JavaScriptLanguage.ID, realm.getEnv().getPublicTruffleFile(sourceFile.getPath())).name(fileName).build();
+        // source as seen by require()
+        Source source = commonJS ? CommonJSRequireBuiltin.createModuleFunctionSource(fileSource) : fileSource;
+        boolean strict = context.getParserOptions().isStrict();
+        try {
+            long startTime = System.nanoTime();
+            if (commonJS) {
+                // require() skips this check for modules that have an entry, so it is part of the
+                // time saved
+                CommonJSRequireBuiltin.checkModuleSyntax(context, fileSource);
+            }
+            JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, strict, "", "");
+            long parseTime = System.nanoTime() - startTime;
+
+            final Recording rec = Recording.recordSource(source, context, strict, "", "");
+            if (!ParseCache.storeScript(context, source, strict, parseCacheDir, rec.encodeBinary())) {
+                throw new IOException("Cannot write parse cache entry for " + fileName);
+            }
+
+            startTime = System.nanoTime();
+            ScriptNode script = ParseCache.loadScript(context, source, strict, parseCacheDir);
+            long snapshotTime = System.nanoTime() - startTime;
+            if (script == null) {
+                throw new IllegalStateException("Cannot load parse cache entry");
+            }
+            timeStats.snapshot(fileName, parseTime, snapshotTime);
+        } catch (RuntimeException e) {
+            throw new RuntimeException(fileName, e);
+        }
+    }
+
     private interface TimerCloseable extends AutoCloseable {
         @Override
         void close();
@@ -160,6 +246,7 @@ public class SnapshotTool {
 
     private static class TimeStats {
         private final List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        private final List<Map.Entry<String, long[]>> snapshotEntries = new ArrayList<>();
 
         public TimerCloseable file(String fileName) {
             long startTime = System.nanoTime();
@@ -169,7 +256,20 @@ public class SnapshotTool {
             };
         }
 
+        /**
+         * Records the time needed to parse and translate a file and the time needed to load its
+         * snapshot instead.
+         */
+        public void snapshot(String fileName, long parseTime, long snapshotTime) {
+            snapshotEntries.add(new AbstractMap.SimpleImmutableEntry<>(fileName, new long[]{parseTime, snapshotTime}));
+        }
+
         public void print() {
+            printFiles();
+            printSnapshots();
+        }
+
+        private void printFiles() {
             if (entries.isEmpty()) {
                 return;
             }
@@ -180,5 +280,21 @@ public class SnapshotTool {
             }
             System.out.printf("Total: %.02f ms\n", total / 1e6);
         }
+
+        private void printSnapshots() {
+            if (snapshotEntries.isEmpty()) {
+                return;
+            }
+            long totalParse = 0;
+            long totalSnapshot = 0;
+            for (Map.Entry<String, long[]> entry : snapshotEntries) {
+                long parseTime = entry.getValue()[0];
+                long snapshotTime = entry.getValue()[1];
+                System.out.printf("%s: parse %.02f ms, snapshot %.02f ms, saved %.02f ms\n", entry.getKey(), parseTime / 1e6, snapshotTime / 1e6, (parseTime - snapshotTime) / 1e6);
+                totalParse += parseTime;
+                totalSnapshot += snapshotTime;
+            }
+            System.out.printf("Total: parse %.02f ms, snapshot %.02f ms, saved %.02f ms\n", totalParse / 1e6, totalSnapshot / 1e6, (totalParse - totalSnapshot) / 1e6);
+        }
     }
 }
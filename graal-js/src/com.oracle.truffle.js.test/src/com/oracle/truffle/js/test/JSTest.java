@@ -40,6 +40,10 @@
  */
 package com.oracle.truffle.js.test;
 
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+
 import com.oracle.truffle.js.runtime.Strings;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
@@ -73,4 +77,30 @@ public abstract class JSTest {
     public static void assertTStringEquals(String a, Object b) {
         Assert.assertEquals(Strings.fromJavaString(a), b);
     }
+
+    /**
+     * Asserts that the referent of the given reference can be garbage-collected. Unlike a single
+     * {@link System#gc()} call, which is only a hint, this keeps requesting collections under
+     * growing memory pressure until the reference is cleared or the heap is exhausted.
+     */
+    public static void assertGc(String message, Reference<?> ref) {
+        List<byte[]> garbage = new ArrayList<>();
+        long blockSize = 1 << 20;
+        for (int i = 0; i < 100 && ref.get() != null; i++) {
+            System.gc();
+            if (ref.get() == null) {
+                break;
+            }
+            try {
+                garbage.add(new byte[(int) Math.min(blockSize, Integer.MAX_VALUE - 8)]);
+                blockSize *= 2;
+            } catch (OutOfMemoryError e) {
+                // the heap is full, so the next collection has to be a full one
+                garbage.clear();
+                blockSize = 1 << 20;
+            }
+        }
+        garbage.clear();
+        Assert.assertNull(message, ref.get());
+    }
 }
@@ -44,9 +44,12 @@ import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_CORE_MODULES_REPLACEMENTS_NAME;
 import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_REQUIRE_CWD_NAME;
 import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_REQUIRE_NAME;
+import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_RESOLUTION_CACHE_NAME;
+import static com.oracle.truffle.js.runtime.JSContextOptions.DEBUG_BUILTIN_NAME;
 import static com.oracle.truffle.js.runtime.JSContextOptions.ECMASCRIPT_VERSION_NAME;
 import static com.oracle.truffle.js.runtime.JSContextOptions.GLOBAL_PROPERTY_NAME;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -57,6 +60,7 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -791,4 +795,74 @@ public class CommonJSRequireTest {
             assertEquals(expectedMessage, t.getMessage());
         }
     }
+
+    @Test
+    public void resolutionCache() throws IOException {
+        Path root = Files.createTempDirectory("commonjs");
+        Path pkg = Files.createDirectories(root.resolve("node_modules").resolve("pkg"));
+        Path main = pkg.resolve("main.js");
+        Path index = pkg.resolve("index.js");
+        try {
+            Files.writeString(pkg.resolve("package.json"), "{\"main\": \"main.js\"}");
+            Files.writeString(main, "exports.foo = 1;");
+            Map<String, String> options = new HashMap<>();
+            options.put(COMMONJS_REQUIRE_NAME, "true");
+            options.put(COMMONJS_REQUIRE_CWD_NAME, root.toAbsolutePath().toString());
+            options.put(COMMONJS_RESOLUTION_CACHE_NAME, "true");
+            options.put(DEBUG_BUILTIN_NAME, "true");
+            try (Context cx = testContext(System.out, System.err, options)) {
+                assertEquals(1, cx.eval(ID, "require('pkg').foo").asInt());
+                Value stats = cx.eval(ID, "require('pkg').foo; Debug.commonJSResolutionCacheStats()");
+                assertEquals(1, stats.getMember("hits").asInt());
+                assertEquals(1, stats.getMember("misses").asInt());
+                assertTrue(stats.getMember("probesSaved").asInt() > 0);
+
+                // resolved file is gone: the cache is invalidated and the module resolved again
+                Files.delete(main);
+                Files.writeString(pkg.resolve("package.json"), "{\"main\": \"index.js\"}");
+                Files.writeString(index, "exports.foo = 2;");
+                assertEquals(2, cx.eval(ID, "require('pkg').foo").asInt());
+                assertEquals(1, cx.eval(ID, "Debug.commonJSResolutionCacheStats().invalidations").asInt());
+            }
+        } finally {
+            Files.deleteIfExists(main);
+            Files.deleteIfExists(index);
+            Files.delete(pkg.resolve("package.json"));
+            Files.delete(pkg);
+            Files.delete(pkg.getParent());
+            Files.delete(root);
+        }
+    }
+
+    @Test
+    public void resolutionCacheRevalidatesMissingModules() throws IOException {
+        Path root = Files.createTempDirectory("commonjs");
+        Path nodeModules = root.resolve("node_modules");
+        Path late = nodeModules.resolve("late.js");
+        try {
+            Map<String, String> options = new HashMap<>();
+            options.put(COMMONJS_REQUIRE_NAME, "true");
+            options.put(COMMONJS_REQUIRE_CWD_NAME, root.toAbsolutePath().toString());
+            options.put(COMMONJS_RESOLUTION_CACHE_NAME, "true");
+            options.put(DEBUG_BUILTIN_NAME, "true");
+            String tryRequire = "(function() { try { return require('late').foo; } catch (e) { return -1; } })()";
+            try (Context cx = testContext(System.out, System.err, options)) {
+                assertEquals(-1, cx.eval(ID, tryRequire).asInt());
+                assertEquals(-1, cx.eval(ID, tryRequire).asInt());
+                assertEquals(1, cx.eval(ID, "Debug.commonJSResolutionCacheStats().hits").asInt());
+
+                // the missing module is found once its directory has been modified
+                FileTime lastModified = Files.getLastModifiedTime(root);
+                Files.createDirectory(nodeModules);
+                Files.writeString(late, "exports.foo = 1;");
+                Files.setLastModifiedTime(root, FileTime.fromMillis(lastModified.toMillis() + 2000));
+                assertEquals(1, cx.eval(ID, tryRequire).asInt());
+                assertEquals(0, cx.eval(ID, "Debug.commonJSResolutionCacheStats().invalidations").asInt());
+            }
+        } finally {
+            Files.deleteIfExists(late);
+            Files.deleteIfExists(nodeModules);
+            Files.delete(root);
+        }
+    }
 }
@@ -169,4 +169,29 @@ public class GlobalBuiltinTest extends JSTest {
             assertEquals("hello world", baos.toString(StandardCharsets.UTF_8));
         }
     }
+
+    @Test
+    public void testLazyGlobalNamespaces() {
+        try (Context ctx = JSTest.newContextBuilder().option(JSContextOptions.INTL_402_NAME, "true").build()) {
+            String check = "function check(name) {\n" +
+                            "  var desc = Object.getOwnPropertyDescriptor(globalThis, name);\n" +
+                            "  return typeof desc.value === 'object' && desc.writable && !desc.enumerable && desc.configurable && desc.value === globalThis[name];\n" +
+                            "}\n" +
+                            "['Reflect', 'Atomics', 'Intl'].every(check);";
+            assertTrue(ctx.eval(JavaScriptLanguage.ID, check).asBoolean());
+        }
+        try (Context ctx = JSTest.newContextBuilder().build()) {
+            // assignment and deletion before first access
+            assertTrue(ctx.eval(JavaScriptLanguage.ID, "Atomics = 42; delete Reflect; Atomics === 42 && typeof Reflect === 'undefined';").asBoolean());
+        }
+        try (Context ctx = JSTest.newContextBuilder().build()) {
+            // attribute changes keep the original value
+            assertTrue(ctx.eval(JavaScriptLanguage.ID, "Object.defineProperty(globalThis, 'Reflect', {enumerable: true});" +
+                            "Object.keys(globalThis).includes('Reflect') && Reflect.apply(Math.max, null, [1, 2]) === 2 && Reflect === globalThis.Reflect;").asBoolean());
+        }
+        try (Context ctx = JSTest.newContextBuilder().build()) {
+            assertTrue(ctx.eval(JavaScriptLanguage.ID, "Object.freeze(globalThis); (function() { var desc = Object.getOwnPropertyDescriptor(globalThis, 'Atomics');" +
+                            "return !desc.writable && !desc.configurable && desc.value[Symbol.toStringTag] === 'Atomics'; })();").asBoolean());
+        }
+    }
 }
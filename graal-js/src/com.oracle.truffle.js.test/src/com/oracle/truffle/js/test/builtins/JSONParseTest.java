@@ -44,12 +44,17 @@ import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Value;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.oracle.truffle.js.runtime.JSContextOptions;
 import com.oracle.truffle.js.test.JSTest;
 
 public class JSONParseTest {
@@ -63,6 +68,39 @@ public class JSONParseTest {
         }
     }
 
+    @Test
+    public void testJSONParseDecimals() {
+        String[] numbers = {"0.5", "-0.0", "0e5", "1.25e3", "1E-7", "-3.14159", "0.1", "0.30000000000000004", "1e22", "1e23", "1e-22", "1e-23",
+                        "123456789012345", "1234567890123456", "12345678901234567", "99999999999999.9", "999999999999999e-5", "0.000001234",
+                        "2.2250738585072014e-308", "1.7976931348623157e308", "5e-324", "123.456e-10"};
+        try (Context context = JSTest.newContextBuilder().build()) {
+            for (String number : numbers) {
+                // Number() uses a different parser than JSON.parse()
+                context.getBindings(ID).putMember("n", number);
+                assertTrue(number, context.eval(ID, "Object.is(JSON.parse(n), Number(n)) && Object.is(JSON.parse('[' + n + ']')[0], Number(n))").asBoolean());
+            }
+        }
+    }
+
+    @Test
+    public void testJSONParseStringRuns() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value result = context.eval(ID, "JSON.stringify(JSON.parse('  {\\n    \"a\\\\u0041\\\\n\": \"x\\\\\"y\",\\n\\t\"b\": [\"\\\\\\\\\", \"plain\"]   }  '))");
+            assertEquals("{\"aA\\n\":\"x\\\"y\",\"b\":[\"\\\\\",\"plain\"]}", result.asString());
+        }
+    }
+
+    @Test
+    public void testJSONParseRepeatedKeys() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String records = "String.raw`[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"},{\"id\":3,\"nam\":\"c\"},{\"id\":4,\"name\":\"d\",\"id\":5}," +
+                            "{\"__proto__\":1,\"2\":0,\"1\":0},{\"\\u0069d\":6,\"name\":\"e\"},{\"i\\\"d\":7},{\"i\\\"d\":8},{\"x\":{\"id\":9}},{\"x\":{\"id\":10,\"name\":\"f\"}}]`";
+            Value result = context.eval(ID, "var r = JSON.parse(" + records + "); JSON.stringify(r) + ' ' + (Object.getPrototypeOf(r[4]) === Object.prototype)");
+            assertEquals("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"},{\"id\":3,\"nam\":\"c\"},{\"id\":5,\"name\":\"d\"}," +
+                            "{\"1\":0,\"2\":0,\"__proto__\":1},{\"id\":6,\"name\":\"e\"},{\"i\\\"d\":7},{\"i\\\"d\":8},{\"x\":{\"id\":9}},{\"x\":{\"id\":10,\"name\":\"f\"}}] true", result.asString());
+        }
+    }
+
     @Test
     public void testJSONParseFail() {
         try (Context context = JSTest.newContextBuilder().build()) {
@@ -100,4 +138,125 @@ public class JSONParseTest {
         }
     }
 
+    private static final String STREAM_INPUT = "{\"a\": [1, -0, 2.5e2, 12345678901234567, true, null], \"\u00fc\": \"\u65e5\u672c\\n\\u0041\"}";
+
+    private static Context newStreamContext() {
+        return newStreamContext(false);
+    }
+
+    private static Context newStreamContext(boolean nashornCompat) {
+        Context context = JSTest.newContextBuilder().option(JSContextOptions.JSON_STREAM_NAME, "true").//
+                        option(JSContextOptions.NASHORN_COMPATIBILITY_MODE_NAME, String.valueOf(nashornCompat)).build();
+        context.eval(ID, "function utf8(s) { var b = unescape(encodeURIComponent(s)); var a = new Uint8Array(b.length);" +
+                        "for (var i = 0; i < b.length; i++) { a[i] = b.charCodeAt(i); } return a; }");
+        return context;
+    }
+
+    @Test
+    public void testJSONParseStreamBuffer() {
+        try (Context context = newStreamContext()) {
+            context.getBindings(ID).putMember("input", STREAM_INPUT);
+            context.eval(ID, "var bytes = utf8(input);");
+            String expected = context.eval(ID, "JSON.stringify(JSON.parse(input))").asString();
+            assertEquals(expected, context.eval(ID, "JSON.stringify(JSON.parseStream(bytes))").asString());
+            assertEquals(expected, context.eval(ID, "JSON.stringify(JSON.parseStream(bytes.buffer))").asString());
+            assertEquals(expected, context.eval(ID, "JSON.stringify(JSON.parseStream(new DataView(bytes.buffer)))").asString());
+            assertTrue(context.eval(ID, "Object.is(JSON.parseStream(bytes).a[1], -0)").asBoolean());
+            assertEquals("{\"a\":10,\"b\":[20]}", context.eval(ID, "JSON.stringify(JSON.parseStream(utf8('{\"a\":1,\"b\":[2]}'), " +
+                            "(k, v) => typeof v === 'number' ? v * 10 : v))").asString());
+        }
+    }
+
+    @Test
+    public void testJSONParseStreamChunks() {
+        try (Context context = newStreamContext()) {
+            context.getBindings(ID).putMember("input", STREAM_INPUT);
+            // split into 3-byte chunks so that multi-byte characters span chunk boundaries
+            context.eval(ID, "var bytes = utf8(input); var chunks = [];" +
+                            "for (var i = 0; i < bytes.length; i += 3) { chunks.push(bytes.slice(i, i + 3)); }");
+            String expected = context.eval(ID, "JSON.stringify(JSON.parse(input))").asString();
+            assertEquals(expected, context.eval(ID, "JSON.stringify(JSON.parseStream(chunks))").asString());
+            assertEquals("[1,2,\"abc\"]", context.eval(ID, "JSON.stringify(JSON.parseStream(['[1,', '2', ',\"ab', 'c\"]']))").asString());
+        }
+    }
+
+    @Test
+    public void testJSONParseStreamInputStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        try (Context context = newStreamContext()) {
+            context.getBindings(ID).putMember("stream", new ByteArrayInputStream(STREAM_INPUT.getBytes(StandardCharsets.UTF_8)) {
+                @Override
+                public void close() {
+                    closed.set(true);
+                }
+            });
+            context.getBindings(ID).putMember("input", STREAM_INPUT);
+            String expected = context.eval(ID, "JSON.stringify(JSON.parse(input))").asString();
+            assertEquals(expected, context.eval(ID, "JSON.stringify(JSON.parseStream(stream))").asString());
+        }
+        // the stream belongs to the caller
+        assertTrue(!closed.get());
+    }
+
+    @Test
+    public void testJSONParseStreamLargeInput() {
+        try (Context context = newStreamContext()) {
+            // values, keys and strings that span the boundaries of the input window
+            Value result = context.eval(ID, "var parts = [];" +
+                            "for (var i = 0; i < 5000; i++) { parts.push('{\"key' + (i % 7) + '\": [' + i + '.25e-3, -' + (i + 1) + '123456789012345678, \"s\\u00e4' + i + '\"]}'); }" +
+                            "parts.push(JSON.stringify('x'.repeat(100000) + '\\n\u00e4' + 'y'.repeat(30000)));" +
+                            "var input = '[' + parts.join(',\\n  ') + ']';" +
+                            "var chunks = []; for (var i = 0; i < input.length; i += 1000) { chunks.push(input.substring(i, i + 1000)); }" +
+                            "[JSON.stringify(JSON.parse(input)) === JSON.stringify(JSON.parseStream(utf8(input))), " +
+                            "JSON.stringify(JSON.parse(input)) === JSON.stringify(JSON.parseStream(chunks))]");
+            assertTrue(result.getArrayElement(0).asBoolean());
+            assertTrue(result.getArrayElement(1).asBoolean());
+        }
+    }
+
+    @Test
+    public void testJSONParseStreamNumbers() {
+        String[] numbers = {"0.1", "1e23", "2.2250738585072011e-308", "9007199254740993", "123456789012345678901234567890", "-1.7976931348623157e308", "4.9e-324", "1E+2", "-0.0"};
+        try (Context context = newStreamContext()) {
+            for (String number : numbers) {
+                context.getBindings(ID).putMember("input", number);
+                assertTrue(number, context.eval(ID, "Object.is(JSON.parse(input), JSON.parseStream(utf8(input)))").asBoolean());
+            }
+        }
+    }
+
+    @Test
+    public void testJSONParseStreamClosesIterator() {
+        try (Context context = newStreamContext()) {
+            Value closed = context.eval(ID, "var closed = 0;" +
+                            "var chunks = { [Symbol.iterator]() { var i = 0; return { next() { return { done: false, value: i++ === 0 ? '[1, x' : ' ' }; }, return() { closed++; return {}; } }; } };" +
+                            "try { JSON.parseStream(chunks); } catch (e) { if (!(e instanceof SyntaxError)) throw e; } closed");
+            assertEquals(1, closed.asInt());
+        }
+    }
+
+    @Test
+    public void testJSONParseStreamErrors() {
+        assertStreamErrors(false);
+    }
+
+    @Test
+    public void testJSONParseStreamErrorsNashornCompat() {
+        assertStreamErrors(true);
+    }
+
+    private static void assertStreamErrors(boolean nashornCompat) {
+        String[] inputs = {"[1,", "{\"a\" 1}", "[01]", "[1.]", "nul", "[1] x", "\"\\x\"", "{1:2}", "- 43", "[1e]", "[1.5.2]", "\"\\u12\"", "{\"a\":1,}", "[\"a\u0001\"]", ""};
+        try (Context context = newStreamContext(nashornCompat)) {
+            for (String input : inputs) {
+                context.getBindings(ID).putMember("input", input);
+                Value messages = context.eval(ID, "var m = [];" +
+                                "try { JSON.parse(input); } catch (e) { m.push(e.message); }" +
+                                "try { JSON.parseStream(utf8(input)); } catch (e) { m.push(e.constructor.name, e.message); } m");
+                assertEquals(input, 3, messages.getArraySize());
+                assertEquals(input, "SyntaxError", messages.getArrayElement(1).asString());
+                assertEquals(input, messages.getArrayElement(0).asString(), messages.getArrayElement(2).asString());
+            }
+        }
+    }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class JSONStringifyTest {
+
+    private static String eval(String code) {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            return context.eval(ID, code).asString();
+        }
+    }
+
+    @Test
+    public void testStringifyRecords() {
+        assertEquals("{\"1\":null,\"2\":true,\"id\":4,\"k\\\"\\n\":\"v\"}",
+                        eval("var a = []; for (var i = 0; i < 5; i++) a.push({id: i, 'k\"\\n': 'v', 2: true, 1: null, u: undefined, f: function() {}}); JSON.stringify(a); JSON.stringify(a[4])"));
+        assertEquals("{\"a\":1,\"b\":2}", eval("JSON.stringify({get a() { return 1; }, b: 2})"));
+        assertEquals("{\"x\":1}", eval("var o = Object.create(null); o.x = 1; JSON.stringify(o)"));
+        assertEquals("{\"b\":2}", eval("JSON.stringify({a: 1, b: 2}, (k, v) => k === 'a' ? undefined : v)"));
+        assertEquals("{\n \"a\": 1,\n \"b\": [\n  1\n ]\n}", eval("JSON.stringify({a: 1, b: [1]}, null, 1)"));
+    }
+
+    @Test
+    public void testStringifyToJSON() {
+        assertEquals("{\"a\":{\"x\":1},\"b\":{\"x\":2}}|\"t\"|{\"x\":1,\"y\":\"own\"}|{\"a\":1,\"b\":\"late\"}", eval("" +
+                        "var o = {a: {x: 1}, b: {x: 2}};\n" +
+                        "var r1 = JSON.stringify(o);\n" +
+                        "Object.prototype.toJSON = function() { return 't'; };\n" +
+                        "var r2 = JSON.stringify(o);\n" +
+                        "delete Object.prototype.toJSON;\n" +
+                        "var p = {x: 1, y: {toJSON() { return 'own'; }}};\n" +
+                        "var q = {a: {toJSON() { Object.prototype.toJSON = function() { return 'late'; }; return 1; }}, b: {x: 2}};\n" +
+                        "var r3 = JSON.stringify(q);\n" +
+                        "delete Object.prototype.toJSON;\n" +
+                        "[r1, r2, JSON.stringify(p), r3].join('|')"));
+    }
+
+    @Test
+    public void testStringifyModifiedDuringSerialization() {
+        assertEquals("{\"a\":1,\"c\":\"g\"}", eval("" +
+                        "var o = {a: {toJSON() { delete o.b; Object.defineProperty(o, 'c', {get() { return 'g'; }, enumerable: true}); return 1; }}, b: 2, c: 3};\n" +
+                        "JSON.stringify(o)"));
+    }
+
+    @Test
+    public void testStringifySharedEngine() throws Exception {
+        // The contexts share the code and thus the plan cache, but not Object.prototype.
+        Source source = Source.create(ID, "var r = []; for (var i = 0; i < 100; i++) r.push(JSON.stringify({a: i, b: {c: i}})); r[99]");
+        try (Engine engine = Engine.create()) {
+            Thread[] threads = new Thread[4];
+            String[] results = new String[threads.length];
+            for (int t = 0; t < threads.length; t++) {
+                final int index = t;
+                threads[t] = new Thread(() -> {
+                    try (Context context = JSTest.newContextBuilder().engine(engine).build()) {
+                        if (index % 2 == 1) {
+                            context.eval(ID, "Object.prototype.toJSON = function() { return 'c' in this ? 't' : this; };");
+                        }
+                        for (int i = 0; i < 20; i++) {
+                            results[index] = context.eval(source).asString();
+                        }
+                    } catch (Throwable e) {
+                        results[index] = e.toString();
+                    }
+                });
+                threads[t].start();
+            }
+            for (int t = 0; t < threads.length; t++) {
+                threads[t].join();
+                assertEquals(t % 2 == 1 ? "{\"a\":99,\"b\":\"t\"}" : "{\"a\":99,\"b\":{\"c\":99}}", results[t]);
+            }
+        }
+    }
+
+    private static final String STREAM_VALUE = "var value = {records: [], text: '\u00fc\u65e5\ud83d\ude00\\ud800\"'};" +
+                    "for (var i = 0; i < 3000; i++) { value.records.push({id: i, name: 'n\u00e4me' + i, tags: ['\ud83d\ude00', null]}); }";
+
+    private static Context newStreamContext() {
+        Context context = JSTest.newContextBuilder().option(JSContextOptions.JSON_STREAM_NAME, "true").build();
+        context.eval(ID, STREAM_VALUE);
+        return context;
+    }
+
+    @Test
+    public void testStringifyStreamBuffer() {
+        try (Context context = newStreamContext()) {
+            String expected = context.eval(ID, "JSON.stringify(value, null, 2)").asString();
+            byte[] expectedBytes = expected.getBytes(StandardCharsets.UTF_8);
+            Value result = context.eval(ID, "var bytes = new Uint8Array(" + (expectedBytes.length + 10) + "); var n = JSON.stringifyStream(value, bytes, null, 2); [n, bytes]");
+            assertEquals(expectedBytes.length, result.getArrayElement(0).asInt());
+            Value bytes = result.getArrayElement(1);
+            for (int i = 0; i < expectedBytes.length; i++) {
+                assertEquals(expectedBytes[i], (byte) bytes.getArrayElement(i).asInt());
+            }
+            assertTrue(context.eval(ID, "try { JSON.stringifyStream(value, new ArrayBuffer(100)); false; } catch (e) { e instanceof RangeError; }").asBoolean());
+            assertTrue(context.eval(ID, "JSON.stringifyStream(undefined, new ArrayBuffer(10)) === undefined").asBoolean());
+            assertEquals(7, context.eval(ID, "JSON.stringifyStream({a: 1, b: 2}, new DataView(new ArrayBuffer(10)), ['a'])").asInt());
+        }
+    }
+
+    @Test
+    public void testStringifyStreamHost() {
+        try (Context context = newStreamContext()) {
+            String expected = context.eval(ID, "JSON.stringify(value)").asString();
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            context.getBindings(ID).putMember("stream", stream);
+            context.eval(ID, "JSON.stringifyStream(value, stream)");
+            assertEquals(expected, new String(stream.toByteArray(), StandardCharsets.UTF_8));
+
+            ByteBuffer buffer = ByteBuffer.allocate(expected.length() * 4);
+            buffer.put((byte) 'x');
+            context.getBindings(ID).putMember("buffer", buffer);
+            int length = context.eval(ID, "JSON.stringifyStream(value, buffer, (k, v) => v)").asInt();
+            assertEquals(length + 1, buffer.position());
+            assertEquals("x" + expected, new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+        }
+    }
+}
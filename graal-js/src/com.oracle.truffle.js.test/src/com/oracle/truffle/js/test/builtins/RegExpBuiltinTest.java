@@ -41,12 +41,14 @@
 package com.oracle.truffle.js.test.builtins;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.Value;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
 import com.oracle.truffle.js.test.JSTest;
 
 public class RegExpBuiltinTest {
@@ -65,4 +67,56 @@ public class RegExpBuiltinTest {
         }
     }
 
+    @Test
+    public void testCompiledRegexCacheSharedAcrossContexts() {
+        // Use enough distinct patterns for the RegExp constructor to stop caching them in the AST.
+        String compile = "var m = []; for (var i = 0; i < 16; i++) { m.push(new RegExp('[a-z]+(' + i + '\\\\d*)').exec('abc' + i + '9')[1]); } m[15];";
+        String stats = "var s = Debug.regexCacheStats(); [s.hits, s.misses];";
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            long hits;
+            long misses;
+            try (Context context = JSTest.newContextBuilder().engine(engine).option(JSContextOptions.DEBUG_BUILTIN_NAME, "true").build()) {
+                Assert.assertEquals("159", context.eval(JavaScriptLanguage.ID, compile).asString());
+                Value result = context.eval(JavaScriptLanguage.ID, stats);
+                hits = result.getArrayElement(0).asLong();
+                misses = result.getArrayElement(1).asLong();
+                Assert.assertTrue(misses > 0);
+            }
+            // A second context of the same engine should find the compiled regex in the cache.
+            try (Context context = JSTest.newContextBuilder().engine(engine).option(JSContextOptions.DEBUG_BUILTIN_NAME, "true").build()) {
+                Assert.assertEquals("159", context.eval(JavaScriptLanguage.ID, compile).asString());
+                Value result = context.eval(JavaScriptLanguage.ID, stats);
+                Assert.assertTrue(result.getArrayElement(0).asLong() > hits);
+                Assert.assertEquals(misses, result.getArrayElement(1).asLong());
+            }
+        }
+    }
+
+    @Test
+    public void testSharedCompiledRegexKeepsStatePerContext() {
+        String create = "var re = new RegExp('(\\\\d)(?<w>[a-z])', 'g'); var input = '1a2b3c';";
+        String exec = "var m = re.exec(input); m === null ? 'null' : m[0] + '@' + m.index + ':' + re.lastIndex + ':' + m.groups.w + ':' + RegExp.$1;";
+        String stats = "Debug.regexCacheStats().misses";
+        try (Engine engine = JSTest.newEngineBuilder().build();
+                        Context context1 = JSTest.newContextBuilder().engine(engine).option(JSContextOptions.DEBUG_BUILTIN_NAME, "true").build();
+                        Context context2 = JSTest.newContextBuilder().engine(engine).option(JSContextOptions.DEBUG_BUILTIN_NAME, "true").build()) {
+            context1.eval(JavaScriptLanguage.ID, create);
+            long misses = context1.eval(JavaScriptLanguage.ID, stats).asLong();
+            context2.eval(JavaScriptLanguage.ID, create);
+            // the second context reuses the compiled regex of the first one
+            Assert.assertEquals(misses, context2.eval(JavaScriptLanguage.ID, stats).asLong());
+
+            // lastIndex, match results and legacy static properties are not shared
+            Assert.assertEquals("1a@0:2:a:1", context1.eval(JavaScriptLanguage.ID, exec).asString());
+            Assert.assertEquals("2b@2:4:b:2", context1.eval(JavaScriptLanguage.ID, exec).asString());
+            Assert.assertEquals("1a@0:2:a:1", context2.eval(JavaScriptLanguage.ID, exec).asString());
+            Assert.assertEquals("3c@4:6:c:3", context1.eval(JavaScriptLanguage.ID, exec).asString());
+            context2.eval(JavaScriptLanguage.ID, "re.lastIndex = 4;");
+            Assert.assertEquals("3c@4:6:c:3", context2.eval(JavaScriptLanguage.ID, exec).asString());
+            Assert.assertEquals("null", context1.eval(JavaScriptLanguage.ID, exec).asString());
+            Assert.assertEquals(0, context1.eval(JavaScriptLanguage.ID, "re.lastIndex").asInt());
+            Assert.assertEquals(6, context2.eval(JavaScriptLanguage.ID, "re.lastIndex").asInt());
+            Assert.assertEquals("3", context1.eval(JavaScriptLanguage.ID, "RegExp.$1").asString());
+        }
+    }
 }
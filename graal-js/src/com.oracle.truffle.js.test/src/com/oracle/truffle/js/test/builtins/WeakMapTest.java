@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.util.WeakMap;
+import com.oracle.truffle.js.test.JSTest;
+
+public class WeakMapTest {
+
+    @Test
+    public void testOperations() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String code = "var m1 = new WeakMap(), m2 = new WeakMap(), k1 = {}, k2 = {};" +
+                            "m1.set(k1, 1); m2.set(k1, 2); m1.set(k2, 3); m1.set(k1, 4);" +
+                            "var r = [m1.get(k1), m2.get(k1), m1.get(k2), m2.get(k2), m1.has(k1), m2.has(k2)];" +
+                            "r.push(m1.delete(k1), m1.delete(k1), m1.has(k1), m2.get(k1), m1.get(k2));" +
+                            "r.join();";
+            assertEquals("4,2,3,,true,false,true,false,false,2,3", context.eval(ID, code).asString());
+        }
+    }
+
+    @Test
+    public void testKeyShapeUnchanged() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            JSDynamicObject key = unwrapJSObject(context, context.eval(ID, "var key = {a: 1}; key;"));
+            Shape shape = key.getShape();
+            context.eval(ID, "var map = new WeakMap(); map.set(key, 42); map.get(key);");
+            assertSame(shape, key.getShape());
+        }
+    }
+
+    @Test
+    public void testKeyIsCollected() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(ID, "var map = new WeakMap(); var key = {}; map.set(key, {});");
+            WeakReference<JSDynamicObject> keyRef = new WeakReference<>(unwrapJSObject(context, context.eval(ID, "key")));
+            context.eval(ID, "key = undefined; _testObject = undefined;");
+            JSTest.assertGc("WeakMap key was not collected", keyRef);
+            assertEquals("object", context.eval(ID, "typeof map").asString());
+        }
+    }
+
+    @Test
+    public void testValueReferencingKeyIsCollectedWithMap() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(ID, "var map = new WeakMap(); var key = {}; map.set(key, {key: key});");
+            WeakReference<JSDynamicObject> keyRef = new WeakReference<>(unwrapJSObject(context, context.eval(ID, "key")));
+            context.eval(ID, "key = undefined; map = undefined; _testObject = undefined;");
+            JSTest.assertGc("key referenced only by an unreachable WeakMap was not collected", keyRef);
+        }
+    }
+
+    @Test
+    public void testStaleEntriesExpungedOnLookup() throws InterruptedException {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            JSObject key = (JSObject) unwrapJSObject(context, context.eval(ID, "({})"));
+            JSObject otherKey = (JSObject) unwrapJSObject(context, context.eval(ID, "({})"));
+            WeakMap map = new WeakMap();
+            map.put(key, "value");
+            WeakReference<JSObject> keyRef = new WeakReference<>(key);
+            key = null;
+            context.eval(ID, "_testObject = undefined;");
+            JSTest.assertGc("WeakMap key was not collected", keyRef);
+            assertFalse(map.containsKey(otherKey));
+            // The collected key is enqueued by the reference handler thread, possibly a bit later.
+            for (int i = 0; i < 100 && map.hasEntries(); i++) {
+                Thread.sleep(10);
+                assertFalse(map.containsKey(otherKey));
+            }
+            assertFalse(map.hasEntries());
+        }
+    }
+
+    private static JSDynamicObject unwrapJSObject(Context c, Value value) {
+        final String key = "_testObject";
+        c.getBindings(ID).putMember(key, value);
+        return (JSDynamicObject) JSObject.get(JavaScriptLanguage.getJSRealm(c).getGlobalObject(), Strings.fromJavaString(key));
+    }
+}
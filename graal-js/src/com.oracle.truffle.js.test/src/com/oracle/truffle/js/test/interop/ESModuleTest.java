@@ -43,6 +43,7 @@ package com.oracle.truffle.js.test.interop;
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.MODULE_MIME_TYPE;
 import static com.oracle.truffle.js.runtime.JSContextOptions.ESM_EVAL_RETURNS_EXPORTS_NAME;
+import static com.oracle.truffle.js.runtime.JSContextOptions.MODULE_PARSE_THREADS_NAME;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -70,6 +71,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.io.FileSystem;
@@ -593,4 +595,50 @@ public class ESModuleTest {
             deleteFiles(allFilesArray);
         }
     }
+
+    /**
+     * Requested modules are parsed in the background with <code>module-parse-threads</code>, syntax
+     * errors are still reported when the module is loaded.
+     */
+    @Test
+    public void testModuleParseThreads() throws IOException {
+        Path dir = Files.createTempDirectory("esm");
+        try {
+            int count = 20;
+            for (int i = 0; i < count; i++) {
+                StringBuilder code = new StringBuilder();
+                for (int j = 2 * i + 1; j <= 2 * i + 2 && j < count; j++) {
+                    code.append("import { v" + j + " } from './m" + j + ".mjs';\n");
+                }
+                code.append("export const v" + i + " = (/a+/.test('a') ? " + i + " : 0)");
+                for (int j = 2 * i + 1; j <= 2 * i + 2 && j < count; j++) {
+                    code.append(" + v" + j);
+                }
+                code.append(";\n");
+                Files.writeString(dir.resolve("m" + i + ".mjs"), code);
+            }
+            Files.writeString(dir.resolve("main.mjs"), "import { v0 } from './m0.mjs';\nexport const sum = v0;\n");
+            Files.writeString(dir.resolve("badregexp.mjs"), "import './m1.mjs';\nimport './regexp.mjs';\n");
+            Files.writeString(dir.resolve("regexp.mjs"), "export const re = /(/;\n");
+
+            try (Context context = JSTest.newContextBuilder().option(MODULE_PARSE_THREADS_NAME, "2").option(ESM_EVAL_RETURNS_EXPORTS_NAME, "true").allowIO(IOAccess.ALL).build()) {
+                Value exports = context.eval(Source.newBuilder(ID, dir.resolve("main.mjs").toFile()).build());
+                assertEquals(count * (count - 1) / 2, exports.getMember("sum").asInt());
+
+                try {
+                    context.eval(Source.newBuilder(ID, dir.resolve("badregexp.mjs").toFile()).build());
+                    Assert.fail("expected SyntaxError");
+                } catch (PolyglotException e) {
+                    assertTrue(e.isSyntaxError());
+                }
+            }
+        } finally {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Array;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantEmptyArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedObjectArray;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.test.JSTest;
+
+public class ArrayAllocationSiteTest {
+
+    private static JSDynamicObject global(Context context, String name) {
+        return (JSDynamicObject) JSObject.get(JavaScriptLanguage.getJSRealm(context).getGlobalObject(), Strings.fromJavaString(name));
+    }
+
+    private static ScriptArray arrayType(Context context, String name) {
+        return JSAbstractArray.arrayGetArrayType(global(context, name));
+    }
+
+    private static int arrayCapacity(Context context, String name) {
+        return Array.getLength(JSAbstractArray.arrayGetArray(global(context, name)));
+    }
+
+    private static Context newContext() {
+        return JSTest.newContextBuilder().option(JSContextOptions.ARRAY_ALLOCATION_SITE_FEEDBACK_NAME, "true").build();
+    }
+
+    @Test
+    public void testPresizedElementKind() {
+        try (Context context = newContext()) {
+            context.enter();
+            context.eval(ID, "function f() { return []; } var a = f(); for (var i = 0; i < 1000; i++) { a.push(i + 0.5); } var b = f();");
+            assertTrue(arrayType(context, "b") instanceof ZeroBasedDoubleArray);
+            assertTrue(arrayCapacity(context, "b") >= 1000);
+            assertEquals(0, context.eval(ID, "b.length").asInt());
+            assertEquals("", context.eval(ID, "b.join()").asString());
+            assertEquals("1,2.5", context.eval(ID, "b.push(1, 2.5); b.join()").asString());
+            context.leave();
+        }
+    }
+
+    @Test
+    public void testElementKindGeneralization() {
+        try (Context context = newContext()) {
+            context.enter();
+            context.eval(ID, "function f() { return []; } var a = f(); a.push(1, 2, 3); a.push('x'); var b = f(); b.push(4, 5);");
+            assertTrue(arrayType(context, "b") instanceof ZeroBasedObjectArray);
+            assertEquals("4,5", context.eval(ID, "b.join()").asString());
+            assertEquals("number", context.eval(ID, "typeof b[0]").asString());
+            context.leave();
+        }
+    }
+
+    @Test
+    public void testDecay() {
+        try (Context context = newContext()) {
+            context.enter();
+            context.eval(ID, "function f() { return []; } var a = f(); for (var i = 0; i < 1000; i++) { a.push(i); }");
+            assertTrue(arrayCapacity(context, "a") >= 1000);
+            context.eval(ID, "for (var i = 0; i < 1000; i++) { f().push(i); } var b = f();");
+            assertTrue(arrayCapacity(context, "b") <= JSConfig.InitialArraySize);
+            context.leave();
+        }
+    }
+
+    @Test
+    public void testCapacityLimit() {
+        try (Context context = newContext()) {
+            context.enter();
+            context.eval(ID, "function f() { return []; } var a = f(); for (var i = 0; i < 100000; i++) { a.push(i); } var b = f();");
+            assertTrue(arrayCapacity(context, "b") < 100000);
+            assertTrue(arrayCapacity(context, "b") <= 1024);
+            context.leave();
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.enter();
+            context.eval(ID, "function f() { return []; } var a = f(); for (var i = 0; i < 1000; i++) { a.push(i + 0.5); } var b = f();");
+            assertTrue(arrayType(context, "b") instanceof ConstantEmptyArray);
+            context.leave();
+        }
+    }
+}
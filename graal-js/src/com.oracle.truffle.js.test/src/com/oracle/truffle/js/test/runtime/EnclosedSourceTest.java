@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.js.parser.ErrorManager;
+import com.oracle.js.parser.Parser;
+import com.oracle.js.parser.ScriptEnvironment;
+import com.oracle.js.parser.Source;
+import com.oracle.js.parser.ir.ExpressionStatement;
+import com.oracle.js.parser.ir.FunctionNode;
+import com.oracle.js.parser.ir.Statement;
+import com.oracle.js.parser.ir.VarNode;
+import com.oracle.truffle.js.runtime.JSConfig;
+
+/**
+ * Sources whose content is enclosed in a prologue and an epilogue, which are scanned as one without
+ * being concatenated.
+ */
+public class EnclosedSourceTest {
+
+    private static FunctionNode parse(Source source) {
+        ScriptEnvironment env = ScriptEnvironment.builder().ecmaScriptVersion(JSConfig.LatestECMAScriptVersion).build();
+        return new Parser(env, source, new ErrorManager.ThrowErrorManager()).parse();
+    }
+
+    @Test
+    public void testContent() {
+        Source source = Source.sourceFor("test", "(function () {", "\nreturn 1;", "\n})", false);
+        assertEquals("(function () {\nreturn 1;\n})", source.getContent());
+        assertEquals(source.getContent().length(), source.getLength());
+        assertEquals("{\nreturn", source.getString(13, 8));
+        assertEquals("1;\n}", source.getString(22, 4));
+        assertEquals(2, source.getLine(16));
+        assertEquals(3, source.getLine(25));
+        assertEquals("return 1;", source.getSourceLine(16));
+    }
+
+    @Test
+    public void testFunctionWrapper() {
+        Source source = Source.sourceFor("test", "(function (exports) { ", "'use strict'; exports.x = 1;", "\n})", false);
+        FunctionNode program = parse(source);
+        FunctionNode function = (FunctionNode) ((ExpressionStatement) program.getBody().getStatements().get(0)).getExpression();
+        assertTrue(function.isStrict());
+        assertEquals(1, function.getParameters().size());
+        assertEquals(2, function.getBody().getStatements().size());
+    }
+
+    @Test
+    public void testTokensAcrossBoundaries() {
+        Source source = Source.sourceFor("test", "var a = 1; var b", "c = 2; /* comment", " */ var d = 'x';", false);
+        FunctionNode program = parse(source);
+        StringBuilder names = new StringBuilder();
+        for (Statement statement : program.getBody().getStatements()) {
+            names.append(((VarNode) statement).getName().getName()).append(' ');
+        }
+        assertEquals("a bc d ", names.toString());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.util.JSHashMap;
+
+public class JSHashMapTest {
+
+    private static List<Object> keys(JSHashMap.Cursor cursor) {
+        List<Object> result = new ArrayList<>();
+        while (cursor.advance()) {
+            result.add(cursor.getKey());
+        }
+        return result;
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        JSHashMap map = new JSHashMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v" + i);
+        }
+        map.put(50, "updated");
+        assertEquals(100, map.size());
+        assertEquals("updated", map.get(50));
+        assertEquals("updated", map.get((Object) 50));
+        assertTrue(map.has(99));
+        assertFalse(map.has(100));
+        assertFalse(map.has(99.0));
+        List<Object> keys = keys(map.getEntries());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, keys.get(i));
+        }
+    }
+
+    @Test
+    public void testRemoveAndReinsert() {
+        JSHashMap map = new JSHashMap();
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.remove(3));
+        assertFalse(map.remove(3));
+        assertTrue(map.remove((Object) 7));
+        assertNull(map.get(3));
+        map.put(3, 3);
+        assertEquals(List.of(0, 1, 2, 4, 5, 6, 8, 9, 3), keys(map.getEntries()));
+        assertEquals(9, map.size());
+    }
+
+    @Test
+    public void testCursorSurvivesCompaction() {
+        JSHashMap map = new JSHashMap();
+        for (int i = 0; i < 8; i++) {
+            map.put(i, i);
+        }
+        JSHashMap.Cursor cursor = map.getEntries();
+        assertTrue(cursor.advance());
+        assertTrue(cursor.advance());
+        assertEquals(1, cursor.getKey());
+        JSHashMap.Cursor copy = cursor.copy();
+        // delete the current and some following entries, then force a rebuild
+        for (int i = 0; i < 6; i++) {
+            map.remove(i);
+        }
+        for (int i = 8; i < 40; i++) {
+            map.put(i, i);
+        }
+        assertEquals(1, copy.getKey());
+        List<Object> rest = keys(cursor);
+        assertEquals(34, rest.size());
+        assertEquals(6, rest.get(0));
+        assertEquals(39, rest.get(33));
+        assertEquals(rest, keys(copy));
+        assertFalse(cursor.advance());
+    }
+
+    @Test
+    public void testCursorAfterClear() {
+        JSHashMap map = new JSHashMap();
+        map.put("a", 1);
+        map.put("b", 2);
+        JSHashMap.Cursor cursor = map.getEntries();
+        assertTrue(cursor.advance());
+        map.clear();
+        map.put("c", 3);
+        assertEquals(1, map.size());
+        assertEquals(List.of("c"), keys(cursor));
+    }
+
+    @Test
+    public void testExhaustedCursorStaysExhausted() {
+        JSHashMap map = new JSHashMap();
+        map.put("a", 1);
+        JSHashMap.Cursor cursor = map.getEntries();
+        assertTrue(cursor.advance());
+        assertFalse(cursor.advance());
+        map.put("b", 2);
+        assertFalse(cursor.advance());
+    }
+
+    @Test
+    public void testSmallLookups() {
+        JSHashMap map = new JSHashMap();
+        Object identityKey = new Object();
+        map.put(1, "int");
+        map.put(Strings.fromJavaString("key"), "string");
+        map.put(identityKey, "identity");
+        map.put(2, "removed");
+        map.remove(2);
+        assertTrue(map.isSmall());
+        TruffleString.EqualNode equalNode = TruffleString.EqualNode.getUncached();
+        assertEquals("int", map.getSmall(1));
+        assertNull(map.getSmall(2));
+        assertEquals("string", map.getSmall(Strings.fromJavaString("key"), equalNode));
+        assertNull(map.getSmall(Strings.fromJavaString("other"), equalNode));
+        assertEquals("identity", map.getSmallIdentity(identityKey));
+        assertNull(map.getSmallIdentity(new Object()));
+        for (int i = 10; i < 10 + JSHashMap.SMALL_MAP_SLOTS; i++) {
+            map.put(i, i);
+        }
+        assertFalse(map.isSmall());
+    }
+}
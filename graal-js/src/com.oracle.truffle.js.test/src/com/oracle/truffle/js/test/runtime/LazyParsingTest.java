@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import com.oracle.js.parser.ErrorManager;
+import com.oracle.js.parser.JSErrorType;
+import com.oracle.js.parser.Parser;
+import com.oracle.js.parser.ParserException;
+import com.oracle.js.parser.ScriptEnvironment;
+import com.oracle.js.parser.ir.FunctionNode;
+import com.oracle.js.parser.ir.VarNode;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class LazyParsingTest {
+
+    private static Context newContext() {
+        return JSTest.newContextBuilder().option(JSContextOptions.LAZY_TRANSLATION_NAME, "true").option(JSContextOptions.LAZY_PARSING_NAME, "true").build();
+    }
+
+    private static String eval(String code) {
+        try (Context context = newContext()) {
+            return context.eval(JavaScriptLanguage.ID, code).toString();
+        }
+    }
+
+    @Test
+    public void testPreparsedFunctionNode() {
+        ScriptEnvironment env = ScriptEnvironment.builder().ecmaScriptVersion(JSConfig.LatestECMAScriptVersion).lazyParsing(true).build();
+        Parser parser = new Parser(env, com.oracle.js.parser.Source.sourceFor("test", "var y = 1; function f(x) { return x + y; } (function g() {})();"),
+                        new ErrorManager.ThrowErrorManager());
+        FunctionNode program = parser.parse();
+        FunctionNode f = (FunctionNode) ((VarNode) program.getBody().getStatements().get(0)).getInit();
+        assertEquals("f", f.getName());
+        assertTrue(f.isPreparsed());
+        assertTrue(f.getBody().getStatements().isEmpty());
+        assertEquals("[y]", f.getPreparsedFunctionData().getFreeNames().toString());
+
+        FunctionNode parsed = parser.parsePreparsedFunction(f);
+        assertFalse(parsed.isPreparsed());
+        assertEquals("f", parsed.getName());
+        assertEquals(f.getStart(), parsed.getStart());
+        assertEquals(f.getFinish(), parsed.getFinish());
+        assertEquals(1, parsed.getBody().getStatements().size());
+    }
+
+    @Test
+    public void testClosures() {
+        assertEquals("16,6,15,15,15", eval("function outer(a) {\n" +
+                        "  var x = 10;\n" +
+                        "  function inner(b) { return a + b + x; }\n" +
+                        "  var fe = function named(n) { return n <= 0 ? 0 : n + named(n - 1); };\n" +
+                        "  function defaults(p = x, q = () => p + a) { return q(); }\n" +
+                        "  function deep() { return function() { return function() { return x + a; }; }; }\n" +
+                        "  return [inner(1), fe(3), deep()()(), defaults(), fe(5)];\n" +
+                        "}\n" +
+                        "outer(5).join();"));
+    }
+
+    @Test
+    public void testNames() {
+        assertEquals("anon,named,m,default", eval("var anon = function() {};\n" +
+                        "var named = function named() {};\n" +
+                        "var o = { m: function() {} };\n" +
+                        "var d = { 'default': function() {} };\n" +
+                        "[anon(), named(), o.m(), d.default()].length, [anon.name, named.name, o.m.name, d.default.name].join();"));
+    }
+
+    @Test
+    public void testEvalAndArguments() {
+        assertEquals("15,number,true,3", eval("function outer(a) {\n" +
+                        "  var x = 10;\n" +
+                        "  function withEval(s) { return eval(s); }\n" +
+                        "  function nestedEval() { return (() => eval('x + a'))(); }\n" +
+                        "  function args() { return (() => typeof arguments[0])(); }\n" +
+                        "  function self() { return (() => this)(); }\n" +
+                        "  return [withEval('x + a'), args(1), self.call(self) === self, nestedEval() - 12];\n" +
+                        "}\n" +
+                        "outer(5).join();"));
+    }
+
+    @Test
+    public void testGeneratorsAndAsync() {
+        try (Context context = newContext()) {
+            context.eval(JavaScriptLanguage.ID, "var x = 3;\n" +
+                            "var r = [];\n" +
+                            "function* gen() { yield 1; yield 2; }\n" +
+                            "async function af() { await null; return x; }\n" +
+                            "r.push(...gen());\n" +
+                            "af().then(v => { r.push(v, v + 1); });");
+            assertEquals("1,2,3,4", context.eval(JavaScriptLanguage.ID, "r.join()").toString());
+        }
+    }
+
+    @Test
+    public void testPreparsedBodyIsOnlyScanned() {
+        ScriptEnvironment env = ScriptEnvironment.builder().ecmaScriptVersion(JSConfig.LatestECMAScriptVersion).lazyParsing(true).build();
+        // The body is not parsed, so the syntax error is not detected.
+        Parser parser = new Parser(env, com.oracle.js.parser.Source.sourceFor("test", "function f(x) { return x + ; }"), new ErrorManager.ThrowErrorManager());
+        FunctionNode f = (FunctionNode) ((VarNode) parser.parse().getBody().getStatements().get(0)).getInit();
+        assertTrue(f.isPreparsed());
+        try {
+            parser.parsePreparsedFunction(f);
+            fail("expected ParserException");
+        } catch (ParserException e) {
+            assertEquals(JSErrorType.SyntaxError, e.getErrorType());
+        }
+    }
+
+    @Test
+    public void testSyntaxErrorInUncalledFunction() {
+        try (Context context = newContext()) {
+            // reported on first call
+            context.eval(JavaScriptLanguage.ID, "function f() { function g() { return 1 + ; } return g(); } 1");
+            try {
+                context.eval(JavaScriptLanguage.ID, "f()");
+                fail("expected SyntaxError");
+            } catch (PolyglotException e) {
+                assertTrue(e.isSyntaxError());
+            }
+        }
+        for (String code : new String[]{"function f() { return (1; }", "function f() { return '; }", "function f() { return `${1`; }", "function f() { return /[/; }"}) {
+            try (Context context = newContext()) {
+                // lexical errors and unbalanced brackets are reported up front
+                context.eval(JavaScriptLanguage.ID, code);
+                fail("expected SyntaxError: " + code);
+            } catch (PolyglotException e) {
+                assertTrue(e.isSyntaxError());
+            }
+        }
+    }
+
+    @Test
+    public void testEarlyErrorsReportedUpFront() {
+        for (String code : new String[]{
+                        "function f() { function g(a, a = 1) {} }",
+                        "function f() { return (a, a) => a; }",
+                        "'use strict'; function f() { function g(a, a) {} }",
+                        "'use strict'; function f() { var public = 1; }",
+                        "function f() { function g() { 'use strict'; var interface; } }",
+                        "function f() { class C { m() { var private; } } }",
+                        "function f() { let let = 1; }",
+                        "function f() { break; }",
+                        "function f() { for (;;) x; continue; }",
+                        "function f() { while (1) { function g() { break; } } }",
+                        "function f() { switch (1) { case 1: continue; } }",
+                        "function f() { a: for (;;) { break b; } }",
+                        "function f() { class C { static { return; } } }"}) {
+            try (Context context = newContext()) {
+                context.eval(JavaScriptLanguage.ID, code);
+                fail("expected SyntaxError: " + code);
+            } catch (PolyglotException e) {
+                assertTrue(e.isSyntaxError());
+            }
+        }
+    }
+
+    @Test
+    public void testStatementContextIsScanned() {
+        ScriptEnvironment env = ScriptEnvironment.builder().ecmaScriptVersion(JSConfig.LatestECMAScriptVersion).lazyParsing(true).build();
+        // The bodies are only scanned, so the trailing syntax error is not detected.
+        for (String body : new String[]{
+                        "for (;;) { if (x) break; else continue; }",
+                        "while (x) if (x) break;",
+                        "do continue; while (x);",
+                        "for (;;) { switch (x) { case 1: continue; default: break; } }",
+                        "for (;;) { try {} catch (e) { break; } }",
+                        "return [1].map((a, b) => { return a; });",
+                        "return x.public + {interface: 1}.interface + g(x, x);"}) {
+            Parser parser = new Parser(env, com.oracle.js.parser.Source.sourceFor("test", "function f(x) { " + body + " x + ; }"), new ErrorManager.ThrowErrorManager());
+            FunctionNode f = (FunctionNode) ((VarNode) parser.parse().getBody().getStatements().get(0)).getInit();
+            assertTrue(body, f.isPreparsed());
+        }
+    }
+
+    @Test
+    public void testScannedTokens() {
+        assertEquals("}],1,{a}b,2,true,0.5,x,2,true", eval("var a = 1, b = 2, c = 4, re = 'x';\n" +
+                        "function regex() { return /[}\\]]/.exec('a}]')[0] + ']'; }\n" +
+                        "function ctrl(s) { if (s) /`/.test(s); return typeof s === 'string' ? a : 0; }\n" +
+                        "function template() { return `{${ {a: 'a'}.a }}${`${b > a ? 'b' : ''}`}`; }\n" +
+                        "function division() { var d = (c) / b / 1; return d; }\n" +
+                        "function keyword() { return typeof /x/.source === 'string'; }\n" +
+                        "function property(o) { return o.default / c * b; }\n" +
+                        "function names(o) { return o?.re ?? re; }\n" +
+                        "function post() { var i = c; i++ / 2; return i-- /c * b; }\n" +
+                        "function arrow() { return [1].map(x => /1/g.test(x))[0]; }\n" +
+                        "[regex(), ctrl('`'), template(), division(), keyword(), property({'default': 1}), names(), post() - 0.5, arrow()].join();"));
+    }
+
+    @Test
+    public void testFallbackToFullParse() {
+        assertEquals("true,true,2,5", eval("var x = 5;\n" +
+                        "function strict() { 'use strict'; return this === undefined; }\n" +
+                        "function target() { return new.target === undefined; }\n" +
+                        "function ambiguous() { {}\n/2/.source; return 2; }\n" +
+                        "function withEval() { var x = 3; return eval('x + 2'); }\n" +
+                        "[strict(), target(), ambiguous(), withEval()].join();"));
+    }
+
+    @Test
+    public void testModule() throws Exception {
+        try (Context context = newContext()) {
+            Source source = Source.newBuilder(JavaScriptLanguage.ID, "let x = 1;\n" +
+                            "export function f() { return typeof import.meta + x; }\n" +
+                            "export function g() { return typeof import('dummy').catch(() => {}); }\n" +
+                            "globalThis.result = f() + ',' + g();", "test.mjs").build();
+            context.eval(source);
+            assertEquals("object1,object", context.eval(JavaScriptLanguage.ID, "result").toString());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class ParseMetricsTest {
+
+    @Test
+    public void testParseMetrics() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.PARSE_METRICS_NAME, "true").option(JSContextOptions.LAZY_TRANSLATION_NAME, "true").build()) {
+            context.eval(Source.newBuilder(JavaScriptLanguage.ID, "function used() { return 1; } function unused() { return 2; } used();", "metrics.js").buildLiteral());
+            Value metrics = context.eval(JavaScriptLanguage.ID, "Graal.parseMetrics()");
+            Value script = metrics.getMember("metrics.js");
+            assertTrue(script.getMember("parseCount").asInt() >= 1);
+            assertTrue(script.getMember("parseTime").asDouble() > 0);
+            assertTrue(script.getMember("translateTime").asDouble() > 0);
+            assertTrue(script.getMember("nodeCount").asInt() > 0);
+            assertEquals(1, script.getMember("eagerFunctions").asInt());
+            assertEquals(2, script.getMember("deferredFunctions").asInt());
+            assertEquals(1, script.getMember("onDemandFunctions").asInt());
+        }
+    }
+
+    /**
+     * The metrics are collected per engine, so they include the sources of other contexts.
+     */
+    @Test
+    public void testParseMetricsSharedByEngine() {
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            try (Context context = JSTest.newContextBuilder().engine(engine).option(JSContextOptions.PARSE_METRICS_NAME, "true").build()) {
+                context.eval(Source.newBuilder(JavaScriptLanguage.ID, "1 + 1;", "first.js").buildLiteral());
+            }
+            try (Context context = JSTest.newContextBuilder().engine(engine).option(JSContextOptions.PARSE_METRICS_NAME, "true").build()) {
+                context.eval(Source.newBuilder(JavaScriptLanguage.ID, "2 + 2;", "second.js").buildLiteral());
+                Value metrics = context.eval(JavaScriptLanguage.ID, "Graal.parseMetrics()");
+                assertTrue(metrics.hasMember("first.js"));
+                assertTrue(metrics.hasMember("second.js"));
+            }
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            assertTrue(context.eval(JavaScriptLanguage.ID, "Graal.parseMetrics === undefined").asBoolean());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.util.ConcurrentTinyLFUCache;
+import com.oracle.truffle.js.runtime.util.TinyLFUCache;
+
+public class TinyLFUCacheTest {
+
+    @Test
+    public void testSizeBound() {
+        TinyLFUCache<Integer, String> cache = new TinyLFUCache<>(64);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, String.valueOf(i));
+            assertTrue(cache.size() <= 64);
+        }
+        assertEquals(64, cache.size());
+        assertEquals(1000 - 64, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testScanResistance() {
+        int size = 100;
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(size);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < size / 2; i++) {
+                String key = "hot" + i;
+                if (cache.get(key) == null) {
+                    cache.put(key, key);
+                }
+            }
+        }
+        // A flood of entries that are used only once must not evict the frequently used ones.
+        for (int i = 0; i < 10 * size; i++) {
+            String key = "once" + i;
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        int hotHits = 0;
+        for (int i = 0; i < size / 2; i++) {
+            if (cache.get("hot" + i) != null) {
+                hotHits++;
+            }
+        }
+        assertTrue(String.valueOf(hotHits), hotHits >= size / 2 - 1);
+        assertTrue(cache.size() <= size);
+    }
+
+    @Test
+    public void testStatistics() {
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(8);
+        assertNull(cache.get("a"));
+        cache.put("a", "A");
+        assertEquals("A", cache.get("a"));
+        assertEquals("A", cache.put("a", "B"));
+        assertEquals("B", cache.get("a"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testZeroSize() {
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(0);
+        cache.put("a", "A");
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testConcurrent() throws InterruptedException {
+        ConcurrentTinyLFUCache<Integer, Integer> cache = new ConcurrentTinyLFUCache<>(128);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    Integer key = i % 256;
+                    if (cache.get(key) == null) {
+                        cache.put(key, key);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(cache.size() <= 128);
+        assertEquals(4 * 10000, cache.getHitCount() + cache.getMissCount());
+    }
+}
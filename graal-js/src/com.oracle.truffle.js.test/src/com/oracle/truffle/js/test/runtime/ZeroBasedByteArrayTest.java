@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedByteArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedShortArray;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.test.JSTest;
+
+public class ZeroBasedByteArrayTest {
+
+    private static ScriptArray arrayType(Context context, String name) {
+        JSDynamicObject array = (JSDynamicObject) JSObject.get(JavaScriptLanguage.getJSRealm(context).getGlobalObject(), Strings.fromJavaString(name));
+        return JSAbstractArray.arrayGetArrayType(array);
+    }
+
+    @Test
+    public void testWritableByteArray() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.enter();
+            context.eval(ID, "var a = [0, 0, 0, 0]; for (var i = 0; i < 1000; i++) { a[i & 3] = (a[i & 3] + 1) & 0x7f; } a.push(-128);");
+            assertTrue(arrayType(context, "a") instanceof ZeroBasedByteArray);
+            assertEquals("122,122,122,122,-128", context.eval(ID, "a.join()").asString());
+            context.leave();
+        }
+    }
+
+    @Test
+    public void testWidening() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.enter();
+            context.eval(ID, "var a = [1, 2, 3]; a[0] = 4; var b = a.slice(); a[1] = 100000;");
+            assertTrue(arrayType(context, "a") instanceof ZeroBasedIntArray);
+            assertEquals("4,100000,3", context.eval(ID, "a.join()").asString());
+            assertEquals("4,2,3", context.eval(ID, "b.join()").asString());
+
+            context.eval(ID, "var c = [1, 2, 3]; c[0] = 0; c[2] = 0.5;");
+            assertTrue(arrayType(context, "c") instanceof ZeroBasedDoubleArray);
+            assertEquals("0,2,0.5", context.eval(ID, "c.join()").asString());
+
+            context.eval(ID, "var d = [1, 2, 3]; d[0] = 0; d[5] = 5; delete d[1];");
+            assertEquals("0,,3,,,5", context.eval(ID, "d.join()").asString());
+            context.leave();
+        }
+    }
+
+    @Test
+    public void testEmptyArraysWithoutFeedback() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.ARRAY_ALLOCATION_SITE_FEEDBACK_NAME, "false").build()) {
+            context.enter();
+            context.eval(ID, "var a = []; a.push(1, 2, 3); var b = new Array(100).fill(0);");
+            assertTrue(arrayType(context, "a") instanceof ZeroBasedIntArray);
+            assertTrue(arrayType(context, "b") instanceof ZeroBasedIntArray);
+            context.leave();
+        }
+    }
+
+    @Test
+    public void testWideningFromEmptyArray() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.ARRAY_ALLOCATION_SITE_FEEDBACK_NAME, "true").build()) {
+            context.enter();
+            context.eval(ID, "var b = []; for (var i = 0; i < 100; i++) { b.push(0); } var c = []; c[0] = 128; var d = []; d[1] = 1;");
+            assertTrue(arrayType(context, "b") instanceof ZeroBasedByteArray);
+            assertTrue(arrayType(context, "c") instanceof ZeroBasedIntArray);
+            assertEquals(100, context.eval(ID, "b.length").asInt());
+
+            context.eval(ID, "b[1] = 1000;");
+            assertTrue(arrayType(context, "b") instanceof ZeroBasedShortArray);
+            context.eval(ID, "b[2] = -32768; b[3] = -1;");
+            assertTrue(arrayType(context, "b") instanceof ZeroBasedShortArray);
+            context.eval(ID, "b[4] = 100000;");
+            assertTrue(arrayType(context, "b") instanceof ZeroBasedIntArray);
+            assertEquals("0,1000,-32768,-1,100000,0", context.eval(ID, "b.slice(0, 6).join()").asString());
+            assertEquals(",1", context.eval(ID, "d.join()").asString());
+            context.leave();
+        }
+    }
+
+    @Test
+    public void testAllocationSiteFeedback() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.ARRAY_ALLOCATION_SITE_FEEDBACK_NAME, "true").build()) {
+            context.enter();
+            context.eval(ID, "function f() { return []; } var a = f(); a.push(1, 2); var b = f();");
+            assertTrue(arrayType(context, "b") instanceof ZeroBasedByteArray);
+            // once an array of the site has been widened, later arrays start out wider
+            context.eval(ID, "b.push(300); var c = f();");
+            assertTrue(arrayType(context, "c") instanceof ZeroBasedShortArray);
+            context.eval(ID, "c.push(1 << 20); var d = f(); d.push(1);");
+            assertTrue(arrayType(context, "d") instanceof ZeroBasedIntArray);
+            assertEquals("300", context.eval(ID, "b.join()").asString());
+            assertEquals("1048576", context.eval(ID, "c.join()").asString());
+            context.leave();
+        }
+    }
+
+    @Test
+    public void testLiteralNotShared() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String code = "function f() { return [1, 2, 3]; } var x = f(); x[0] = 9; f().join();";
+            assertEquals("1,2,3", context.eval(ID, code).asString());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.snapshot.SnapshotTool;
+import com.oracle.truffle.js.test.JSTest;
+
+public class ParseCacheTest {
+    private static final String CODE = "function fib(n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); } fib(10);";
+
+    private Path cacheDir;
+
+    @Before
+    public void setup() throws IOException {
+        cacheDir = Files.createTempDirectory("js-parse-cache");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private int eval() {
+        return eval(IOAccess.ALL);
+    }
+
+    private int eval(IOAccess ioAccess) {
+        try (Context context = JSTest.newContextBuilder().allowIO(ioAccess).option(JSContextOptions.PARSE_CACHE_DIR_NAME, cacheDir.toString()).build()) {
+            return context.eval(JavaScriptLanguage.ID, CODE).asInt();
+        }
+    }
+
+    private List<Path> listEntries() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testStoreAndLoad() throws IOException {
+        assertEquals(55, eval());
+        List<Path> entries = listEntries();
+        assertEquals(1, entries.size());
+        byte[] entry = Files.readAllBytes(entries.get(0));
+
+        assertEquals(55, eval());
+        assertEquals(entries, listEntries());
+        assertEquals(entry.length, Files.readAllBytes(entries.get(0)).length);
+    }
+
+    @Test
+    public void testNoIOAccess() throws IOException {
+        // the cache directory is not accessible to the context
+        assertEquals(55, eval(IOAccess.NONE));
+        assertEquals(0, listEntries().size());
+
+        assertEquals(55, eval());
+        List<Path> entries = listEntries();
+        assertEquals(1, entries.size());
+        Files.write(entries.get(0), new byte[]{1, 2, 3});
+        assertEquals(55, eval(IOAccess.NONE));
+        assertEquals(3, Files.size(entries.get(0)));
+    }
+
+    @Test
+    public void testCorruptEntry() throws IOException {
+        assertEquals(55, eval());
+        List<Path> entries = listEntries();
+        assertEquals(1, entries.size());
+        Path entry = entries.get(0);
+        byte[] original = Files.readAllBytes(entry);
+        byte[] corrupt = original.clone();
+        corrupt[corrupt.length / 2] ^= 0x5a;
+        Files.write(entry, corrupt);
+
+        // the corrupt entry is discarded and replaced
+        assertEquals(55, eval());
+        assertEquals(original.length, Files.size(entry));
+
+        Files.write(entry, new byte[]{1, 2, 3});
+        assertEquals(55, eval());
+        assertEquals(original.length, Files.size(entry));
+    }
+
+    @Test
+    public void testSnapshotTool() throws IOException {
+        Path sourceDir = cacheDir.resolve("src");
+        Path entryDir = cacheDir.resolve("cache");
+        Files.createDirectories(sourceDir.resolve("lib"));
+        Files.createDirectories(entryDir);
+        Path script = Files.write(sourceDir.resolve("lib").resolve("fib.js"), CODE.getBytes(StandardCharsets.UTF_8));
+
+        SnapshotTool.main(new String[]{"--parse-cache=" + entryDir, "--tree=" + sourceDir});
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(entryDir)) {
+            entries = files.collect(Collectors.toList());
+        }
+        assertEquals(1, entries.size());
+        long lastModified = Files.getLastModifiedTime(entries.get(0)).toMillis();
+
+        try (Context context = JSTest.newContextBuilder().allowIO(IOAccess.ALL).option(JSContextOptions.PARSE_CACHE_DIR_NAME, entryDir.toString()).build()) {
+            assertEquals(55, context.eval(Source.newBuilder(JavaScriptLanguage.ID, script.toFile()).build()).asInt());
+        }
+        try (Stream<Path> files = Files.list(entryDir)) {
+            assertEquals(entries, files.collect(Collectors.toList()));
+        }
+        assertEquals(lastModified, Files.getLastModifiedTime(entries.get(0)).toMillis());
+    }
+
+    private int require(Path moduleDir, String module) {
+        try (Context context = JSTest.newContextBuilder().allowIO(IOAccess.ALL).option(JSContextOptions.PARSE_CACHE_DIR_NAME, cacheDir.toString()).//
+                        option(JSContextOptions.COMMONJS_REQUIRE_NAME, "true").option(JSContextOptions.COMMONJS_REQUIRE_CWD_NAME, moduleDir.toString()).build()) {
+            return context.eval(JavaScriptLanguage.ID, "require('./" + module + "').fib(10);").asInt();
+        }
+    }
+
+    @Test
+    public void testCommonJSModule() throws IOException {
+        Path moduleDir = Files.createTempDirectory("js-parse-cache-modules");
+        try {
+            Files.write(moduleDir.resolve("fib.js"), (CODE + " module.exports.fib = fib;").getBytes(StandardCharsets.UTF_8));
+            // closes the module function it is wrapped in
+            Files.write(moduleDir.resolve("escape.js"), "}); (function() {".getBytes(StandardCharsets.UTF_8));
+
+            assertEquals(55, require(moduleDir, "fib"));
+            // the requiring script and the module
+            List<Path> entries = listEntries();
+            assertEquals(2, entries.size());
+            // the module is loaded from the cache without being checked again
+            assertEquals(55, require(moduleDir, "fib"));
+            assertEquals(entries, listEntries());
+
+            for (int i = 0; i < 2; i++) {
+                try {
+                    require(moduleDir, "escape");
+                    fail("expected SyntaxError");
+                } catch (PolyglotException e) {
+                    assertTrue(e.getMessage(), e.isSyntaxError());
+                }
+            }
+            // only the requiring script
+            assertEquals(entries.size() + 1, listEntries().size());
+        } finally {
+            try (Stream<Path> files = Files.walk(moduleDir)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+}
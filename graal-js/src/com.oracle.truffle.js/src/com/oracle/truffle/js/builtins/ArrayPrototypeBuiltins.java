@@ -175,6 +175,8 @@ import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantByteArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantDoubleArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedByteArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedShortArray;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
@@ -2848,7 +2850,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             } else {
                 if (JSArray.isJSArray(thisObj)) {
                     ScriptArray array = arrayGetArrayType((JSDynamicObject) thisObj);
-                    if (array instanceof AbstractIntArray || array instanceof ConstantByteArray || array instanceof ConstantIntArray) {
+                    if (array instanceof AbstractIntArray || array instanceof ZeroBasedByteArray || array instanceof ZeroBasedShortArray || array instanceof ConstantByteArray || array instanceof ConstantIntArray) {
                         return JSArray.DEFAULT_JSARRAY_INTEGER_COMPARATOR;
                     } else if (array instanceof AbstractDoubleArray || array instanceof ConstantDoubleArray) {
                         return JSArray.DEFAULT_JSARRAY_DOUBLE_COMPARATOR;
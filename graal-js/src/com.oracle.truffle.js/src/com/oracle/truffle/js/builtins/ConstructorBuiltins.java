@@ -276,11 +276,11 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
-import com.oracle.truffle.js.runtime.util.LRUCache;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.TemporalErrors;
 import com.oracle.truffle.js.runtime.util.TemporalUtil;
+import com.oracle.truffle.js.runtime.util.TinyLFUCache;
 
 /**
  * Contains built-in constructor functions.
@@ -2140,8 +2140,8 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             return a.equals(b);
         }
 
-        protected LRUCache<CachedSourceKey, ScriptNode> createCache() {
-            return new LRUCache<>(context.getContextOptions().getFunctionConstructorCacheSize());
+        protected TinyLFUCache<CachedSourceKey, ScriptNode> createCache() {
+            return new TinyLFUCache<>(context.getContextOptions().getFunctionConstructorCacheSize());
         }
 
         @SuppressWarnings("unused")
@@ -2162,7 +2162,7 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
 
         @Specialization(replaces = "doCached")
         protected final JSFunctionObject doUncached(String paramList, String body, String sourceName,
-                        @Cached("createCache()") LRUCache<CachedSourceKey, ScriptNode> cache,
+                        @Cached("createCache()") TinyLFUCache<CachedSourceKey, ScriptNode> cache,
                         @Cached("createCountingProfile()") ConditionProfile cacheHit) {
             ScriptNode cached = cacheLookup(cache, new CachedSourceKey(paramList, body, sourceName));
             JSRealm realm = getRealm();
@@ -2174,7 +2174,7 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
         }
 
         @TruffleBoundary
-        protected ScriptNode cacheLookup(LRUCache<CachedSourceKey, ScriptNode> cache, CachedSourceKey sourceKey) {
+        protected ScriptNode cacheLookup(TinyLFUCache<CachedSourceKey, ScriptNode> cache, CachedSourceKey sourceKey) {
             synchronized (cache) {
                 return cache.get(sourceKey);
             }
@@ -2192,7 +2192,7 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
         }
 
         @TruffleBoundary(transferToInterpreterOnException = false)
-        private JSFunctionObject parseAndEvalFunction(LRUCache<CachedSourceKey, ScriptNode> cache, JSRealm realm, String paramList, String body, String sourceName) {
+        private JSFunctionObject parseAndEvalFunction(TinyLFUCache<CachedSourceKey, ScriptNode> cache, JSRealm realm, String paramList, String body, String sourceName) {
             ScriptNode parsedBody = parseFunction(paramList, body, sourceName);
             synchronized (cache) {
                 cache.put(new CachedSourceKey(paramList, body, sourceName), parsedBody);
@@ -45,6 +45,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import com.oracle.js.parser.ir.Module.ModuleRequest;
 import com.oracle.truffle.api.CallTarget;
@@ -63,6 +64,7 @@ import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.api.strings.TruffleStringBuilder;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugArrayTypeNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugAssertIntNodeGen;
+import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugCacheStatsNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugClassNameNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugClassNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugContinueInInterpreterNodeGen;
@@ -82,6 +84,7 @@ import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugSystemProperties
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugSystemPropertyNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugToJavaStringNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugTypedArrayDetachBufferNodeGen;
+import com.oracle.truffle.js.builtins.commonjs.CommonJSResolutionCache;
 import com.oracle.truffle.js.builtins.helper.GCNodeGen;
 import com.oracle.truffle.js.builtins.helper.HeapDump;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
@@ -119,6 +122,7 @@ import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.ConcurrentTinyLFUCache;
 
 /**
  * Contains builtins for {@code Debug} object.
@@ -160,6 +164,8 @@ public final class DebugBuiltins extends JSBuiltinsContainer.SwitchEnum<DebugBui
         systemProperty(1),
         systemProperties(0),
         neverPartOfCompilation(0),
+        regexCacheStats(0),
+        commonJSResolutionCacheStats(0),
         dumpHeap(2);
 
         private final int length;
@@ -218,6 +224,16 @@ public final class DebugBuiltins extends JSBuiltinsContainer.SwitchEnum<DebugBui
                 return DebugSystemPropertiesNodeGen.create(context, builtin, args().createArgumentNodes(context));
             case neverPartOfCompilation:
                 return DebugNeverPartOfCompilationNodeGen.create(context, builtin, args().createArgumentNodes(context));
+            case regexCacheStats:
+                return DebugCacheStatsNodeGen.create(context, builtin, realm -> {
+                    ConcurrentTinyLFUCache<?, ?> cache = realm.getContext().getCompiledRegexCache();
+                    return cache == null ? null : cache.getStatistics();
+                }, args().createArgumentNodes(context));
+            case commonJSResolutionCacheStats:
+                return DebugCacheStatsNodeGen.create(context, builtin, realm -> {
+                    CommonJSResolutionCache cache = realm.getCommonJSResolutionCache();
+                    return cache == null ? null : cache.getStatistics();
+                }, args().createArgumentNodes(context));
             case typedArrayDetachBuffer:
                 return DebugTypedArrayDetachBufferNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
 
@@ -638,6 +654,34 @@ public final class DebugBuiltins extends JSBuiltinsContainer.SwitchEnum<DebugBui
         }
     }
 
+    /**
+     * Returns the statistics of a cache as an object, or {@code undefined} if the cache is not
+     * enabled.
+     */
+    public abstract static class DebugCacheStats extends JSBuiltinNode {
+        private final Function<JSRealm, Map<String, Long>> statisticsSource;
+
+        public DebugCacheStats(JSContext context, JSBuiltin builtin, Function<JSRealm, Map<String, Long>> statisticsSource) {
+            super(context, builtin);
+            this.statisticsSource = statisticsSource;
+        }
+
+        @TruffleBoundary
+        @Specialization
+        protected Object cacheStats() {
+            JSRealm realm = getRealm();
+            Map<String, Long> statistics = statisticsSource.apply(realm);
+            if (statistics == null) {
+                return Undefined.instance;
+            }
+            JSDynamicObject result = JSOrdinary.create(getContext(), realm);
+            for (Map.Entry<String, Long> entry : statistics.entrySet()) {
+                JSObject.set(result, Strings.fromJavaString(entry.getKey()), (double) entry.getValue());
+            }
+            return result;
+        }
+    }
+
     public abstract static class DebugSystemProperty extends JSBuiltinNode {
 
         public DebugSystemProperty(JSContext context, JSBuiltin builtin) {
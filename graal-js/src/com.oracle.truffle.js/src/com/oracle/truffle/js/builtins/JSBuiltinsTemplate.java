@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.Properties;
+import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+
+/**
+ * The functions of a {@link JSBuiltinsContainer} that are included in a {@link JSContext}, with
+ * their keys, shared function data, and attributes resolved once per context. Realms of the same
+ * context install a container by replaying this template, which only allocates the function
+ * objects and appends them to the target object along the already existing shape transitions.
+ */
+public final class JSBuiltinsTemplate {
+    private final Object[] keys;
+    private final JSFunctionData[] functionData;
+    private final int[] flags;
+
+    private JSBuiltinsTemplate(Object[] keys, JSFunctionData[] functionData, int[] flags) {
+        this.keys = keys;
+        this.functionData = functionData;
+        this.flags = flags;
+    }
+
+    public static JSBuiltinsTemplate create(JSContext context, JSBuiltinsContainer container) {
+        CompilerAsserts.neverPartOfCompilation();
+        List<JSBuiltin> included = new ArrayList<>();
+        container.forEachBuiltin(builtin -> {
+            if (builtin.isIncluded(context) && !builtin.isGetter() && !builtin.isSetter()) {
+                included.add(builtin);
+            }
+        });
+        int size = included.size();
+        Object[] keys = new Object[size];
+        JSFunctionData[] functionData = new JSFunctionData[size];
+        int[] flags = new int[size];
+        for (int i = 0; i < size; i++) {
+            JSBuiltin builtin = included.get(i);
+            keys[i] = builtin.getKey();
+            functionData[i] = builtin.createFunctionData(context);
+            flags[i] = builtin.getAttributeFlags();
+            assert !JSObjectUtil.isNoSuchPropertyOrMethod(keys[i]) : keys[i];
+        }
+        return new JSBuiltinsTemplate(keys, functionData, flags);
+    }
+
+    public void install(JSRealm realm, JSDynamicObject thisObj) {
+        CompilerAsserts.neverPartOfCompilation();
+        // Puts still go through the uncached library; the template only saves the per-builtin
+        // inclusion checks and function data lookups.
+        DynamicObjectLibrary lib = DynamicObjectLibrary.getUncached();
+        for (int i = 0; i < keys.length; i++) {
+            assert !thisObj.getShape().hasProperty(keys[i]) : keys[i];
+            Properties.putWithFlags(lib, thisObj, keys[i], JSFunction.create(realm, functionData[i]), flags[i]);
+        }
+    }
+}
@@ -54,9 +54,13 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.api.strings.TruffleStringBuilder;
 import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONParseNodeGen;
+import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONParseStreamNodeGen;
 import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONStringifyNodeGen;
+import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONStringifyStreamNodeGen;
 import com.oracle.truffle.js.builtins.helper.JSONData;
 import com.oracle.truffle.js.builtins.helper.JSONStringifyStringNode;
+import com.oracle.truffle.js.builtins.helper.StreamingJSONOutput;
+import com.oracle.truffle.js.builtins.helper.StreamingJSONParser;
 import com.oracle.truffle.js.builtins.helper.TruffleJSONParser;
 import com.oracle.truffle.js.nodes.access.CreateDataPropertyNode;
 import com.oracle.truffle.js.nodes.cast.JSToIntegerAsIntNode;
@@ -66,7 +70,9 @@ import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.nodes.unary.IsCallableNode;
 import com.oracle.truffle.js.nodes.unary.JSIsArrayNode;
+import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
@@ -87,6 +93,7 @@ import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
 public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuiltins.JSON> {
 
     public static final JSBuiltinsContainer BUILTINS = new JSONBuiltins();
+    public static final JSBuiltinsContainer BUILTINS_STREAM = new JSONStreamBuiltins();
 
     protected JSONBuiltins() {
         super(com.oracle.truffle.js.runtime.builtins.JSON.CLASS_NAME, JSON.class);
@@ -119,6 +126,39 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         return null;
     }
 
+    public static final class JSONStreamBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONStreamBuiltins.JSONStream> {
+        protected JSONStreamBuiltins() {
+            super(JSONStream.class);
+        }
+
+        public enum JSONStream implements BuiltinEnum<JSONStream> {
+            parseStream(2),
+            stringifyStream(4);
+
+            private final int length;
+
+            JSONStream(int length) {
+                this.length = length;
+            }
+
+            @Override
+            public int getLength() {
+                return length;
+            }
+        }
+
+        @Override
+        protected Object createNode(JSContext context, JSBuiltin builtin, boolean construct, boolean newTarget, JSONStream builtinEnum) {
+            switch (builtinEnum) {
+                case parseStream:
+                    return JSONParseStreamNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
+                case stringifyStream:
+                    return JSONStringifyStreamNodeGen.create(context, builtin, args().fixedArgs(4).createArgumentNodes(context));
+            }
+            return null;
+        }
+    }
+
     public abstract static class JSONOperation extends JSBuiltinNode {
         public JSONOperation(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
@@ -137,36 +177,15 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         protected boolean isArray(Object replacer) {
             return JSRuntime.isArray(replacer);
         }
-    }
 
-    public abstract static class JSONParseNode extends JSONOperation {
-
-        public JSONParseNode(JSContext context, JSBuiltin builtin) {
-            super(context, builtin);
-        }
-
-        @Specialization(guards = "isCallable.executeBoolean(reviver)", limit = "1")
-        protected Object parse(Object text, Object reviver,
-                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
-            Object unfiltered = parseIntl(toString(text));
+        protected Object internalize(Object unfiltered, Object reviver) {
             JSObject root = JSOrdinary.create(getContext(), getRealm());
             JSObjectUtil.putDataProperty(getContext(), root, Strings.EMPTY_STRING, unfiltered, JSAttributes.getDefault());
             return walk(reviver, root, Strings.EMPTY_STRING);
         }
 
-        @Specialization(guards = "!isCallable.executeBoolean(reviver)", limit = "1")
-        protected Object parseUnfiltered(Object text, @SuppressWarnings("unused") Object reviver,
-                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
-            return parseIntl(toString(text));
-        }
-
-        @TruffleBoundary(transferToInterpreterOnException = false)
-        private Object parseIntl(TruffleString jsonString) {
-            return new TruffleJSONParser(getContext()).parse(jsonString, getRealm());
-        }
-
         @TruffleBoundary
-        private Object walk(Object reviverFn, JSObject holder, Object property) {
+        protected Object walk(Object reviverFn, JSObject holder, Object property) {
             Object value = JSObject.get(holder, property);
             if (JSRuntime.isObject(value)) {
                 JSObject object = (JSObject) value;
@@ -196,9 +215,73 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         }
     }
 
-    public abstract static class JSONStringifyNode extends JSONOperation {
+    public abstract static class JSONParseNode extends JSONOperation {
 
-        public JSONStringifyNode(JSContext context, JSBuiltin builtin) {
+        public JSONParseNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(guards = "isCallable.executeBoolean(reviver)", limit = "1")
+        protected Object parse(Object text, Object reviver,
+                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
+            Object unfiltered = parseIntl(toString(text));
+            return internalize(unfiltered, reviver);
+        }
+
+        @Specialization(guards = "!isCallable.executeBoolean(reviver)", limit = "1")
+        protected Object parseUnfiltered(Object text, @SuppressWarnings("unused") Object reviver,
+                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
+            return parseIntl(toString(text));
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private Object parseIntl(TruffleString jsonString) {
+            return new TruffleJSONParser(getContext()).parse(jsonString, getRealm());
+        }
+    }
+
+    /**
+     * Non-standard {@code JSON.parseStream(source, reviver)}: parses JSON incrementally from an
+     * {@code ArrayBuffer}, an {@code ArrayBuffer} view, a host {@code InputStream} or
+     * {@code ByteBuffer}, or an iterable of string and buffer chunks. Binary input is decoded as
+     * UTF-8.
+     */
+    public abstract static class JSONParseStreamNode extends JSONOperation {
+
+        public JSONParseStreamNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(guards = "isCallable.executeBoolean(reviver)", limit = "1")
+        protected Object parse(Object source, Object reviver,
+                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
+            Object unfiltered = parseIntl(source);
+            return internalize(unfiltered, reviver);
+        }
+
+        @Specialization(guards = "!isCallable.executeBoolean(reviver)", limit = "1")
+        protected Object parseUnfiltered(Object source, @SuppressWarnings("unused") Object reviver,
+                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
+            return parseIntl(source);
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private Object parseIntl(Object source) {
+            JSRealm realm = getRealm();
+            if (Strings.isTString(source)) {
+                return new TruffleJSONParser(getContext()).parse((TruffleString) source, realm);
+            }
+            // the source is owned by the caller, so streams are not closed here
+            return new StreamingJSONParser(getContext(), StreamingJSONParser.createReader(realm, source)).parse(realm);
+        }
+    }
+
+    /**
+     * Common part of {@code JSON.stringify} and {@code JSON.stringifyStream}.
+     */
+    public abstract static class JSONStringifyOperation extends JSONOperation {
+
+        public JSONStringifyOperation(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
         }
 
@@ -236,14 +319,7 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
             return isCallableNode.executeBoolean(obj);
         }
 
-        @Specialization(guards = "isCallable(replacerFn)")
-        protected Object stringify(Object value, Object replacerFn, Object spaceParam) {
-            assert JSRuntime.isCallable(replacerFn);
-            return stringifyIntl(value, spaceParam, replacerFn, null);
-        }
-
-        @Specialization(guards = "isArray(replacerObj)")
-        protected Object stringifyReplacerArray(Object value, JSDynamicObject replacerObj, Object spaceParam) {
+        protected List<Object> createReplacerList(JSDynamicObject replacerObj) {
             int len = (int) JSRuntime.toLength(JSObject.get(replacerObj, JSArray.LENGTH));
             List<Object> replacerList = new ArrayList<>();
             for (int i = 0; i < len; i++) {
@@ -259,7 +335,7 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
                     addToReplacer(replacerList, item);
                 }
             }
-            return stringifyIntl(value, spaceParam, null, replacerList);
+            return replacerList;
         }
 
         @TruffleBoundary
@@ -269,30 +345,7 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
             }
         }
 
-        @SuppressWarnings("unused")
-        @Specialization(guards = {"!isCallable(replacer)", "!isArray(replacer)"})
-        // GR-24628: JSON.stringify is frequently called with (just) a String argument
-        protected Object stringifyAStringNoReplacer(TruffleString str, Object replacer, Object spaceParam,
-                        @Cached("createStringBuilderProfile()") StringBuilderProfile stringBuilderProfile,
-                        @Cached TruffleStringBuilder.AppendCharUTF16Node appendRawValueNode,
-                        @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
-                        @Cached TruffleStringBuilder.ToStringNode builderToStringNode) {
-            TruffleStringBuilder builder = Strings.builderCreate(Strings.length(str) + 8);
-            JSONStringifyStringNode.jsonQuote(stringBuilderProfile, builder, str, appendRawValueNode, appendStringNode);
-            return StringBuilderProfile.toString(builderToStringNode, builder);
-        }
-
-        protected StringBuilderProfile createStringBuilderProfile() {
-            return StringBuilderProfile.create(getContext().getStringLengthLimit());
-        }
-
-        @SuppressWarnings("unused")
-        @Specialization(guards = {"!isString(value)", "!isCallable(replacer)", "!isArray(replacer)"})
-        protected Object stringifyNoReplacer(Object value, Object replacer, Object spaceParam) {
-            return stringifyIntl(value, spaceParam, null, null);
-        }
-
-        private Object stringifyIntl(Object value, Object spaceParam, Object replacerFnObj, List<Object> replacerList) {
+        protected Object stringifyIntl(Object value, Object spaceParam, Object replacerFnObj, List<Object> replacerList, StreamingJSONOutput output) {
             final TruffleString gap = spaceIsUndefinedProfile.profile(spaceParam == Undefined.instance) ? Strings.EMPTY_STRING : getGap(spaceParam);
 
             JSDynamicObject wrapper = JSOrdinary.create(getContext(), getRealm());
@@ -301,7 +354,7 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
                 createWrapperPropertyNode = insert(CreateDataPropertyNode.create(getContext(), Strings.EMPTY_STRING));
             }
             createWrapperPropertyNode.executeVoid(wrapper, value);
-            return jsonStr(new JSONData(gap, replacerFnObj, replacerList), Strings.EMPTY_STRING, wrapper);
+            return jsonStr(new JSONData(gap, replacerFnObj, replacerList, output), Strings.EMPTY_STRING, wrapper);
         }
 
         private TruffleString getGap(Object spaceParam) {
@@ -352,4 +405,71 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
             return toNumberNode.executeNumber(target);
         }
     }
+
+    public abstract static class JSONStringifyNode extends JSONStringifyOperation {
+
+        public JSONStringifyNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(guards = "isCallable(replacerFn)")
+        protected Object stringify(Object value, Object replacerFn, Object spaceParam) {
+            assert JSRuntime.isCallable(replacerFn);
+            return stringifyIntl(value, spaceParam, replacerFn, null, null);
+        }
+
+        @Specialization(guards = "isArray(replacerObj)")
+        protected Object stringifyReplacerArray(Object value, JSDynamicObject replacerObj, Object spaceParam) {
+            return stringifyIntl(value, spaceParam, null, createReplacerList(replacerObj), null);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"!isCallable(replacer)", "!isArray(replacer)"})
+        // GR-24628: JSON.stringify is frequently called with (just) a String argument
+        protected Object stringifyAStringNoReplacer(TruffleString str, Object replacer, Object spaceParam,
+                        @Cached("createStringBuilderProfile()") StringBuilderProfile stringBuilderProfile,
+                        @Cached TruffleStringBuilder.AppendCharUTF16Node appendRawValueNode,
+                        @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
+                        @Cached TruffleStringBuilder.ToStringNode builderToStringNode) {
+            TruffleStringBuilder builder = Strings.builderCreate(Strings.length(str) + 8);
+            JSONStringifyStringNode.jsonQuote(stringBuilderProfile, builder, str, appendRawValueNode, appendStringNode);
+            return StringBuilderProfile.toString(builderToStringNode, builder);
+        }
+
+        protected StringBuilderProfile createStringBuilderProfile() {
+            return StringBuilderProfile.create(getContext().getStringLengthLimit());
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"!isString(value)", "!isCallable(replacer)", "!isArray(replacer)"})
+        protected Object stringifyNoReplacer(Object value, Object replacer, Object spaceParam) {
+            return stringifyIntl(value, spaceParam, null, null, null);
+        }
+    }
+
+    /**
+     * Non-standard {@code JSON.stringifyStream(value, target, replacer, space)}: serializes a value
+     * as UTF-8 into an {@code ArrayBuffer}, an {@code ArrayBuffer} view, a host {@code ByteBuffer}
+     * or a host {@code OutputStream}, writing the text out in chunks while it is produced. Returns
+     * the number of bytes written, or undefined if the value cannot be serialized.
+     */
+    public abstract static class JSONStringifyStreamNode extends JSONStringifyOperation {
+
+        public JSONStringifyStreamNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object stringifyStream(Object value, Object target, Object replacer, Object spaceParam) {
+            // host I/O and encoding happen behind boundaries in StreamingJSONOutput
+            StreamingJSONOutput output = StreamingJSONOutput.create(getRealm(), target);
+            if (isCallable(replacer)) {
+                return stringifyIntl(value, spaceParam, replacer, null, output);
+            } else if (isArray(replacer)) {
+                return stringifyIntl(value, spaceParam, null, createReplacerList((JSDynamicObject) replacer), output);
+            } else {
+                return stringifyIntl(value, spaceParam, null, null, output);
+            }
+        }
+    }
 }
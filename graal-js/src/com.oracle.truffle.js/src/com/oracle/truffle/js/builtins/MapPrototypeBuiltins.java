@@ -53,6 +53,7 @@ import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.builtins.MapPrototypeBuiltinsFactory.CreateMapIteratorNodeGen;
 import com.oracle.truffle.js.builtins.MapPrototypeBuiltinsFactory.JSMapClearNodeGen;
 import com.oracle.truffle.js.builtins.MapPrototypeBuiltinsFactory.JSMapDeleteNodeGen;
@@ -153,6 +154,14 @@ public final class MapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<M
             return normalizeNode.execute(value);
         }
 
+        protected static boolean isSmallMap(JSMapObject map) {
+            return JSMap.getInternalMap(map).isSmall();
+        }
+
+        protected static boolean isIdentityKey(Object key) {
+            return JSCollectionsNormalizeNode.isIdentityKey(key);
+        }
+
         protected static boolean isForeignHash(Object value, InteropLibrary interopLibrary) {
             return interopLibrary.hasHashEntries(value) && !(value instanceof JSDynamicObject);
         }
@@ -224,6 +233,11 @@ public final class MapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<M
             super(context, builtin);
         }
 
+        @Specialization
+        protected boolean doMapInt(JSMapObject thisObj, int key) {
+            return JSMap.getInternalMap(thisObj).remove(key);
+        }
+
         @Specialization
         protected boolean doMap(JSMapObject thisObj, Object key) {
             Object normalizedKey = normalize(key);
@@ -262,6 +276,27 @@ public final class MapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<M
             super(context, builtin);
         }
 
+        @Specialization(guards = "isSmallMap(thisObj)")
+        protected Object doSmallMapInt(JSMapObject thisObj, int key) {
+            return JSRuntime.nullToUndefined(JSMap.getInternalMap(thisObj).getSmall(key));
+        }
+
+        @Specialization(guards = {"isSmallMap(thisObj)", "isIdentityKey(key)"})
+        protected Object doSmallMapIdentity(JSMapObject thisObj, Object key) {
+            return JSRuntime.nullToUndefined(JSMap.getInternalMap(thisObj).getSmallIdentity(key));
+        }
+
+        @Specialization(guards = "isSmallMap(thisObj)")
+        protected Object doSmallMapString(JSMapObject thisObj, TruffleString key,
+                        @Cached TruffleString.EqualNode equalNode) {
+            return JSRuntime.nullToUndefined(JSMap.getInternalMap(thisObj).getSmall(key, equalNode));
+        }
+
+        @Specialization
+        protected Object doMapInt(JSMapObject thisObj, int key) {
+            return JSRuntime.nullToUndefined(JSMap.getInternalMap(thisObj).get(key));
+        }
+
         @Specialization
         protected Object doMap(JSMapObject thisObj, Object key) {
             Object normalizedKey = normalize(key);
@@ -338,6 +373,27 @@ public final class MapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<M
             super(context, builtin);
         }
 
+        @Specialization(guards = "isSmallMap(thisObj)")
+        protected boolean doSmallMapInt(JSMapObject thisObj, int key) {
+            return JSMap.getInternalMap(thisObj).getSmall(key) != null;
+        }
+
+        @Specialization(guards = {"isSmallMap(thisObj)", "isIdentityKey(key)"})
+        protected boolean doSmallMapIdentity(JSMapObject thisObj, Object key) {
+            return JSMap.getInternalMap(thisObj).getSmallIdentity(key) != null;
+        }
+
+        @Specialization(guards = "isSmallMap(thisObj)")
+        protected boolean doSmallMapString(JSMapObject thisObj, TruffleString key,
+                        @Cached TruffleString.EqualNode equalNode) {
+            return JSMap.getInternalMap(thisObj).getSmall(key, equalNode) != null;
+        }
+
+        @Specialization
+        protected boolean doMapInt(JSMapObject thisObj, int key) {
+            return JSMap.getInternalMap(thisObj).has(key);
+        }
+
         @Specialization
         protected boolean doMap(JSMapObject thisObj, Object key) {
             Object normalizedKey = normalize(key);
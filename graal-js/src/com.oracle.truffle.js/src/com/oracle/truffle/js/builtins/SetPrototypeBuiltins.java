@@ -46,6 +46,7 @@ import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.exception.AbstractTruffleException;
 import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.builtins.SetPrototypeBuiltinsFactory.CreateSetIteratorNodeGen;
 import com.oracle.truffle.js.builtins.SetPrototypeBuiltinsFactory.JSSetAddNodeGen;
 import com.oracle.truffle.js.builtins.SetPrototypeBuiltinsFactory.JSSetClearNodeGen;
@@ -207,6 +208,14 @@ public final class SetPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<S
             }
             return normalizeNode.execute(value);
         }
+
+        protected static boolean isSmallSet(JSSetObject set) {
+            return JSSet.getInternalSet(set).isSmall();
+        }
+
+        protected static boolean isIdentityKey(Object key) {
+            return JSCollectionsNormalizeNode.isIdentityKey(key);
+        }
     }
 
     /**
@@ -239,6 +248,11 @@ public final class SetPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<S
             super(context, builtin);
         }
 
+        @Specialization
+        protected boolean deleteInt(JSSetObject thisObj, int key) {
+            return JSSet.getInternalSet(thisObj).remove(key);
+        }
+
         @Specialization
         protected boolean delete(JSSetObject thisObj, Object key) {
             Object normalizedKey = normalize(key);
@@ -284,6 +298,27 @@ public final class SetPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<S
             super(context, builtin);
         }
 
+        @Specialization(guards = "isSmallSet(thisObj)")
+        protected boolean hasSmallInt(JSSetObject thisObj, int key) {
+            return JSSet.getInternalSet(thisObj).getSmall(key) != null;
+        }
+
+        @Specialization(guards = {"isSmallSet(thisObj)", "isIdentityKey(key)"})
+        protected boolean hasSmallIdentity(JSSetObject thisObj, Object key) {
+            return JSSet.getInternalSet(thisObj).getSmallIdentity(key) != null;
+        }
+
+        @Specialization(guards = "isSmallSet(thisObj)")
+        protected boolean hasSmallString(JSSetObject thisObj, TruffleString key,
+                        @Cached TruffleString.EqualNode equalNode) {
+            return JSSet.getInternalSet(thisObj).getSmall(key, equalNode) != null;
+        }
+
+        @Specialization
+        protected boolean hasInt(JSSetObject thisObj, int key) {
+            return JSSet.getInternalSet(thisObj).has(key);
+        }
+
         @Specialization
         protected boolean has(JSSetObject thisObj, Object key) {
             Object normalizedKey = normalize(key);
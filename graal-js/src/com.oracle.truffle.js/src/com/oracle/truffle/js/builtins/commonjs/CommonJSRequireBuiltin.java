@@ -264,14 +264,39 @@ public abstract class CommonJSRequireBuiltin extends GlobalBuiltins.JSFileLoadin
     private static Object parseModule(JSRealm realm, Source source) {
         JSContext context = realm.getContext();
         String body = source.getCharacters() + "\n";
-        // Will throw a JS error (if syntax is wrong).
-        context.getEvaluator().checkFunctionSyntax(context, context.getParserOptions(), MODULE_FUNCTION_ARGS, body, false, false, source.getPath());
-        CharSequence characters = MODULE_PREAMBLE_PREFIX + MODULE_FUNCTION_ARGS + MODULE_PREAMBLE_POST + body + MODULE_END;
-        Source moduleSources = Source.newBuilder(source).content(characters).build();
+        Source moduleSources = createModuleFunctionSource(source, body);
+        // Parse cache entries of module functions are only written after this check.
+        if (!context.getEvaluator().hasParseCacheEntry(context, moduleSources, context.getParserOptions().isStrict())) {
+            checkModuleSyntax(context, source, body);
+        }
         CallTarget moduleCallTarget = realm.getEnv().parsePublic(moduleSources);
         return moduleCallTarget.call();
     }
 
+    /**
+     * Checks that the given module is a valid function body, i.e., that it does not close the
+     * function it is wrapped in. Throws a JS SyntaxError otherwise.
+     */
+    public static void checkModuleSyntax(JSContext context, Source source) {
+        checkModuleSyntax(context, source, source.getCharacters() + "\n");
+    }
+
+    private static void checkModuleSyntax(JSContext context, Source source, String body) {
+        context.getEvaluator().checkFunctionSyntax(context, context.getParserOptions(), MODULE_FUNCTION_ARGS, body, false, false, source.getPath());
+    }
+
+    /**
+     * Returns the source of the function expression that is evaluated to load the given module.
+     */
+    public static Source createModuleFunctionSource(Source source) {
+        return createModuleFunctionSource(source, source.getCharacters() + "\n");
+    }
+
+    private static Source createModuleFunctionSource(Source source, String body) {
+        CharSequence characters = MODULE_PREAMBLE_PREFIX + MODULE_FUNCTION_ARGS + MODULE_PREAMBLE_POST + body + MODULE_END;
+        return Source.newBuilder(source).content(characters).build();
+    }
+
     private JSDynamicObject evalJsonFile(TruffleFile jsonFile) {
         try {
             if (fileExists(jsonFile)) {
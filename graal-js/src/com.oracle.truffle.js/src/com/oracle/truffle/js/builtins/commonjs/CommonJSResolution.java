@@ -127,6 +127,14 @@ public final class CommonJSResolution {
      */
     @CompilerDirectives.TruffleBoundary
     static TruffleFile resolve(JSRealm realm, String moduleIdentifier, TruffleFile entryPath) {
+        CommonJSResolutionCache cache = realm.getCommonJSResolutionCache();
+        if (cache != null) {
+            return cache.resolve(realm, moduleIdentifier, entryPath);
+        }
+        return resolveUncached(realm, moduleIdentifier, entryPath);
+    }
+
+    static TruffleFile resolveUncached(JSRealm realm, String moduleIdentifier, TruffleFile entryPath) {
         // 1. If X is an empty module
         if (moduleIdentifier.isEmpty()) {
             return null;
@@ -170,7 +178,7 @@ public final class CommonJSResolution {
         return null;
     }
 
-    public static TruffleFile loadIndex(TruffleFile modulePath) {
+    static TruffleFile loadIndex(JSRealm realm, TruffleFile modulePath) {
         /* @formatter:off
          *
          * LOAD_INDEX(X)
@@ -181,20 +189,20 @@ public final class CommonJSResolution {
          * @formatter:on
          */
         TruffleFile indexJs = joinPaths(modulePath, INDEX_JS);
-        if (fileExists(indexJs)) {
+        if (fileExists(realm, indexJs)) {
             return indexJs;
         }
         TruffleFile indexJson = joinPaths(modulePath, INDEX_JSON);
-        if (fileExists(indexJson)) {
+        if (fileExists(realm, indexJson)) {
             return indexJson;
-        } else if (fileExists(joinPaths(modulePath, INDEX_NODE))) {
+        } else if (fileExists(realm, joinPaths(modulePath, INDEX_NODE))) {
             // Ignore .node files.
             return null;
         }
         return null;
     }
 
-    static TruffleFile loadAsFile(TruffleLanguage.Env env, TruffleFile modulePath) {
+    static TruffleFile loadAsFile(JSRealm realm, TruffleFile modulePath) {
         /* @formatter:off
          *
          * LOAD_AS_FILE(X)
@@ -205,18 +213,19 @@ public final class CommonJSResolution {
          *
          * @formatter:on
          */
-        if (fileExists(modulePath)) {
+        if (fileExists(realm, modulePath)) {
             return modulePath;
         }
+        TruffleLanguage.Env env = realm.getEnv();
         TruffleFile moduleJs = env.getPublicTruffleFile(modulePath.toString() + Strings.JS_EXT);
-        if (fileExists(moduleJs)) {
+        if (fileExists(realm, moduleJs)) {
             return moduleJs;
         }
         TruffleFile moduleJson = env.getPublicTruffleFile(modulePath.toString() + Strings.JSON_EXT);
-        if (fileExists(moduleJson)) {
+        if (fileExists(realm, moduleJson)) {
             return moduleJson;
         }
-        if (fileExists(env.getPublicTruffleFile(modulePath.toString() + Strings.NODE_EXT))) {
+        if (fileExists(realm, env.getPublicTruffleFile(modulePath.toString() + Strings.NODE_EXT))) {
             // .node files not supported.
             return null;
         }
@@ -238,7 +247,7 @@ public final class CommonJSResolution {
     }
 
     private static TruffleFile loadAsFileOrDirectory(JSRealm realm, TruffleFile modulePath) {
-        TruffleFile maybeFile = loadAsFile(realm.getEnv(), modulePath);
+        TruffleFile maybeFile = loadAsFile(realm, modulePath);
         if (maybeFile == null) {
             return loadAsDirectory(realm, modulePath);
         } else {
@@ -258,27 +267,43 @@ public final class CommonJSResolution {
 
     private static TruffleFile loadAsDirectory(JSRealm realm, TruffleFile modulePath) {
         TruffleFile packageJson = joinPaths(modulePath, PACKAGE_JSON);
-        if (fileExists(packageJson)) {
-            JSDynamicObject jsonObj = loadJsonObject(packageJson, realm);
-            if (JSDynamicObject.isJSDynamicObject(jsonObj)) {
-                Object main = JSObject.get(jsonObj, Strings.PACKAGE_JSON_MAIN_PROPERTY_NAME);
+        if (fileExists(realm, packageJson)) {
+            Object main = getPackageJsonMain(realm, packageJson);
+            if (main != null) {
                 if (!Strings.isTString(main)) {
-                    return loadIndex(modulePath);
+                    return loadIndex(realm, modulePath);
                 }
                 TruffleFile module = joinPaths(modulePath, JSRuntime.safeToString(main).toJavaStringUncached());
-                TruffleFile asFile = loadAsFile(realm.getEnv(), module);
+                TruffleFile asFile = loadAsFile(realm, module);
                 if (asFile != null) {
                     return asFile;
                 } else {
-                    return loadIndex(module);
+                    return loadIndex(realm, module);
                 }
             }
         } else {
-            return loadIndex(modulePath);
+            return loadIndex(realm, modulePath);
         }
         return null;
     }
 
+    /**
+     * Returns the {@code main} property of a {@code package.json} file, or {@code null} if the file
+     * does not contain a JSON object.
+     */
+    private static Object getPackageJsonMain(JSRealm realm, TruffleFile packageJson) {
+        CommonJSResolutionCache cache = realm.getCommonJSResolutionCache();
+        if (cache != null && cache.hasPackageJsonMain(packageJson)) {
+            return cache.getPackageJsonMain(packageJson);
+        }
+        JSDynamicObject jsonObj = loadJsonObject(packageJson, realm);
+        Object main = JSDynamicObject.isJSDynamicObject(jsonObj) ? JSObject.get(jsonObj, Strings.PACKAGE_JSON_MAIN_PROPERTY_NAME) : null;
+        if (cache != null) {
+            cache.putPackageJsonMain(packageJson, main);
+        }
+        return main;
+    }
+
     public static JSDynamicObject loadJsonObject(TruffleFile jsonFile, JSRealm realm) {
         try {
             if (fileExists(jsonFile)) {
@@ -315,6 +340,11 @@ public final class CommonJSResolution {
         return modulePath.exists() && modulePath.isRegularFile();
     }
 
+    private static boolean fileExists(JSRealm realm, TruffleFile modulePath) {
+        CommonJSResolutionCache cache = realm.getCommonJSResolutionCache();
+        return cache != null ? cache.fileExists(modulePath) : fileExists(modulePath);
+    }
+
     private static boolean isPathFileName(String moduleIdentifier) {
         return moduleIdentifier.startsWith(SLASH) || moduleIdentifier.startsWith(DOT_SLASH) || moduleIdentifier.startsWith(DOT_DOT_SLASH);
     }
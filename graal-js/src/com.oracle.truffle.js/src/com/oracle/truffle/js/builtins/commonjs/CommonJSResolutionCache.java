@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.commonjs;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.js.runtime.JSRealm;
+
+/**
+ * Per-realm memoization of CommonJS module resolution. Remembers the result of resolving a module
+ * identifier from a directory (including identifiers that could not be resolved), the outcome of
+ * file existence checks, and the {@code main} entry of {@code package.json} files.
+ *
+ * A remembered resolution is only used if the resolved file still exists; otherwise, the whole
+ * cache is invalidated. Missing files and identifiers that could not be resolved are only
+ * remembered while the modification times of the directories they were looked up in are
+ * unchanged. Each of these directories is checked at most once per resolution.
+ */
+public final class CommonJSResolutionCache {
+
+    /** Stamp of a directory that does not exist. */
+    private static final long MISSING_DIRECTORY = -1;
+    /** Stamp of a directory whose modification time cannot be read; never considered unchanged. */
+    private static final long UNKNOWN_DIRECTORY = Long.MIN_VALUE;
+
+    private static final class Resolution {
+        final TruffleFile module;
+        /** Number of file system probes performed to resolve the module. */
+        final int probes;
+        /** Stamps of the directories in which files were missing, if the module was not found. */
+        final Map<TruffleFile, Long> directories;
+
+        Resolution(TruffleFile module, int probes, Map<TruffleFile, Long> directories) {
+            this.module = module;
+            this.probes = probes;
+            this.directories = directories;
+        }
+    }
+
+    private final Map<TruffleFile, Map<String, Resolution>> resolutions = new HashMap<>();
+    private final Set<TruffleFile> regularFiles = new HashSet<>();
+    /** Missing files, mapped to the stamp of their directory at the time they were checked. */
+    private final Map<TruffleFile, Long> missingFiles = new HashMap<>();
+    private final Map<TruffleFile, Object> packageJsonMain = new HashMap<>();
+
+    /** Directory stamps read during the current resolution. */
+    private final Map<TruffleFile, Long> currentStamps = new HashMap<>();
+    /** Directories in which files were missing during the current uncached resolution. */
+    private Map<TruffleFile, Long> currentDirectories;
+
+    private long probes;
+    private long probesSaved;
+    private long hits;
+    private long misses;
+    private long invalidations;
+
+    TruffleFile resolve(JSRealm realm, String moduleIdentifier, TruffleFile entryPath) {
+        currentStamps.clear();
+        Map<String, Resolution> byIdentifier = resolutions.get(entryPath);
+        Resolution resolution = byIdentifier == null ? null : byIdentifier.get(moduleIdentifier);
+        if (resolution != null) {
+            if (resolution.module == null) {
+                long probesBefore = probes;
+                if (areUnchanged(resolution.directories)) {
+                    hits++;
+                    probesSaved += Math.max(0, resolution.probes - (probes - probesBefore));
+                    return null;
+                }
+                // a directory has been modified, so the identifier is resolved again
+            } else {
+                probes++;
+                if (CommonJSResolution.fileExists(resolution.module)) {
+                    hits++;
+                    probesSaved += resolution.probes - 1;
+                    return resolution.module;
+                }
+                invalidate();
+            }
+        }
+        misses++;
+        long probesBefore = probes;
+        Map<TruffleFile, Long> directories = new HashMap<>();
+        currentDirectories = directories;
+        TruffleFile module;
+        try {
+            module = CommonJSResolution.resolveUncached(realm, moduleIdentifier, entryPath);
+        } finally {
+            currentDirectories = null;
+        }
+        resolutions.computeIfAbsent(entryPath, (key) -> new HashMap<>()).put(moduleIdentifier, new Resolution(module, (int) (probes - probesBefore), module == null ? directories : null));
+        return module;
+    }
+
+    boolean fileExists(TruffleFile file) {
+        if (regularFiles.contains(file)) {
+            probesSaved++;
+            return true;
+        }
+        TruffleFile directory = file.getParent();
+        Long missingStamp = missingFiles.get(file);
+        long stamp = getDirectoryStamp(directory);
+        if (missingStamp != null && isUnchanged(missingStamp, stamp)) {
+            probesSaved++;
+            rememberMissing(directory, stamp);
+            return false;
+        }
+        probes++;
+        boolean result = CommonJSResolution.fileExists(file);
+        if (result) {
+            regularFiles.add(file);
+            missingFiles.remove(file);
+        } else {
+            missingFiles.put(file, stamp);
+            rememberMissing(directory, stamp);
+        }
+        return result;
+    }
+
+    private void rememberMissing(TruffleFile directory, long stamp) {
+        if (currentDirectories != null && directory != null) {
+            currentDirectories.putIfAbsent(directory, stamp);
+        }
+    }
+
+    private boolean areUnchanged(Map<TruffleFile, Long> directories) {
+        for (Map.Entry<TruffleFile, Long> entry : directories.entrySet()) {
+            if (!isUnchanged(entry.getValue(), getDirectoryStamp(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUnchanged(long rememberedStamp, long stamp) {
+        return rememberedStamp != UNKNOWN_DIRECTORY && rememberedStamp == stamp;
+    }
+
+    /**
+     * Returns the modification time of the directory, read at most once per resolution. It is read
+     * before the files in the directory are checked so that files added concurrently are noticed.
+     */
+    private long getDirectoryStamp(TruffleFile directory) {
+        if (directory == null) {
+            return UNKNOWN_DIRECTORY;
+        }
+        Long stamp = currentStamps.get(directory);
+        if (stamp == null) {
+            probes++;
+            stamp = readDirectoryStamp(directory);
+            currentStamps.put(directory, stamp);
+        }
+        return stamp;
+    }
+
+    private static long readDirectoryStamp(TruffleFile directory) {
+        try {
+            if (!directory.exists()) {
+                return MISSING_DIRECTORY;
+            }
+            return directory.getLastModifiedTime().to(TimeUnit.NANOSECONDS);
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            return UNKNOWN_DIRECTORY;
+        }
+    }
+
+    boolean hasPackageJsonMain(TruffleFile packageJson) {
+        if (packageJsonMain.containsKey(packageJson)) {
+            probesSaved++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the remembered {@code main} entry of a {@code package.json} file, or {@code null} if
+     * the file did not contain a JSON object.
+     */
+    Object getPackageJsonMain(TruffleFile packageJson) {
+        return packageJsonMain.get(packageJson);
+    }
+
+    void putPackageJsonMain(TruffleFile packageJson, Object main) {
+        probes++;
+        packageJsonMain.put(packageJson, main);
+    }
+
+    private void invalidate() {
+        resolutions.clear();
+        regularFiles.clear();
+        missingFiles.clear();
+        packageJsonMain.clear();
+        invalidations++;
+    }
+
+    /** Number of file system probes (file checks and {@code package.json} reads) performed. */
+    public long getProbeCount() {
+        return probes;
+    }
+
+    /** Number of file system probes avoided by using remembered results. */
+    public long getProbesSavedCount() {
+        return probesSaved;
+    }
+
+    public long getHitCount() {
+        return hits;
+    }
+
+    public long getMissCount() {
+        return misses;
+    }
+
+    public long getInvalidationCount() {
+        return invalidations;
+    }
+
+    /** Counters of this cache by name, for debugging. */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("hits", hits);
+        statistics.put("misses", misses);
+        statistics.put("probes", probes);
+        statistics.put("probesSaved", probesSaved);
+        statistics.put("invalidations", invalidations);
+        return statistics;
+    }
+}
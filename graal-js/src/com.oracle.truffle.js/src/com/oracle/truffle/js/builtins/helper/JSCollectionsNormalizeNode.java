@@ -105,6 +105,13 @@ public abstract class JSCollectionsNormalizeNode extends JavaScriptBaseNode {
         return bigInt;
     }
 
+    /**
+     * Keys that are not changed by normalization and are only equal to themselves.
+     */
+    public static boolean isIdentityKey(Object key) {
+        return key instanceof JSDynamicObject || key instanceof Symbol;
+    }
+
     @Specialization(guards = "isForeignObject(object)", limit = "InteropLibraryLimit")
     public Object doForeignObject(Object object,
                     @CachedLibrary("object") InteropLibrary interop,
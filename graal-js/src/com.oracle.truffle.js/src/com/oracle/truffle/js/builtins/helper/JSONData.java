@@ -52,13 +52,19 @@ public class JSONData {
     private final TruffleString gap;
     private final List<Object> propertyList;
     private final Object replacerFnObj;
+    private final StreamingJSONOutput output;
 
     private static final int MAX_STACK_SIZE = 1000;
 
     public JSONData(TruffleString gap, Object replacerFnObj, List<Object> replacerList) {
+        this(gap, replacerFnObj, replacerList, null);
+    }
+
+    public JSONData(TruffleString gap, Object replacerFnObj, List<Object> replacerList, StreamingJSONOutput output) {
         this.gap = gap;
         this.replacerFnObj = replacerFnObj;
         this.propertyList = replacerList;
+        this.output = output;
     }
 
     public TruffleString getGap() {
@@ -81,6 +87,14 @@ public class JSONData {
         return replacerFnObj;
     }
 
+    /**
+     * Returns the destination that the serialized text is streamed to, or {@code null} if it is
+     * returned as a string.
+     */
+    public StreamingJSONOutput getOutput() {
+        return output;
+    }
+
     public void pushStack(Object value) {
         stack.add(value);
     }
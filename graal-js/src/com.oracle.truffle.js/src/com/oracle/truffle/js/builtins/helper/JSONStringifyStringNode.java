@@ -50,6 +50,8 @@ import com.oracle.truffle.api.interop.InvalidArrayIndexException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.api.strings.TruffleStringBuilder;
 import com.oracle.truffle.js.nodes.JSGuards;
@@ -58,6 +60,7 @@ import com.oracle.truffle.js.nodes.access.PropertyGetNode;
 import com.oracle.truffle.js.nodes.function.JSFunctionCallNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
+import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
@@ -67,13 +70,17 @@ import com.oracle.truffle.js.runtime.builtins.JSBigInt;
 import com.oracle.truffle.js.runtime.builtins.JSBoolean;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSNumber;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.interop.JSInteropUtil;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
+import com.oracle.truffle.js.runtime.util.UnmodifiableArrayList;
 
 public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
 
@@ -89,6 +96,18 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
 
     private final StringBuilderProfile stringBuilderProfile;
 
+    /** Number of buffered characters after which streamed output is written out. */
+    private static final int FLUSH_THRESHOLD = 8192;
+    /** Number of shapes for which serialization plans are cached, must be a power of two. */
+    private static final int PLAN_CACHE_SIZE = 16;
+    /**
+     * Serialization plans of recently stringified ordinary objects, indexed by shape. This node may
+     * be used by several threads and realms of the context at once, so a slot is only ever replaced
+     * by a new, fully constructed plan, which is immutable. A reader thus sees either the old or the
+     * new plan of a slot, and each is valid for its shape; a lost update just recreates a plan.
+     */
+    private final SerializationPlan[] planCache = new SerializationPlan[PLAN_CACHE_SIZE];
+
     protected JSONStringifyStringNode(JSContext context) {
         this.context = context;
         this.stringBuilderProfile = StringBuilderProfile.create(context.getStringLengthLimit());
@@ -110,7 +129,10 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
                 return Undefined.instance;
             }
             TruffleStringBuilder sb = stringBuilderProfile.newStringBuilder();
-            jsonStrExecute(sb, data, value);
+            sb = jsonStrExecute(sb, data, value);
+            if (data.getOutput() != null) {
+                return writeLastChunk(data.getOutput(), sb);
+            }
             return builderToString(sb);
         } catch (StackOverflowError ex) {
             throwStackError();
@@ -118,13 +140,24 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         }
     }
 
+    /**
+     * Writes the rest of the streamed text, flushes the target and returns the number of bytes
+     * written.
+     */
+    @TruffleBoundary(transferToInterpreterOnException = false)
+    private Object writeLastChunk(StreamingJSONOutput output, TruffleStringBuilder sb) {
+        output.write(builderToString(sb));
+        output.flush();
+        return JSRuntime.longToIntOrDouble(output.getBytesWritten());
+    }
+
     private static boolean isStringifyable(Object value) {
         // values that are not stringifyable are replaced by undefined in jsonStrPrepare()
         return value != Undefined.instance;
     }
 
     @TruffleBoundary
-    private void jsonStrExecute(TruffleStringBuilder builder, JSONData data, Object value) {
+    private TruffleStringBuilder jsonStrExecute(TruffleStringBuilder builder, JSONData data, Object value) {
         assert isStringifyable(value);
         if (value == Null.instance) {
             append(builder, Null.NAME);
@@ -139,33 +172,35 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         } else if (JSDynamicObject.isJSDynamicObject(value) && !JSRuntime.isCallableIsJSObject((JSDynamicObject) value)) {
             JSDynamicObject valueObj = (JSDynamicObject) value;
             if (JSRuntime.isArray(valueObj)) {
-                jsonJA(builder, data, valueObj);
+                return jsonJA(builder, data, valueObj);
             } else {
-                jsonJO(builder, data, valueObj);
+                return jsonJO(builder, data, valueObj);
             }
         } else if (value instanceof TruffleObject) {
             assert JSGuards.isForeignObject(value);
-            jsonForeignObject(builder, data, value);
+            return jsonForeignObject(builder, data, value);
         } else if (JSRuntime.isJavaPrimitive(value)) {
             // call toString on Java objects, GR-3722
             jsonQuote(builder, Strings.fromJavaString(value.toString()));
         } else {
             throw new RuntimeException("JSON.stringify: should never reach here, unknown type: " + value + " " + value.getClass());
         }
+        return builder;
     }
 
-    private void jsonForeignObject(TruffleStringBuilder sb, JSONData data, Object obj) {
+    private TruffleStringBuilder jsonForeignObject(TruffleStringBuilder sb, JSONData data, Object obj) {
         InteropLibrary interop = InteropLibrary.getFactory().getUncached(obj);
         if (interop.isNull(obj)) {
             append(sb, Null.NAME);
+            return sb;
         } else if (JSInteropUtil.isBoxedPrimitive(obj, interop)) {
             Object unboxed = JSInteropUtil.toPrimitiveOrDefault(obj, Null.instance, interop, this);
             assert !JSGuards.isForeignObject(unboxed);
-            jsonStrExecute(sb, data, unboxed);
+            return jsonStrExecute(sb, data, unboxed);
         } else if (interop.hasArrayElements(obj)) {
-            jsonJA(sb, data, obj);
+            return jsonJA(sb, data, obj);
         } else {
-            jsonJO(sb, data, obj);
+            return jsonJO(sb, data, obj);
         }
     }
 
@@ -210,7 +245,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         Object value = valueArg;
         boolean tryToJSON = false;
         if (JSRuntime.isObject(value) || JSRuntime.isBigInt(value)) {
-            tryToJSON = true;
+            tryToJSON = mayHaveToJSON(value);
         } else if (JSRuntime.isForeignObject(value)) {
             InteropLibrary interop = InteropLibrary.getUncached(value);
             tryToJSON = interop.hasMembers(value) && !interop.isNull(value) && !JSInteropUtil.isBoxedPrimitive(value, interop);
@@ -270,7 +305,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
     }
 
     @TruffleBoundary
-    private TruffleStringBuilder jsonJO(TruffleStringBuilder sb, JSONData data, Object value) {
+    private TruffleStringBuilder jsonJO(TruffleStringBuilder builder, JSONData data, Object value) {
         checkCycle(data, value);
         data.pushStack(value);
         checkStackDepth(data);
@@ -278,25 +313,31 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         int indent = data.getIndent() + 1;
         data.setIndent(indent);
 
-        concatStart(sb, '{');
-        int lengthBefore = StringBuilderProfile.length(sb);
+        concatStart(builder, '{');
+        int lengthBefore = StringBuilderProfile.length(builder);
+        TruffleStringBuilder sb;
         if (data.getPropertyList() == null) {
-            if (JSDynamicObject.isJSDynamicObject(value)) {
-                serializeJSONObjectProperties(sb, data, value, indent, JSObject.enumerableOwnNames((JSDynamicObject) value));
+            SerializationPlan plan = getPlanIfSerializable(value);
+            if (plan != null) {
+                sb = serializeJSONObjectProperties(builder, data, (JSDynamicObject) value, indent, plan);
+            } else if (JSDynamicObject.isJSDynamicObject(value)) {
+                sb = serializeJSONObjectProperties(builder, data, value, indent, JSObject.enumerableOwnNames((JSDynamicObject) value));
             } else {
-                serializeForeignObjectProperties(sb, data, value, indent);
+                sb = serializeForeignObjectProperties(builder, data, value, indent);
             }
         } else {
-            serializeJSONObjectProperties(sb, data, value, indent, data.getPropertyList());
+            sb = serializeJSONObjectProperties(builder, data, value, indent, data.getPropertyList());
         }
-        concatEnd(sb, data, stepback, '}', lengthBefore != StringBuilderProfile.length(sb));
+        // the builder is only replaced by a flush, which happens after the first property
+        concatEnd(sb, data, stepback, '}', sb != builder || lengthBefore != StringBuilderProfile.length(sb));
 
         data.popStack();
         data.setIndent(stepback);
         return sb;
     }
 
-    private TruffleStringBuilder serializeJSONObjectProperties(TruffleStringBuilder sb, JSONData data, Object value, int indent, List<? extends Object> keys) {
+    private TruffleStringBuilder serializeJSONObjectProperties(TruffleStringBuilder builder, JSONData data, Object value, int indent, List<? extends Object> keys) {
+        TruffleStringBuilder sb = builder;
         boolean isFirst = true;
         for (Object key : keys) {
             TruffleString name = (TruffleString) key;
@@ -310,12 +351,106 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
                 }
                 jsonQuote(sb, name);
                 appendColon(sb, data);
-                jsonStrExecute(sb, data, strPPrepared);
+                sb = flushIfNeeded(jsonStrExecute(sb, data, strPPrepared), data);
+            }
+        }
+        return sb;
+    }
+
+    private TruffleStringBuilder serializeJSONObjectProperties(TruffleStringBuilder builder, JSONData data, JSDynamicObject value, int indent, SerializationPlan plan) {
+        TruffleStringBuilder sb = builder;
+        boolean isFirst = true;
+        for (int i = 0; i < plan.keys.length; i++) {
+            TruffleString name = plan.keys[i];
+            Object propertyValue;
+            if (value.getShape() == plan.shape) {
+                propertyValue = JSProperty.getValue(plan.properties[i], value, value, this);
+            } else {
+                // the object has been modified by toJSON or the replacer function
+                propertyValue = JSObject.get(value, name);
+            }
+            Object strPPrepared = jsonStrPreparePart2(data, name, value, propertyValue);
+            if (isStringifyable(strPPrepared)) {
+                if (isFirst) {
+                    concatFirstStep(sb, data);
+                    isFirst = false;
+                } else {
+                    appendSeparator(sb, data, indent);
+                }
+                append(sb, plan.quotedKeys[i]);
+                appendColon(sb, data);
+                sb = flushIfNeeded(jsonStrExecute(sb, data, strPPrepared), data);
             }
         }
         return sb;
     }
 
+    /**
+     * Returns the serialization plan for an ordinary object whose enumerable properties are all
+     * data properties, or {@code null} if the object has to be serialized generically.
+     */
+    private SerializationPlan getPlanIfSerializable(Object value) {
+        if (JSConfig.FastOwnKeys && JSOrdinary.isJSOrdinaryObject(value)) {
+            SerializationPlan plan = getPlan((JSDynamicObject) value);
+            if (plan.properties != null) {
+                return plan;
+            }
+        }
+        return null;
+    }
+
+    private SerializationPlan getPlan(JSDynamicObject object) {
+        Shape shape = object.getShape();
+        int index = System.identityHashCode(shape) & (PLAN_CACHE_SIZE - 1);
+        SerializationPlan plan = planCache[index];
+        if (plan == null || plan.shape != shape) {
+            plan = createPlan(shape);
+            planCache[index] = plan;
+        }
+        return plan;
+    }
+
+    private SerializationPlan createPlan(Shape shape) {
+        boolean hasToJSON = shape.hasProperty(Strings.TO_JSON);
+        UnmodifiableArrayList<TruffleString> names = JSShape.getEnumerablePropertyNames(shape);
+        TruffleString[] keys = new TruffleString[names.size()];
+        Property[] properties = new Property[keys.length];
+        TruffleString[] quotedKeys = new TruffleString[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            TruffleString key = names.get(i);
+            Property property = shape.getProperty(key);
+            if (!JSProperty.isData(property) || JSProperty.isProxy(property)) {
+                return new SerializationPlan(shape, hasToJSON, null, null, null);
+            }
+            keys[i] = key;
+            properties[i] = property;
+            quotedKeys[i] = builderToString(jsonQuote(stringBuilderProfile.newStringBuilder(), key));
+        }
+        return new SerializationPlan(shape, hasToJSON, keys, properties, quotedKeys);
+    }
+
+    /**
+     * Returns {@code false} if the value is an ordinary object for which the lookup of toJSON is
+     * known to return undefined, i.e., the object has no toJSON property and its prototype is
+     * either null or an Object.prototype without a toJSON property.
+     */
+    private boolean mayHaveToJSON(Object value) {
+        if (!JSConfig.FastOwnKeys || !JSOrdinary.isJSOrdinaryObject(value)) {
+            return true;
+        }
+        JSDynamicObject object = (JSDynamicObject) value;
+        if (getPlan(object).hasToJSON) {
+            return true;
+        }
+        JSDynamicObject prototype = JSObject.getPrototype(object);
+        if (prototype == Null.instance) {
+            return false;
+        } else if (prototype != getRealm().getObjectPrototype()) {
+            return true;
+        }
+        return getPlan(prototype).hasToJSON;
+    }
+
     private void appendColon(TruffleStringBuilder sb, JSONData data) {
         append(sb, ':');
         if (Strings.length(data.getGap()) > 0) {
@@ -323,11 +458,12 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         }
     }
 
-    private void serializeForeignObjectProperties(TruffleStringBuilder sb, JSONData data, Object obj, int indent) {
+    private TruffleStringBuilder serializeForeignObjectProperties(TruffleStringBuilder builder, JSONData data, Object obj, int indent) {
+        TruffleStringBuilder sb = builder;
         try {
             InteropLibrary objInterop = InteropLibrary.getFactory().getUncached(obj);
             if (!objInterop.hasMembers(obj)) {
-                return;
+                return sb;
             }
             Object keysObj = objInterop.getMembers(obj);
             InteropLibrary keysInterop = InteropLibrary.getFactory().getUncached(keysObj);
@@ -351,16 +487,17 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
                     }
                     jsonQuote(sb, stringKey);
                     appendColon(sb, data);
-                    jsonStrExecute(sb, data, strPPrepared);
+                    sb = flushIfNeeded(jsonStrExecute(sb, data, strPPrepared), data);
                 }
             }
         } catch (UnsupportedMessageException | InvalidArrayIndexException e) {
             throw Errors.createTypeErrorInteropException(obj, e, "SerializeJSONObject", this);
         }
+        return sb;
     }
 
     @TruffleBoundary
-    private TruffleStringBuilder jsonJA(TruffleStringBuilder sb, JSONData data, Object value) {
+    private TruffleStringBuilder jsonJA(TruffleStringBuilder builder, JSONData data, Object value) {
         checkCycle(data, value);
         assert JSRuntime.isArray(value) || InteropLibrary.getUncached().hasArrayElements(value);
         data.pushStack(value);
@@ -386,6 +523,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
             throw Errors.createRangeErrorInvalidStringLength();
         }
         int len = (int) length;
+        TruffleStringBuilder sb = builder;
         concatStart(sb, '[');
         for (int index = 0; index < len; index++) {
             if (index == 0) {
@@ -402,10 +540,11 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
                 strPPrepared = jsonStrPrepare(data, Strings.fromInt(index), value);
             }
             if (isStringifyable(strPPrepared)) {
-                jsonStrExecute(sb, data, strPPrepared);
+                sb = jsonStrExecute(sb, data, strPPrepared);
             } else {
                 append(sb, Null.NAME);
             }
+            sb = flushIfNeeded(sb, data);
         }
 
         concatEnd(sb, data, stepback, ']', len > 0);
@@ -415,6 +554,20 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         return sb;
     }
 
+    /**
+     * When streaming, writes out the serialized text once enough has accumulated and continues
+     * with a new builder. Only called after complete values, so no chunk ends within a surrogate
+     * pair.
+     */
+    private TruffleStringBuilder flushIfNeeded(TruffleStringBuilder sb, JSONData data) {
+        StreamingJSONOutput output = data.getOutput();
+        if (output != null && StringBuilderProfile.length(sb) >= FLUSH_THRESHOLD) {
+            output.write(builderToString(sb));
+            return stringBuilderProfile.newStringBuilder();
+        }
+        return sb;
+    }
+
     private static void checkStackDepth(JSONData data) {
         if (data.stackTooDeep()) {
             throwStackError();
@@ -605,4 +758,27 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         }
         return StringBuilderProfile.toString(builderToStringNode, sb);
     }
+
+    /**
+     * Serialization plan for ordinary objects of one shape: the enumerable own properties in
+     * serialization order together with their already quoted keys. Immutable; the arrays are never
+     * modified after construction.
+     */
+    static final class SerializationPlan {
+        final Shape shape;
+        /** Whether the shape itself has a toJSON property. */
+        final boolean hasToJSON;
+        /** Keys, properties and quoted keys, or {@code null} if not all are data properties. */
+        final TruffleString[] keys;
+        final Property[] properties;
+        final TruffleString[] quotedKeys;
+
+        SerializationPlan(Shape shape, boolean hasToJSON, TruffleString[] keys, Property[] properties, TruffleString[] quotedKeys) {
+            this.shape = shape;
+            this.hasToJSON = hasToJSON;
+            this.keys = keys;
+            this.properties = properties;
+            this.quotedKeys = quotedKeys;
+        }
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.helper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSRealm;
+
+/**
+ * Destination of a streamed {@code JSON.stringify}: receives the serialized text in chunks and
+ * writes it as UTF-8 into a buffer or a host {@link OutputStream}, so that the complete text never
+ * has to be materialized as a single string.
+ */
+public abstract class StreamingJSONOutput {
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    /** Scratch space for the UTF-8 encoding of one chunk. */
+    private byte[] bytes = new byte[INITIAL_BUFFER_SIZE];
+    private long bytesWritten;
+
+    /**
+     * Creates an output for a supported JSON target: an {@code ArrayBuffer}, an {@code ArrayBuffer}
+     * view, or a host {@link ByteBuffer} or {@link OutputStream}. Buffers are filled from their
+     * start, host byte buffers from their current position.
+     */
+    @TruffleBoundary(transferToInterpreterOnException = false)
+    public static StreamingJSONOutput create(JSRealm realm, Object target) {
+        TruffleLanguage.Env env = realm.getEnv();
+        if (env.isHostObject(target)) {
+            Object hostTarget = env.asHostObject(target);
+            if (hostTarget instanceof OutputStream) {
+                return new StreamOutput((OutputStream) hostTarget);
+            } else if (hostTarget instanceof ByteBuffer) {
+                return new BufferOutput((ByteBuffer) hostTarget);
+            }
+        }
+        ByteBuffer buffer = StreamingJSONParser.toByteBuffer(realm, target, "target");
+        if (buffer != null) {
+            return new BufferOutput(buffer);
+        }
+        throw Errors.createTypeError("JSON target must be an ArrayBuffer, an ArrayBuffer view, a ByteBuffer or an OutputStream");
+    }
+
+    /**
+     * Writes a chunk of serialized text. Chunks must not end within a surrogate pair.
+     */
+    @TruffleBoundary(transferToInterpreterOnException = false)
+    public final void write(TruffleString chunk) {
+        TruffleString utf8 = TruffleString.SwitchEncodingNode.getUncached().execute(chunk, TruffleString.Encoding.UTF_8);
+        int length = utf8.byteLength(TruffleString.Encoding.UTF_8);
+        if (length > bytes.length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+        TruffleString.CopyToByteArrayNode.getUncached().execute(utf8, 0, bytes, 0, length, TruffleString.Encoding.UTF_8);
+        try {
+            writeBytes(bytes, length);
+        } catch (IOException ex) {
+            throw Errors.createError("Cannot write JSON output: " + ex.getMessage(), ex);
+        }
+        bytesWritten += length;
+    }
+
+    public final long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Flushes the written bytes to the underlying target.
+     */
+    @TruffleBoundary(transferToInterpreterOnException = false)
+    public final void flush() {
+        try {
+            flushBytes();
+        } catch (IOException ex) {
+            throw Errors.createError("Cannot write JSON output: " + ex.getMessage(), ex);
+        }
+    }
+
+    protected abstract void writeBytes(byte[] source, int length) throws IOException;
+
+    protected void flushBytes() throws IOException {
+    }
+
+    private static final class BufferOutput extends StreamingJSONOutput {
+        private final ByteBuffer buffer;
+
+        BufferOutput(ByteBuffer buffer) {
+            if (buffer.isReadOnly()) {
+                throw Errors.createTypeError("JSON target must not be a read-only buffer");
+            }
+            this.buffer = buffer;
+        }
+
+        @Override
+        protected void writeBytes(byte[] source, int length) {
+            if (buffer.remaining() < length) {
+                throw Errors.createRangeError("JSON output does not fit into the target buffer");
+            }
+            buffer.put(source, 0, length);
+        }
+    }
+
+    private static final class StreamOutput extends StreamingJSONOutput {
+        private final OutputStream stream;
+
+        StreamOutput(OutputStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        protected void writeBytes(byte[] source, int length) throws IOException {
+            stream.write(source, 0, length);
+        }
+
+        @Override
+        protected void flushBytes() throws IOException {
+            stream.flush();
+        }
+    }
+}
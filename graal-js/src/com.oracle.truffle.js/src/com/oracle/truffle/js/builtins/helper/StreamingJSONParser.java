@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.helper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.Boundaries;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferObject;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.builtins.JSDataView;
+import com.oracle.truffle.js.runtime.objects.IteratorRecord;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+
+/**
+ * JSON parser that consumes its input incrementally from a {@link Reader}, so that the input never
+ * has to be materialized as a single string. Binary input is decoded as UTF-8 on the fly.
+ *
+ * The grammar is the one of {@link TruffleJSONParser}; this class only supplies the input. It
+ * keeps a window of the input that starts at the most recent JSON value, which is as far back as
+ * the grammar ever looks, extends it on demand and scans it in place. The input is limited to
+ * {@link Integer#MAX_VALUE} characters.
+ */
+public final class StreamingJSONParser extends TruffleJSONParser {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    /** The characters of the input from {@link #windowOffset} to {@link #len}. */
+    private char[] window = new char[BUFFER_SIZE];
+    private int windowOffset;
+    /** Start of the most recent JSON value; the input before it is not needed anymore. */
+    private int valueStart;
+    private boolean endOfInput;
+    /**
+     * Whether the whole input is kept, so that errors can be reported by parsing it again like
+     * {@link TruffleJSONParser#error(String)} does in Nashorn compatibility mode.
+     */
+    private final boolean keepInput;
+
+    public StreamingJSONParser(JSContext context, Reader reader) {
+        super(context);
+        this.reader = reader;
+        this.keepInput = context.isOptionNashornCompatibilityMode();
+    }
+
+    /**
+     * Parses the input. An iterator that provides the input in chunks is closed if parsing fails;
+     * host streams are left open.
+     */
+    public Object parse(JSRealm realm) {
+        this.parseStr = Strings.EMPTY_STRING;
+        try {
+            return parseInput(realm);
+        } catch (AbstractTruffleException ex) {
+            if (reader instanceof ChunkReader) {
+                ((ChunkReader) reader).close();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Creates a reader over a supported JSON source: an {@code ArrayBuffer}, an {@code ArrayBuffer}
+     * view, a host {@link InputStream} or {@link ByteBuffer}, or an iterable that produces strings
+     * and buffers as chunks.
+     */
+    public static Reader createReader(JSRealm realm, Object source) {
+        ByteBuffer bytes = toByteBuffer(realm, source, "source");
+        if (bytes != null) {
+            return new InputStreamReader(new ByteBufferInputStream(bytes), StandardCharsets.UTF_8);
+        }
+        TruffleLanguage.Env env = realm.getEnv();
+        if (env.isHostObject(source) && env.asHostObject(source) instanceof InputStream) {
+            return new InputStreamReader((InputStream) env.asHostObject(source), StandardCharsets.UTF_8);
+        }
+        if (JSRuntime.isObject(source) && JSRuntime.isCallable(JSObject.get((JSDynamicObject) source, Symbol.SYMBOL_ITERATOR))) {
+            return new ChunkReader(realm, JSRuntime.getIterator((JSDynamicObject) source));
+        }
+        throw Errors.createTypeError("JSON source must be an ArrayBuffer, an ArrayBuffer view, an InputStream or an iterable");
+    }
+
+    /**
+     * Returns the bytes of an {@code ArrayBuffer}, an {@code ArrayBuffer} view or a host
+     * {@link ByteBuffer}, or {@code null} if the object is none of these.
+     */
+    static ByteBuffer toByteBuffer(JSRealm realm, Object source, String role) {
+        JSArrayBufferObject arrayBuffer;
+        int offset;
+        int length;
+        if (source instanceof JSArrayBufferObject) {
+            arrayBuffer = (JSArrayBufferObject) source;
+            offset = 0;
+            length = -1;
+        } else if (JSArrayBufferView.isJSArrayBufferView(source)) {
+            JSDynamicObject view = (JSDynamicObject) source;
+            arrayBuffer = JSArrayBufferView.getArrayBuffer(view);
+            offset = JSArrayBufferView.getByteOffset(view, realm.getContext());
+            length = JSArrayBufferView.getByteLength(view, realm.getContext());
+        } else if (JSDataView.isJSDataView(source)) {
+            arrayBuffer = JSDataView.getArrayBuffer(source);
+            offset = JSDataView.typedArrayGetOffset(source);
+            length = JSDataView.typedArrayGetLength(source);
+        } else {
+            TruffleLanguage.Env env = realm.getEnv();
+            if (env.isHostObject(source) && env.asHostObject(source) instanceof ByteBuffer) {
+                return Boundaries.byteBufferDuplicate((ByteBuffer) env.asHostObject(source));
+            }
+            return null;
+        }
+        if (JSArrayBuffer.isDetachedBuffer(arrayBuffer)) {
+            throw Errors.createTypeErrorDetachedBuffer();
+        }
+        ByteBuffer bytes;
+        if (JSArrayBuffer.isJSHeapArrayBuffer(arrayBuffer)) {
+            bytes = ByteBuffer.wrap(JSArrayBuffer.getByteArray(arrayBuffer));
+        } else if (JSArrayBuffer.isJSDirectOrSharedArrayBuffer(arrayBuffer)) {
+            bytes = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
+        } else {
+            throw Errors.createTypeError("JSON " + role + " must not be an interop ArrayBuffer");
+        }
+        if (length < 0) {
+            length = bytes.capacity();
+        }
+        return Boundaries.byteBufferSlice(bytes, offset, offset + length);
+    }
+
+    @Override
+    protected Object parseJSONValue(JSRealm realm) {
+        valueStart = pos;
+        return super.parseJSONValue(realm);
+    }
+
+    @Override
+    protected char get(int posParam) {
+        if (!hasChar(posParam)) {
+            // like reading past the end of an input string
+            throw new IndexOutOfBoundsException();
+        }
+        return window[posParam - windowOffset];
+    }
+
+    @Override
+    protected boolean hasChar(int index) {
+        while (index >= len) {
+            if (!readMore()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected int indexOfStringSpecialChar(int fromIndex) {
+        for (int i = fromIndex; hasChar(i); i++) {
+            char c = window[i - windowOffset];
+            if (c == '"' || c == '\\' || c < ' ') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    protected int indexOfNonWhitespace(int fromIndex) {
+        for (int i = fromIndex; hasChar(i); i++) {
+            if (!isWhitespace(window[i - windowOffset])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    protected TruffleString substring(int start, int length) {
+        return Strings.fromCharArray(window, start - windowOffset, length);
+    }
+
+    @Override
+    protected TruffleString inputSubstring(int start, int length) {
+        return substring(start, length);
+    }
+
+    @Override
+    protected boolean regionEquals(int start, TruffleString other, int length) {
+        int offset = start - windowOffset;
+        for (int i = 0; i < length; i++) {
+            if (window[offset + i] != Strings.charAt(other, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected Object error(String message) {
+        if (keepInput) {
+            assert windowOffset == 0;
+            parseStr = Strings.fromCharArray(window, 0, len);
+        }
+        return super.error(message);
+    }
+
+    /**
+     * Drops the input before the current value and reads more input into the window. The window
+     * grows with the current value, so that the characters of long strings are copied a constant
+     * number of times on average.
+     */
+    private boolean readMore() {
+        if (endOfInput) {
+            return false;
+        }
+        int start = keepInput ? windowOffset : valueStart;
+        int keep = len - start;
+        int required = (int) Math.min((long) keep + Math.max(BUFFER_SIZE, keep), Integer.MAX_VALUE - len + keep);
+        if (required == keep) {
+            throw Errors.createRangeError("JSON input is too large");
+        }
+        if (start > windowOffset || window.length < required) {
+            char[] target = window.length < required ? new char[required] : window;
+            System.arraycopy(window, start - windowOffset, target, 0, keep);
+            window = target;
+            windowOffset = start;
+        }
+        int read = read(window, keep, window.length - keep);
+        if (read <= 0) {
+            endOfInput = true;
+            return false;
+        }
+        len += read;
+        return true;
+    }
+
+    /**
+     * Reads at least as many characters as are kept from the previous window (if available), so
+     * that copying the kept characters is amortized.
+     */
+    private int read(char[] target, int offset, int length) {
+        int minimum = Math.max(1, Math.min(offset, length));
+        try {
+            int total = 0;
+            while (total < minimum) {
+                int read = reader.read(target, offset + total, length - total);
+                if (read < 0) {
+                    break;
+                }
+                total += read;
+            }
+            return total;
+        } catch (IOException ex) {
+            throw Errors.createError("Cannot read JSON input: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+
+    /**
+     * Reads the string and buffer chunks produced by an iterator. Byte sequences that are split
+     * between two chunks are decoded correctly.
+     */
+    private static final class ChunkReader extends Reader {
+        private final JSRealm realm;
+        private final IteratorRecord iterator;
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private CharBuffer chunk = CharBuffer.allocate(0);
+        private ByteBuffer pendingBytes;
+        private boolean done;
+
+        ChunkReader(JSRealm realm, IteratorRecord iterator) {
+            this.realm = realm;
+            this.iterator = iterator;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            while (!chunk.hasRemaining()) {
+                if (done) {
+                    return -1;
+                }
+                nextChunk();
+            }
+            int n = Math.min(len, chunk.remaining());
+            chunk.get(cbuf, off, n);
+            return n;
+        }
+
+        private void nextChunk() {
+            Object step = JSRuntime.iteratorStep(iterator);
+            if (step == Boolean.FALSE) {
+                done = true;
+                chunk = decodePendingBytes();
+                return;
+            }
+            Object value = JSRuntime.iteratorValue((JSDynamicObject) step);
+            if (Strings.isTString(value)) {
+                CharBuffer prefix = decodePendingBytes();
+                String string = Strings.toJavaString((TruffleString) value);
+                chunk = prefix.hasRemaining() ? CharBuffer.wrap(prefix + string) : CharBuffer.wrap(string);
+                return;
+            }
+            ByteBuffer bytes = toByteBuffer(realm, value, "chunk");
+            if (bytes == null) {
+                throw Errors.createTypeError("JSON chunk must be a string, an ArrayBuffer or an ArrayBuffer view");
+            }
+            if (pendingBytes != null) {
+                ByteBuffer joined = ByteBuffer.allocate(pendingBytes.remaining() + bytes.remaining());
+                joined.put(pendingBytes).put(bytes).flip();
+                bytes = joined;
+                pendingBytes = null;
+            }
+            CharBuffer out = CharBuffer.allocate(bytes.remaining());
+            decoder.decode(bytes, out, false);
+            if (bytes.hasRemaining()) {
+                // incomplete multi-byte sequence at the end of the chunk
+                pendingBytes = ByteBuffer.allocate(bytes.remaining()).put(bytes);
+                pendingBytes.flip();
+            }
+            out.flip();
+            chunk = out;
+        }
+
+        private CharBuffer decodePendingBytes() {
+            CharBuffer out = CharBuffer.allocate(pendingBytes == null ? 1 : pendingBytes.remaining() + 1);
+            decoder.decode(pendingBytes == null ? ByteBuffer.allocate(0) : pendingBytes, out, true);
+            decoder.flush(out);
+            decoder.reset();
+            pendingBytes = null;
+            out.flip();
+            return out;
+        }
+
+        /**
+         * Closes the iterator after an error. Errors thrown while closing are ignored in favor of
+         * the original one.
+         */
+        @Override
+        public void close() {
+            if (!done) {
+                done = true;
+                try {
+                    JSRuntime.iteratorClose(iterator.getIterator());
+                } catch (AbstractTruffleException ex) {
+                    // ignore
+                }
+            }
+        }
+    }
+}
@@ -42,11 +42,11 @@ package com.oracle.truffle.js.builtins.helper;
 
 import com.oracle.js.parser.ParserException;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.api.strings.TruffleStringBuilder;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
-import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
@@ -55,16 +55,26 @@ import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayObject;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
 
 public class TruffleJSONParser {
 
     protected final JSContext context;
     protected int pos;
+    /** End of the input that is available. */
     protected int len;
     protected TruffleString parseStr;
     protected int parseDepth;
+    /**
+     * Member keys of the last object parsed at each nesting level. Arrays of records tend to
+     * repeat the same key sequence, so keys can be matched in place and the same instances reused,
+     * which saves the substring allocation and lets the insertion follow the existing shape
+     * transition.
+     */
+    private TruffleString[][] memberKeys;
 
     protected static final char[] NullLiteral = new char[]{'n', 'u', 'l', 'l'};
     protected static final char[] BooleanTrueLiteral = new char[]{'t', 'r', 'u', 'e'};
@@ -73,15 +83,32 @@ public class TruffleJSONParser {
 
     private static final String MALFORMED_NUMBER = "malformed number";
 
+    /** Characters that end a run of plain string characters: quote, backslash and controls. */
+    private static final TruffleString.CodePointSet STRING_SPECIAL_CHARS = TruffleString.CodePointSet.fromRanges(new int[]{0, 0x1f, '"', '"', '\\', '\\'}, TruffleString.Encoding.UTF_16);
+    /** Complement of the JSON whitespace characters. */
+    private static final TruffleString.CodePointSet NON_WHITESPACE_CHARS = TruffleString.CodePointSet.fromRanges(new int[]{0, 0x8, 0xb, 0xc, 0xe, 0x1f, 0x21, 0x10ffff}, TruffleString.Encoding.UTF_16);
+    /** Numbers with at most this many significant digits fit exactly into a double. */
+    private static final int MAX_EXACT_DIGITS = 15;
+    /** Powers of ten that are exactly representable as a double. */
+    private static final double[] EXACT_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    /** Nesting levels up to which member keys are remembered. */
+    private static final int MAX_CACHED_DEPTH = 16;
+    /** Number of leading members per object whose keys are remembered. */
+    private static final int MAX_CACHED_MEMBERS = 32;
+
     public TruffleJSONParser(JSContext context) {
         this.context = context;
     }
 
     public Object parse(TruffleString value, JSRealm realm) {
-        this.pos = 0;
-        this.parseDepth = 0;
         this.parseStr = value;
         this.len = Strings.length(parseStr);
+        return parseInput(realm);
+    }
+
+    protected Object parseInput(JSRealm realm) {
+        this.pos = 0;
+        this.parseDepth = 0;
         try {
             skipWhitespace();
             Object result = parseJSONValue(realm);
@@ -92,7 +119,7 @@ public class TruffleJSONParser {
             return result;
         } catch (StackOverflowError ex) {
             throwStackError();
-        } catch (JSException ex) {
+        } catch (AbstractTruffleException ex) {
             throw ex;
         } catch (IndexOutOfBoundsException ex) {
             throwSyntaxError(unexpectedEndOfInputMessage());
@@ -162,22 +189,69 @@ public class TruffleJSONParser {
     }
 
     private void parseJSONMemberList(JSObject object, JSRealm realm) {
-        Member member = parseJSONMember(realm);
-        JSRuntime.createDataProperty(object, member.getKey(), member.getValue());
+        TruffleString[] keys = memberKeysAt(parseDepth);
+        int index = 0;
+        parseJSONMember(object, realm, keys, index);
         while (get() == ',') {
             skipChar(',');
             skipWhitespace();
-            member = parseJSONMember(realm);
-            JSRuntime.createDataProperty(object, member.getKey(), member.getValue());
+            index++;
+            parseJSONMember(object, realm, keys, index);
         }
     }
 
-    private Member parseJSONMember(JSRealm realm) {
-        TruffleString jsonString = parseJSONString();
+    private void parseJSONMember(JSObject object, JSRealm realm, TruffleString[] keys, int index) {
+        TruffleString key = parseJSONMemberKey(keys, index);
         expectChar(':');
         skipWhitespace();
-        Object jsonValue = parseJSONValue(realm);
-        return new Member(jsonString, jsonValue);
+        Object value = parseJSONValue(realm);
+        // fresh ordinary object whose own properties are all configurable data properties
+        JSObjectUtil.defineDataProperty(context, object, key, value, JSAttributes.getDefault());
+    }
+
+    /**
+     * Parses a member name, reusing the key of the member at the same position in the previous
+     * object of this nesting level if it matches. Only keys without escapes are remembered, so a
+     * textual match is always an exact match.
+     */
+    private TruffleString parseJSONMemberKey(TruffleString[] keys, int index) {
+        if (keys == null || index >= keys.length || !isStringQuote(get())) {
+            return parseJSONString();
+        }
+        int startPos = pos + 1;
+        TruffleString cachedKey = keys[index];
+        if (cachedKey != null) {
+            int keyLength = Strings.length(cachedKey);
+            int endPos = startPos + keyLength;
+            if (hasChar(endPos) && isStringQuote(get(endPos)) && regionEquals(startPos, cachedKey, keyLength)) {
+                pos = endPos + 1;
+                skipWhitespace();
+                return cachedKey;
+            }
+        }
+        skipChar('"');
+        TruffleString key = parseJSONStringCharacters();
+        if (pos - startPos == Strings.length(key)) {
+            keys[index] = key;
+        }
+        skipChar('"');
+        skipWhitespace();
+        return key;
+    }
+
+    private TruffleString[] memberKeysAt(int depth) {
+        if (depth >= MAX_CACHED_DEPTH) {
+            return null;
+        }
+        if (memberKeys == null) {
+            memberKeys = new TruffleString[MAX_CACHED_DEPTH][];
+        }
+        TruffleString[] keys = memberKeys[depth];
+        if (keys == null) {
+            keys = new TruffleString[MAX_CACHED_MEMBERS];
+            memberKeys[depth] = keys;
+        }
+        return keys;
     }
 
     private Object parseJSONArray(JSRealm realm) {
@@ -259,25 +333,32 @@ public class TruffleJSONParser {
 
     protected TruffleString parseJSONStringCharacters() {
         int startPos = pos;
-        boolean hasEscapes = false;
         int firstEscape = -1;
-        char c = get();
-        while (!isStringQuote(c)) {
-            if (c < ' ') {
+        while (true) {
+            // skip runs of plain characters in bulk
+            int specialPos = indexOfStringSpecialChar(pos);
+            if (specialPos < 0) {
+                throwSyntaxError(unexpectedEndOfInputMessage());
+            }
+            pos = specialPos;
+            char c = get();
+            if (isStringQuote(c)) {
+                break;
+            } else if (c < ' ') {
                 error("invalid string");
-            } else if (c == '\\') {
-                if (!hasEscapes) {
-                    firstEscape = pos;
-                }
-                hasEscapes = true;
-                skipChar('\\');
+            }
+            if (firstEscape < 0) {
+                firstEscape = pos;
+            }
+            skipChar('\\');
+            if (!posValid()) {
+                throwSyntaxError(unexpectedEndOfInputMessage());
             }
             skipChar();
-            c = get();
         }
         int sLength = pos - startPos;
-        TruffleString s = Strings.substring(context, parseStr, startPos, sLength);
-        if (hasEscapes) {
+        TruffleString s = substring(startPos, sLength);
+        if (firstEscape >= 0) {
             return unquoteJSON(s, sLength, firstEscape - startPos);
         } else {
             return s;
@@ -367,6 +448,8 @@ public class TruffleJSONParser {
         final int startPos = pos;
         int fractionPos = -1;
         boolean firstPosIsZero = false;
+        // significant digits are accumulated for the fast path
+        long mantissa = 0;
         char c = get();
         while (JSRuntime.isAsciiDigit(c) || c == '.') {
             if (c == '.') {
@@ -374,8 +457,13 @@ public class TruffleJSONParser {
                     error(MALFORMED_NUMBER);
                 }
                 fractionPos = pos;
-            } else if (pos == startPos && c == '0') {
-                firstPosIsZero = true;
+            } else {
+                if (pos == startPos && c == '0') {
+                    firstPosIsZero = true;
+                }
+                if (pos - startPos <= MAX_EXACT_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                }
             }
             skipChar();
             if (!posValid()) {
@@ -387,7 +475,7 @@ public class TruffleJSONParser {
             unexpectedToken();
         } else if (firstPosIsZero) {
             // "0" should be parsable, but "08" not
-            if ((startPos + 1) < len) {
+            if (hasChar(startPos + 1)) {
                 c = get(startPos + 1);
                 if (c == 'x' || c == 'X' || JSRuntime.isAsciiDigit(c)) {
                     error("octal and hexadecimal not allowed");
@@ -399,9 +487,10 @@ public class TruffleJSONParser {
         }
 
         boolean hasExponent = false;
+        int exponent = 0;
         if (posValid() && isExponentPart()) {
             hasExponent = true;
-            skipExponent();
+            exponent = skipExponent();
         }
         final int endPos = pos;
         skipWhitespace(); // after the number
@@ -415,7 +504,7 @@ public class TruffleJSONParser {
         } else if (fractionPos == -1 && !hasExponent && (endPos - startPos <= JSRuntime.MAX_SAFE_INTEGER_DIGITS)) {
             // safe integer but not zero
             final int radix = 10;
-            long safeInt = JSRuntime.parseSafeInteger(parseStr, startPos, endPos, radix);
+            long safeInt = endPos - startPos <= MAX_EXACT_DIGITS ? mantissa : JSRuntime.parseSafeInteger(inputSubstring(startPos, endPos - startPos), 0, endPos - startPos, radix);
             assert safeInt != 0;
             if (safeInt != JSRuntime.INVALID_SAFE_INTEGER) {
                 safeInt *= sign;
@@ -425,8 +514,20 @@ public class TruffleJSONParser {
                     return (double) safeInt;
                 }
             }
+        } else {
+            int digits = (endPos - startPos) - (fractionPos == -1 ? 0 : 1) - (hasExponent ? exponentLength(startPos, endPos) : 0);
+            if (digits <= MAX_EXACT_DIGITS) {
+                // mantissa and power of ten are exact, so a single operation rounds correctly
+                int fractionDigits = fractionPos == -1 ? 0 : digits - (fractionPos - startPos);
+                int exp10 = exponent - fractionDigits;
+                if (exp10 >= 0 && exp10 < EXACT_POWERS_OF_TEN.length) {
+                    return sign * (mantissa * EXACT_POWERS_OF_TEN[exp10]);
+                } else if (exp10 < 0 && -exp10 < EXACT_POWERS_OF_TEN.length) {
+                    return sign * (mantissa / EXACT_POWERS_OF_TEN[-exp10]);
+                }
+            }
         }
-        TruffleString valueStr = Strings.lazySubstring(parseStr, startPos, endPos - startPos);
+        TruffleString valueStr = inputSubstring(startPos, endPos - startPos);
         return parseAsDouble(sign, valueStr);
     }
 
@@ -439,11 +540,17 @@ public class TruffleJSONParser {
         }
     }
 
-    protected void skipExponent() {
+    /**
+     * Skips the exponent part of a number and returns its value, saturated to a magnitude that is
+     * out of range for the fast path.
+     */
+    protected int skipExponent() {
         skipChar(); // e or E
         char cur = get();
+        boolean negative = false;
         if (cur == '-') {
             skipChar('-');
+            negative = true;
         } else if (cur == '+') {
             skipChar('+');
         }
@@ -452,7 +559,9 @@ public class TruffleJSONParser {
         }
         cur = get();
         int startPos = pos;
+        int exponent = 0;
         while (JSRuntime.isAsciiDigit(cur)) {
+            exponent = Math.min(exponent * 10 + (cur - '0'), 10000);
             skipChar();
             if (!posValid()) {
                 break;
@@ -462,6 +571,23 @@ public class TruffleJSONParser {
         if (pos == startPos) {
             error("Expected number but found ident");
         }
+        return negative ? -exponent : exponent;
+    }
+
+    /**
+     * Returns the number of characters of the exponent part (including e/E and the sign) of the
+     * number between startPos and endPos.
+     */
+    private int exponentLength(int startPos, int endPos) {
+        int i = endPos - 1;
+        while (i > startPos) {
+            char c = get(i);
+            if (c == 'e' || c == 'E') {
+                break;
+            }
+            i--;
+        }
+        return endPos - i;
     }
 
     protected boolean isExponentPart() {
@@ -543,8 +669,8 @@ public class TruffleJSONParser {
     // needs to be checked by the caller already that the content matches!
     protected void skipString(TruffleString expected) {
         int length = Strings.length(expected);
-        assert len >= pos + length;
-        assert Strings.equals(Strings.lazySubstring(parseStr, pos, length), expected);
+        assert hasChar(pos + length - 1);
+        assert Strings.equals(inputSubstring(pos, length), expected);
         pos += length;
         skipWhitespace();
     }
@@ -568,13 +694,71 @@ public class TruffleJSONParser {
     }
 
     protected void skipWhitespace() {
-        while (posValid() && isWhitespace(get())) {
-            pos++;
+        if (!posValid() || !isWhitespace(get())) {
+            return;
+        }
+        pos++;
+        if (posValid() && isWhitespace(get())) {
+            // longer runs (e.g. indentation) are skipped in bulk
+            int nonWhitespacePos = indexOfNonWhitespace(pos);
+            pos = nonWhitespacePos < 0 ? len : nonWhitespacePos;
+        }
+    }
+
+    /**
+     * Returns the index of the first quote, backslash or control character at or after fromIndex,
+     * or -1 if there is none.
+     */
+    protected int indexOfStringSpecialChar(int fromIndex) {
+        return indexOf(STRING_SPECIAL_CHARS, fromIndex);
+    }
+
+    /**
+     * Returns the index of the first non-whitespace character at or after fromIndex, or -1 if there
+     * is none.
+     */
+    protected int indexOfNonWhitespace(int fromIndex) {
+        return indexOf(NON_WHITESPACE_CHARS, fromIndex);
+    }
+
+    private int indexOf(TruffleString.CodePointSet set, int fromIndex) {
+        if (fromIndex >= len) {
+            return -1;
         }
+        int byteIndex = TruffleString.ByteIndexOfCodePointSetNode.getUncached().execute(parseStr, (fromIndex) << 1, (len) << 1, set);
+        return byteIndex < 0 ? -1 : byteIndex >> 1;
+    }
+
+    /**
+     * Returns the characters of the input between start and start + length as a string.
+     */
+    protected TruffleString substring(int start, int length) {
+        return Strings.substring(context, parseStr, start, length);
+    }
+
+    /**
+     * Like {@link #substring(int, int)}, but for strings that are only used temporarily.
+     */
+    protected TruffleString inputSubstring(int start, int length) {
+        return Strings.lazySubstring(parseStr, start, length);
+    }
+
+    /**
+     * Returns whether the input at start matches the first length characters of other.
+     */
+    protected boolean regionEquals(int start, TruffleString other, int length) {
+        return Strings.regionEquals(parseStr, start, other, 0, length);
     }
 
     protected boolean posValid() {
-        return pos < len;
+        return hasChar(pos);
+    }
+
+    /**
+     * Returns whether the input has a character at the given position.
+     */
+    protected boolean hasChar(int index) {
+        return index < len;
     }
 
     protected boolean isLiteral(char[] literal) {
@@ -582,7 +766,7 @@ public class TruffleJSONParser {
     }
 
     protected boolean isLiteral(char[] literal, int startPos) {
-        if (len < pos + literal.length) {
+        if (!hasChar(pos + literal.length - 1)) {
             return false;
         }
         for (int i = startPos; i < literal.length; i++) {
@@ -592,22 +776,4 @@ public class TruffleJSONParser {
         }
         return true;
     }
-
-    protected final class Member {
-        private final TruffleString key;
-        private final Object value;
-
-        public Member(TruffleString key, Object value) {
-            this.key = key;
-            this.value = value;
-        }
-
-        public TruffleString getKey() {
-            return key;
-        }
-
-        public Object getValue() {
-            return value;
-        }
-    }
 }
@@ -63,6 +63,7 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.array.PresizingArrayAllocationSite;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractConstantArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantByteArray;
@@ -536,12 +537,18 @@ public abstract class ArrayLiteralNode extends JavaScriptNode {
 
     private static final class ConstantEmptyArrayLiteralNode extends ArrayLiteralNode {
 
+        private final PresizingArrayAllocationSite allocationSite;
+
         ConstantEmptyArrayLiteralNode(JSContext context) {
             super(context);
+            this.allocationSite = context.getContextOptions().isArrayAllocationSiteFeedback() ? new PresizingArrayAllocationSite() : null;
         }
 
         @Override
         public JSArrayObject execute(VirtualFrame frame) {
+            if (allocationSite != null) {
+                return allocationSite.createEmptyArray(context, getRealm());
+            }
             return JSArray.createConstantEmptyArray(context, getRealm());
         }
 
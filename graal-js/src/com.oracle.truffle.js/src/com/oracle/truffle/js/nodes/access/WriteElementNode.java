@@ -111,6 +111,8 @@ import com.oracle.truffle.js.runtime.array.dyn.HolesJSObjectArray;
 import com.oracle.truffle.js.runtime.array.dyn.HolesObjectArray;
 import com.oracle.truffle.js.runtime.array.dyn.LazyRegexResultArray;
 import com.oracle.truffle.js.runtime.array.dyn.LazyRegexResultIndicesArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedByteArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedShortArray;
 import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
@@ -765,6 +767,10 @@ public class WriteElementNode extends JSTargetableNode {
             return new ObjectArrayWriteElementCacheNode(array, next);
         } else if (array instanceof AbstractJSObjectArray) {
             return new JSObjectArrayWriteElementCacheNode(array, next);
+        } else if (array instanceof ZeroBasedByteArray) {
+            return new ByteArrayWriteElementCacheNode(array, next);
+        } else if (array instanceof ZeroBasedShortArray) {
+            return new ShortArrayWriteElementCacheNode(array, next);
         } else if (array instanceof AbstractWritableArray) {
             return new WritableArrayWriteElementCacheNode(array, next);
         } else if (array instanceof TypedArray) {
@@ -1078,6 +1084,88 @@ public class WriteElementNode extends JSTargetableNode {
         }
     }
 
+    private static class ByteArrayWriteElementCacheNode extends RecursiveCachedArrayWriteElementCacheNode {
+        private final BranchProfile widenBranch = BranchProfile.create();
+        private final ConditionProfile inBoundsFastCondition = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile supportedCondition = ConditionProfile.createBinaryProfile();
+        private final ScriptArray.ProfileHolder profile = AbstractWritableArray.createSetSupportedProfile();
+
+        ByteArrayWriteElementCacheNode(ScriptArray arrayType, ArrayWriteElementCacheNode arrayCacheNext) {
+            super(arrayType, arrayCacheNext);
+        }
+
+        @Override
+        protected boolean executeSetArray(JSDynamicObject target, ScriptArray array, long index, Object value, WriteElementNode root) {
+            ZeroBasedByteArray byteArray = (ZeroBasedByteArray) cast(array);
+            if (value instanceof Integer && ScriptArray.valueIsByte((int) value)) {
+                if (nonHolesArrayNeedsSlowSet(target, byteArray, index, root)) {
+                    return false;
+                }
+                byte byteValue = (byte) (int) value;
+                if (inBoundsFastCondition.profile(byteArray.isInBoundsFast(target, index))) {
+                    byteArray.setInBoundsFast(target, (int) index, byteValue);
+                    return true;
+                } else if (supportedCondition.profile(byteArray.isSupported(target, index))) {
+                    byteArray.setSupported(target, (int) index, byteValue, profile);
+                    return true;
+                }
+            }
+            widenBranch.enter();
+            ScriptArray newArray;
+            if (value instanceof Double) {
+                newArray = byteArray.toDouble(target, index, (double) value);
+            } else if (value instanceof Integer) {
+                if (ScriptArray.valueIsShort((int) value) && byteArray.isSupported(target, index)) {
+                    newArray = byteArray.toShort(target, index, value);
+                } else {
+                    newArray = byteArray.toInt(target, index, value);
+                }
+            } else {
+                newArray = byteArray.toObject(target, index, value);
+            }
+            return setArrayAndWrite(newArray, target, index, value, root);
+        }
+    }
+
+    private static class ShortArrayWriteElementCacheNode extends RecursiveCachedArrayWriteElementCacheNode {
+        private final BranchProfile widenBranch = BranchProfile.create();
+        private final ConditionProfile inBoundsFastCondition = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile supportedCondition = ConditionProfile.createBinaryProfile();
+        private final ScriptArray.ProfileHolder profile = AbstractWritableArray.createSetSupportedProfile();
+
+        ShortArrayWriteElementCacheNode(ScriptArray arrayType, ArrayWriteElementCacheNode arrayCacheNext) {
+            super(arrayType, arrayCacheNext);
+        }
+
+        @Override
+        protected boolean executeSetArray(JSDynamicObject target, ScriptArray array, long index, Object value, WriteElementNode root) {
+            ZeroBasedShortArray shortArray = (ZeroBasedShortArray) cast(array);
+            if (value instanceof Integer && ScriptArray.valueIsShort((int) value)) {
+                if (nonHolesArrayNeedsSlowSet(target, shortArray, index, root)) {
+                    return false;
+                }
+                short shortValue = (short) (int) value;
+                if (inBoundsFastCondition.profile(shortArray.isInBoundsFast(target, index))) {
+                    shortArray.setInBoundsFast(target, (int) index, shortValue);
+                    return true;
+                } else if (supportedCondition.profile(shortArray.isSupported(target, index))) {
+                    shortArray.setSupported(target, (int) index, shortValue, profile);
+                    return true;
+                }
+            }
+            widenBranch.enter();
+            ScriptArray newArray;
+            if (value instanceof Double) {
+                newArray = shortArray.toDouble(target, index, (double) value);
+            } else if (value instanceof Integer) {
+                newArray = shortArray.toInt(target, index, value);
+            } else {
+                newArray = shortArray.toObject(target, index, value);
+            }
+            return setArrayAndWrite(newArray, target, index, value, root);
+        }
+    }
+
     private static class DoubleArrayWriteElementCacheNode extends RecursiveCachedArrayWriteElementCacheNode {
         private final BranchProfile intValueBranch = BranchProfile.create();
         private final BranchProfile doubleValueBranch = BranchProfile.create();
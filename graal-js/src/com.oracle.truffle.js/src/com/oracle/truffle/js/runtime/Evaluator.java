@@ -101,6 +101,21 @@ public interface Evaluator {
      */
     JSModuleData envParseModule(JSRealm realm, Source source);
 
+    /**
+     * Parses a module source without translating it. Does not require an entered context, so it
+     * can be called from a background thread. Returns {@code null} if the source has errors; these
+     * are reported when the module is parsed again on the calling thread.
+     *
+     * @see #parseModule(JSContext, Source, Object)
+     */
+    Object parseModuleAhead(JSContext context, Source source);
+
+    /**
+     * Like {@link #parseModule(JSContext, Source)}, but translates the result of a previous
+     * {@link #parseModuleAhead(JSContext, Source)} call.
+     */
+    JSModuleData parseModule(JSContext context, Source source, Object parsedModule);
+
     JSModuleRecord parseJSONModule(JSRealm realm, Source source);
 
     JSModuleRecord hostResolveImportedModule(JSContext context, ScriptOrModule referencingScriptOrModule, Module.ModuleRequest moduleRequest);
@@ -133,6 +148,12 @@ public interface Evaluator {
 
     ScriptNode parseScript(JSContext context, Source source, String prolog, String epilog, boolean isStrict, List<String> argumentNames);
 
+    /**
+     * Returns {@code true} if {@link #parseScript(JSContext, Source)} can use a translation of the
+     * source stored in the parse cache, i.e., if the source has been translated successfully before.
+     */
+    boolean hasParseCacheEntry(JSContext context, Source source, boolean isStrict);
+
     ScriptNode parseScript(JSContext context, String sourceString);
 
     Expression parseExpression(JSContext context, String sourceString);
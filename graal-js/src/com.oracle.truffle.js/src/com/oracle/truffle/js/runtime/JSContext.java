@@ -73,7 +73,10 @@ import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.AllocationReporter;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.builtins.JSBuiltinsContainer;
+import com.oracle.truffle.js.builtins.JSBuiltinsTemplate;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.ThrowTypeErrorRootNode;
 import com.oracle.truffle.js.nodes.access.GetPrototypeNode;
@@ -159,7 +162,9 @@ import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.CompilableBiFunction;
+import com.oracle.truffle.js.runtime.util.ConcurrentTinyLFUCache;
 import com.oracle.truffle.js.runtime.util.DebugJSAgent;
+import com.oracle.truffle.js.runtime.util.ParseMetrics;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.TimeProfiler;
 
@@ -220,6 +225,11 @@ public class JSContext {
 
     private volatile Map<TruffleString, Symbol> symbolRegistry;
 
+    /**
+     * Bounded cache of frequently used compiled regular expressions, shared by all realms.
+     */
+    private volatile ConcurrentTinyLFUCache<Source, Object> compiledRegexCache;
+
     // 0 = Number, 1 = BigInt, 2 = String
     private int operatorCounter = 3;
 
@@ -227,6 +237,8 @@ public class JSContext {
 
     private final TimeProfiler timeProfiler;
 
+    private final ParseMetrics parseMetrics;
+
     private final JSObjectFactory.BoundProto moduleNamespaceFactory;
 
     @CompilationFinal private Object tRegexEmptyResult;
@@ -387,6 +399,7 @@ public class JSContext {
         FunctionAsyncIterator,
         IsGraalRuntime,
         SetUnhandledPromiseRejectionHandler,
+        GetParseMetrics,
         AsyncModuleExecutionFulfilled,
         AsyncModuleExecutionRejected,
         TopLevelAwaitResolve,
@@ -469,6 +482,7 @@ public class JSContext {
     private final JSContextOptions contextOptions;
 
     private final Map<Builtin, JSFunctionData> builtinFunctionDataMap = new ConcurrentHashMap<>();
+    private final Map<JSBuiltinsContainer, JSBuiltinsTemplate> builtinsTemplateMap = new ConcurrentHashMap<>();
     private final Map<TruffleString, JSFunctionData> namedEmptyFunctionsDataMap = new ConcurrentHashMap<>();
 
     private final JSPrototypeData nullPrototypeData = new JSPrototypeData();
@@ -642,6 +656,7 @@ public class JSContext {
         this.builtinFunctionData = new JSFunctionData[BuiltinFunctionKey.values().length];
 
         this.timeProfiler = contextOptions.isProfileTime() ? new TimeProfiler() : null;
+        this.parseMetrics = contextOptions.isParseMetrics() ? new ParseMetrics() : null;
 
         this.singleRealmAssumption = Truffle.getRuntime().createAssumption("single realm");
 
@@ -909,6 +924,37 @@ public class JSContext {
         }
     }
 
+    /**
+     * Returns the compiled regex cache, or {@code null} if it is disabled.
+     */
+    public final ConcurrentTinyLFUCache<Source, Object> getCompiledRegexCache() {
+        if (compiledRegexCache == null && getContextOptions().getRegexCacheSize() > 0) {
+            createCompiledRegexCache();
+        }
+        return compiledRegexCache;
+    }
+
+    @TruffleBoundary
+    private synchronized void createCompiledRegexCache() {
+        if (compiledRegexCache == null) {
+            compiledRegexCache = new ConcurrentTinyLFUCache<>(getContextOptions().getRegexCacheSize());
+        }
+    }
+
+    @TruffleBoundary
+    public Object getCachedCompiledRegex(Source regexSource) {
+        ConcurrentTinyLFUCache<Source, Object> cache = getCompiledRegexCache();
+        return cache == null ? null : cache.get(regexSource);
+    }
+
+    @TruffleBoundary
+    public void putCachedCompiledRegex(Source regexSource, Object compiledRegex) {
+        ConcurrentTinyLFUCache<Source, Object> cache = getCompiledRegexCache();
+        if (cache != null) {
+            cache.put(regexSource, compiledRegex);
+        }
+    }
+
     public int getOperatorCounter() {
         return operatorCounter;
     }
@@ -957,6 +1003,13 @@ public class JSContext {
         return timeProfiler;
     }
 
+    /**
+     * Returns the parse and translate metrics of this context, or {@code null} if not enabled.
+     */
+    public ParseMetrics getParseMetrics() {
+        return parseMetrics;
+    }
+
     /**
      * Get the current Realm using {@link ContextReference}.
      */
@@ -1757,6 +1810,19 @@ public class JSContext {
         return builtinFunctionDataMap.get(key);
     }
 
+    public final JSBuiltinsTemplate getBuiltinsTemplate(JSBuiltinsContainer container) {
+        CompilerAsserts.neverPartOfCompilation();
+        JSBuiltinsTemplate template = builtinsTemplateMap.get(container);
+        if (template == null) {
+            template = JSBuiltinsTemplate.create(this, container);
+            JSBuiltinsTemplate existing = builtinsTemplateMap.putIfAbsent(container, template);
+            if (existing != null) {
+                template = existing;
+            }
+        }
+        return template;
+    }
+
     public final void putBuiltinFunctionData(Builtin key, JSFunctionData functionData) {
         CompilerAsserts.neverPartOfCompilation();
         builtinFunctionDataMap.putIfAbsent(key, functionData);
@@ -204,6 +204,14 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> PARSE_ONLY = new OptionKey<>(false);
     @CompilationFinal private boolean parseOnly;
 
+    public static final String PARSE_CACHE_DIR_NAME = JS_OPTION_PREFIX + "parse-cache-dir";
+    @Option(name = PARSE_CACHE_DIR_NAME, category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, usageSyntax = "<path>", help = "Directory used to persist translated scripts across runs. Disabled if empty.") //
+    public static final OptionKey<String> PARSE_CACHE_DIR = new OptionKey<>("");
+
+    public static final String MODULE_PARSE_THREADS_NAME = JS_OPTION_PREFIX + "module-parse-threads";
+    @Option(name = MODULE_PARSE_THREADS_NAME, category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Number of background threads used to parse imported ES modules ahead of linking. Disabled if 0.") //
+    public static final OptionKey<Integer> MODULE_PARSE_THREADS = new OptionKey<>(0);
+
     public static final String TIME_ZONE_NAME = JS_OPTION_PREFIX + "timezone";
     @Option(name = TIME_ZONE_NAME, category = OptionCategory.USER, usageSyntax = "<TimeZoneID>", help = "Set custom time zone ID.") //
     public static final OptionKey<String> TIME_ZONE = new OptionKey<>("", new OptionType<>("ZoneId", new Function<String, String>() {
@@ -292,6 +300,11 @@ public final class JSContextOptions {
     @Option(name = COMMONJS_REQUIRE_CWD_NAME, category = OptionCategory.USER, usageSyntax = "<path>", help = "CommonJS default current working directory.") //
     public static final OptionKey<String> COMMONJS_REQUIRE_CWD = new OptionKey<>("");
 
+    public static final String COMMONJS_RESOLUTION_CACHE_NAME = JS_OPTION_PREFIX + "commonjs-resolution-cache";
+    @Option(name = COMMONJS_RESOLUTION_CACHE_NAME, category = OptionCategory.EXPERT, help = "Remember CommonJS module resolutions, file checks and package.json entries for the lifetime of the context. Missing files are checked again when their directory is modified.") //
+    public static final OptionKey<Boolean> COMMONJS_RESOLUTION_CACHE = new OptionKey<>(false);
+    @CompilationFinal private boolean commonJSResolutionCache;
+
     public static final String COMMONJS_CORE_MODULES_REPLACEMENTS_NAME = JS_OPTION_PREFIX + "commonjs-core-modules-replacements";
     @Option(name = COMMONJS_CORE_MODULES_REPLACEMENTS_NAME, category = OptionCategory.USER, usageSyntax = "<name>:<module>,...", help = "Npm packages used to replace global Node.js builtins.") //
     public static final OptionKey<Map<String, String>> COMMONJS_CORE_MODULES_REPLACEMENTS = new OptionKey<>(Collections.emptyMap(),
@@ -435,6 +448,11 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> BIND_MEMBER_FUNCTIONS = new OptionKey<>(true);
     @CompilationFinal private boolean bindMemberFunctions;
 
+    public static final String JSON_STREAM_NAME = JS_OPTION_PREFIX + "json-stream";
+    @Option(name = JSON_STREAM_NAME, category = OptionCategory.EXPERT, help = "Provide 'JSON.parseStream' and 'JSON.stringifyStream' to parse and serialize JSON incrementally from and to buffers and streams.") //
+    public static final OptionKey<Boolean> JSON_STREAM = new OptionKey<>(false);
+    @CompilationFinal private boolean jsonStream;
+
     public static final String REGEX_REGRESSION_TEST_MODE_NAME = JS_OPTION_PREFIX + "regex-regression-test-mode";
     @Option(name = REGEX_REGRESSION_TEST_MODE_NAME, category = OptionCategory.INTERNAL, help = "Test mode for TRegex.") //
     public static final OptionKey<Boolean> REGEX_REGRESSION_TEST_MODE = new OptionKey<>(false);
@@ -456,6 +474,11 @@ public final class JSContextOptions {
     @Option(name = PROFILE_TIME_PRINT_CUMULATIVE_NAME, category = OptionCategory.INTERNAL, help = "Print cumulative time when time profiling is enabled.") //
     public static final OptionKey<Boolean> PROFILE_TIME_PRINT_CUMULATIVE = new OptionKey<>(false);
 
+    public static final String PARSE_METRICS_NAME = JS_OPTION_PREFIX + "parse-metrics";
+    @Option(name = PARSE_METRICS_NAME, category = OptionCategory.EXPERT, help = "Collect per-source parse and translate metrics, available via Graal.parseMetrics() and as JFR events (if jdk.jfr is available). The metrics are shared by all contexts of an engine.") //
+    public static final OptionKey<Boolean> PARSE_METRICS = new OptionKey<>(false);
+    @CompilationFinal private boolean parseMetrics;
+
     public static final String TEST_CLONE_UNINITIALIZED_NAME = JS_OPTION_PREFIX + "test-clone-uninitialized";
     @Option(name = TEST_CLONE_UNINITIALIZED_NAME, category = OptionCategory.INTERNAL, help = "Test uninitialized cloning.") //
     public static final OptionKey<Boolean> TEST_CLONE_UNINITIALIZED = new OptionKey<>(false);
@@ -466,6 +489,16 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> LAZY_TRANSLATION = new OptionKey<>(false);
     @CompilationFinal private boolean lazyTranslation;
 
+    public static final String LAZY_PARSING_NAME = JS_OPTION_PREFIX + "lazy-parsing";
+    @Option(name = LAZY_PARSING_NAME, category = OptionCategory.INTERNAL, help = "Only scan inner function bodies and parse them fully on first call; syntax errors that the scan does not detect are reported then (requires lazy-translation).") //
+    public static final OptionKey<Boolean> LAZY_PARSING = new OptionKey<>(false);
+    @CompilationFinal private boolean lazyParsing;
+
+    public static final String ARRAY_ALLOCATION_SITE_FEEDBACK_NAME = JS_OPTION_PREFIX + "array-allocation-site-feedback";
+    @Option(name = ARRAY_ALLOCATION_SITE_FEEDBACK_NAME, category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Pre-size arrays created by empty array literals and choose their element kind based on arrays previously created at the same site.") //
+    public static final OptionKey<Boolean> ARRAY_ALLOCATION_SITE_FEEDBACK = new OptionKey<>(false);
+    @CompilationFinal private boolean arrayAllocationSiteFeedback;
+
     public static final String MAX_TYPED_ARRAY_LENGTH_NAME = JS_OPTION_PREFIX + "max-typed-array-length";
     @Option(name = MAX_TYPED_ARRAY_LENGTH_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Maximum allowed length for TypedArrays.") //
     public static final OptionKey<Integer> MAX_TYPED_ARRAY_LENGTH = new OptionKey<>(JSConfig.MaxTypedArrayLength);
@@ -705,10 +738,15 @@ public final class JSContextOptions {
         this.stringLengthLimit = readIntegerOption(STRING_LENGTH_LIMIT);
         this.stringLazySubstrings = readBooleanOption(STRING_LAZY_SUBSTRINGS);
         this.bindMemberFunctions = readBooleanOption(BIND_MEMBER_FUNCTIONS);
+        this.jsonStream = readBooleanOption(JSON_STREAM);
         this.commonJSRequire = readBooleanOption(COMMONJS_REQUIRE);
+        this.commonJSResolutionCache = readBooleanOption(COMMONJS_RESOLUTION_CACHE);
+        this.parseMetrics = readBooleanOption(PARSE_METRICS);
         this.regexRegressionTestMode = readBooleanOption(REGEX_REGRESSION_TEST_MODE);
         this.testCloneUninitialized = readBooleanOption(TEST_CLONE_UNINITIALIZED);
         this.lazyTranslation = readBooleanOption(LAZY_TRANSLATION);
+        this.lazyParsing = readBooleanOption(LAZY_PARSING);
+        this.arrayAllocationSiteFeedback = readBooleanOption(ARRAY_ALLOCATION_SITE_FEEDBACK);
         this.stackTraceLimit = readIntegerOption(STACK_TRACE_LIMIT);
         this.maxTypedArrayLength = readIntegerOption(MAX_TYPED_ARRAY_LENGTH);
         this.maxApplyArgumentLength = readIntegerOption(MAX_APPLY_ARGUMENT_LENGTH);
@@ -859,6 +897,16 @@ public final class JSContextOptions {
         return parseOnly;
     }
 
+    public String getParseCacheDir() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option parse-cache-dir was assumed not to be accessed in compiled code.");
+        return PARSE_CACHE_DIR.getValue(optionValues);
+    }
+
+    public int getModuleParseThreads() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option module-parse-threads was assumed not to be accessed in compiled code.");
+        return MODULE_PARSE_THREADS.getValue(optionValues);
+    }
+
     public long getTimerResolution() {
         try {
             timerResolutionCurrentAssumption.check();
@@ -952,6 +1000,10 @@ public final class JSContextOptions {
         return commonJSRequire;
     }
 
+    public boolean isCommonJSResolutionCache() {
+        return commonJSResolutionCache;
+    }
+
     public Map<String, String> getCommonJSRequireBuiltins() {
         CompilerAsserts.neverPartOfCompilation("Context patchable option load was assumed not to be accessed in compiled code.");
         return COMMONJS_CORE_MODULES_REPLACEMENTS.getValue(optionValues);
@@ -1043,6 +1095,10 @@ public final class JSContextOptions {
         return bindMemberFunctions;
     }
 
+    public boolean isJSONStream() {
+        return jsonStream;
+    }
+
     public boolean isRegexRegressionTestMode() {
         return regexRegressionTestMode;
     }
@@ -1057,6 +1113,10 @@ public final class JSContextOptions {
         return PROFILE_TIME.getValue(optionValues);
     }
 
+    public boolean isParseMetrics() {
+        return parseMetrics;
+    }
+
     public boolean isTestCloneUninitialized() {
         return testCloneUninitialized;
     }
@@ -1065,6 +1125,14 @@ public final class JSContextOptions {
         return lazyTranslation;
     }
 
+    public boolean isLazyParsing() {
+        return lazyParsing;
+    }
+
+    public boolean isArrayAllocationSiteFeedback() {
+        return arrayAllocationSiteFeedback;
+    }
+
     public boolean isProfileTimePrintCumulative() {
         CompilerAsserts.neverPartOfCompilation("Context patchable option profile-time-print-cumulative was assumed not to be accessed in compiled code.");
         return PROFILE_TIME_PRINT_CUMULATIVE.getValue(optionValues);
@@ -1199,10 +1267,15 @@ public final class JSContextOptions {
         hash = 53 * hash + this.stringLengthLimit;
         hash = 53 * hash + (this.stringLazySubstrings ? 1 : 0);
         hash = 53 * hash + (this.bindMemberFunctions ? 1 : 0);
+        hash = 53 * hash + (this.jsonStream ? 1 : 0);
         hash = 53 * hash + (this.commonJSRequire ? 1 : 0);
+        hash = 53 * hash + (this.commonJSResolutionCache ? 1 : 0);
+        hash = 53 * hash + (this.parseMetrics ? 1 : 0);
         hash = 53 * hash + (this.regexRegressionTestMode ? 1 : 0);
         hash = 53 * hash + (this.testCloneUninitialized ? 1 : 0);
         hash = 53 * hash + (this.lazyTranslation ? 1 : 0);
+        hash = 53 * hash + (this.lazyParsing ? 1 : 0);
+        hash = 53 * hash + (this.arrayAllocationSiteFeedback ? 1 : 0);
         hash = 53 * hash + this.stackTraceLimit;
         hash = 53 * hash + (this.asyncStackTraces ? 1 : 0);
         hash = 53 * hash + this.maxTypedArrayLength;
@@ -1344,9 +1417,18 @@ public final class JSContextOptions {
         if (this.bindMemberFunctions != other.bindMemberFunctions) {
             return false;
         }
+        if (this.jsonStream != other.jsonStream) {
+            return false;
+        }
         if (this.commonJSRequire != other.commonJSRequire) {
             return false;
         }
+        if (this.commonJSResolutionCache != other.commonJSResolutionCache) {
+            return false;
+        }
+        if (this.parseMetrics != other.parseMetrics) {
+            return false;
+        }
         if (this.regexRegressionTestMode != other.regexRegressionTestMode) {
             return false;
         }
@@ -1356,6 +1438,12 @@ public final class JSContextOptions {
         if (this.lazyTranslation != other.lazyTranslation) {
             return false;
         }
+        if (this.lazyParsing != other.lazyParsing) {
+            return false;
+        }
+        if (this.arrayAllocationSiteFeedback != other.arrayAllocationSiteFeedback) {
+            return false;
+        }
         if (this.stackTraceLimit != other.stackTraceLimit) {
             return false;
         }
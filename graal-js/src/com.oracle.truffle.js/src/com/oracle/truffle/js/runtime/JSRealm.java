@@ -56,6 +56,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.SplittableRandom;
 import java.util.WeakHashMap;
+import java.util.function.Supplier;
 
 import org.graalvm.collections.Pair;
 import org.graalvm.home.HomeFinder;
@@ -84,9 +85,9 @@ import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.nodes.LanguageInfo;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.BranchProfile;
-import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.builtins.ArrayIteratorPrototypeBuiltins;
 import com.oracle.truffle.js.builtins.AsyncIteratorHelperPrototypeBuiltins;
@@ -110,6 +111,7 @@ import com.oracle.truffle.js.builtins.RegExpBuiltins;
 import com.oracle.truffle.js.builtins.RegExpStringIteratorPrototypeBuiltins;
 import com.oracle.truffle.js.builtins.SetIteratorPrototypeBuiltins;
 import com.oracle.truffle.js.builtins.StringIteratorPrototypeBuiltins;
+import com.oracle.truffle.js.builtins.commonjs.CommonJSResolutionCache;
 import com.oracle.truffle.js.builtins.commonjs.GlobalCommonJSRequireBuiltins;
 import com.oracle.truffle.js.builtins.commonjs.NpmCompatibleESModuleLoader;
 import com.oracle.truffle.js.builtins.foreign.ForeignIterablePrototypeBuiltins;
@@ -201,12 +203,13 @@ import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSModuleLoader;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.IntlUtil;
-import com.oracle.truffle.js.runtime.util.LRUCache;
+import com.oracle.truffle.js.runtime.util.ParseMetrics;
 import com.oracle.truffle.js.runtime.util.PrintWriterWrapper;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
@@ -553,14 +556,14 @@ public class JSRealm {
     private final Map<TruffleFile, JSDynamicObject> commonJSRequireCache;
 
     /**
-     * Stack of receivers of (Typed)Array.prototype.join. Used to avoid cyclic calls.
+     * Per-realm CommonJs module resolution cache, or {@code null} if disabled.
      */
-    private final SimpleArrayList<Object> joinStack = new SimpleArrayList<>();
+    private final CommonJSResolutionCache commonJSResolutionCache;
 
     /**
-     * Cache of least recently compiled compiled regular expressions.
+     * Stack of receivers of (Typed)Array.prototype.join. Used to avoid cyclic calls.
      */
-    private Map<Source, Object> compiledRegexCache;
+    private final SimpleArrayList<Object> joinStack = new SimpleArrayList<>();
 
     /**
      * Private MLE-only custom Path resolution callback for ESM.
@@ -870,6 +873,11 @@ public class JSRealm {
         } else {
             this.commonJSRequireCache = null;
         }
+        if (context.getContextOptions().isCommonJSResolutionCache()) {
+            this.commonJSResolutionCache = new CommonJSResolutionCache();
+        } else {
+            this.commonJSResolutionCache = null;
+        }
 
         if (context.getContextOptions().isWebAssembly()) {
             Object wasmMemSetGrowCallback;
@@ -1870,10 +1878,7 @@ public class JSRealm {
             putGlobalProperty(JSSymbol.CLASS_NAME, getSymbolConstructor());
             setupPredefinedSymbols(getSymbolConstructor());
 
-            JSDynamicObject reflectObject = createReflect();
-            putGlobalProperty(REFLECT_CLASS_NAME, reflectObject);
-            this.reflectApplyFunctionObject = JSObject.get(reflectObject, Strings.APPLY);
-            this.reflectConstructFunctionObject = JSObject.get(reflectObject, Strings.CONSTRUCT);
+            putLazyGlobalProperty(REFLECT_CLASS_NAME, this::createReflect);
 
             putGlobalProperty(JSProxy.CLASS_NAME, getProxyConstructor());
             putGlobalProperty(JSPromise.CLASS_NAME, getPromiseConstructor());
@@ -1888,7 +1893,7 @@ public class JSRealm {
             putGlobalProperty(SHARED_ARRAY_BUFFER_CLASS_NAME, getSharedArrayBufferConstructor());
         }
         if (context.isOptionAtomics()) {
-            putGlobalProperty(ATOMICS_CLASS_NAME, createAtomics());
+            putLazyGlobalProperty(ATOMICS_CLASS_NAME, this::createAtomics);
         }
         if (context.getEcmaScriptVersion() >= JSConfig.ECMAScript2019) {
             putGlobalProperty(Strings.GLOBAL_THIS, global);
@@ -2026,12 +2031,20 @@ public class JSRealm {
 
     private void addIntlGlobal() {
         if (context.isOptionIntl402()) {
-            putGlobalProperty(JSIntl.CLASS_NAME, preinitIntlObject != null ? preinitIntlObject : createIntlObject());
+            if (preinitIntlObject != null) {
+                putGlobalProperty(JSIntl.CLASS_NAME, preinitIntlObject);
+            } else {
+                putLazyGlobalProperty(JSIntl.CLASS_NAME, this::createIntlObject);
+            }
         }
     }
 
     private void addTemporalGlobals() {
         assert context.isOptionTemporal();
+        putLazyGlobalProperty(TemporalConstants.TEMPORAL, this::createTemporalObject);
+    }
+
+    private JSDynamicObject createTemporalObject() {
         JSObject temporalObject = JSOrdinary.createInit(this);
         JSObjectUtil.putToStringTag(temporalObject, TemporalConstants.TEMPORAL);
 
@@ -2052,8 +2065,7 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(context, temporalObject, TemporalConstants.NOW, nowObject, flags);
         JSObjectUtil.putFunctionsFromContainer(this, nowObject, TemporalNowBuiltins.BUILTINS);
         JSObjectUtil.putToStringTag(nowObject, TemporalConstants.GLOBAL_TEMPORAL_NOW);
-
-        putGlobalProperty(TemporalConstants.TEMPORAL, temporalObject);
+        return temporalObject;
     }
 
     private JSDynamicObject createIntlObject() {
@@ -2094,6 +2106,9 @@ public class JSRealm {
             JSFunctionObject registerFunction = JSFunction.create(this, setUnhandledPromiseRejectionHandlerFunction(context));
             JSObjectUtil.putDataProperty(context, graalObject, Strings.SET_UNHANDLED_PROMISE_REJECTION_HANDLER, registerFunction, flags);
         }
+        if (options.isParseMetrics()) {
+            JSObjectUtil.putDataProperty(context, graalObject, Strings.PARSE_METRICS, JSFunction.create(this, parseMetricsFunction(context)), flags);
+        }
         putGlobalProperty(Strings.GRAAL, graalObject);
     }
 
@@ -2119,6 +2134,37 @@ public class JSRealm {
         });
     }
 
+    private static JSFunctionData parseMetricsFunction(JSContext context) {
+        return context.getOrCreateBuiltinFunctionData(BuiltinFunctionKey.GetParseMetrics, (c) -> {
+            return JSFunctionData.createCallOnly(c, new JavaScriptRootNode(c.getLanguage(), null, null) {
+                @Override
+                public Object execute(VirtualFrame frame) {
+                    return parseMetrics(getRealm());
+                }
+
+                @TruffleBoundary
+                private JSDynamicObject parseMetrics(JSRealm realm) {
+                    JSContext ctx = realm.getContext();
+                    JSObject result = JSOrdinary.create(ctx, realm);
+                    for (Map.Entry<String, ParseMetrics.SourceMetrics> entry : ctx.getParseMetrics().getSources().entrySet()) {
+                        ParseMetrics.SourceMetrics metrics = entry.getValue();
+                        JSObject sourceResult = JSOrdinary.create(ctx, realm);
+                        JSObject.set(sourceResult, Strings.fromJavaString("parseCount"), (double) metrics.getParseCount());
+                        JSObject.set(sourceResult, Strings.fromJavaString("parseTime"), metrics.getParseNanos() / 1e6);
+                        JSObject.set(sourceResult, Strings.fromJavaString("translateTime"), metrics.getTranslateNanos() / 1e6);
+                        JSObject.set(sourceResult, Strings.fromJavaString("allocatedBytes"), (double) metrics.getAllocatedBytes());
+                        JSObject.set(sourceResult, Strings.fromJavaString("nodeCount"), (double) metrics.getNodeCount());
+                        JSObject.set(sourceResult, Strings.fromJavaString("eagerFunctions"), (double) metrics.getEagerFunctions());
+                        JSObject.set(sourceResult, Strings.fromJavaString("deferredFunctions"), (double) metrics.getDeferredFunctions());
+                        JSObject.set(sourceResult, Strings.fromJavaString("onDemandFunctions"), (double) metrics.getOnDemandFunctions());
+                        JSObject.set(result, Strings.fromJavaString(entry.getKey()), sourceResult);
+                    }
+                    return result;
+                }
+            }.getCallTarget(), 0, Strings.PARSE_METRICS);
+        });
+    }
+
     private static JSFunctionData isGraalRuntimeFunction(JSContext context) {
         return context.getOrCreateBuiltinFunctionData(BuiltinFunctionKey.IsGraalRuntime, (c) -> {
             return JSFunctionData.createCallOnly(context, new JavaScriptRootNode(context.getLanguage(), null, null) {
@@ -2146,6 +2192,16 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(getContext(), getGlobalObject(), key, value, attributes);
     }
 
+    /**
+     * Defines a global data property with default attributes whose value is only created on first
+     * access. Used for namespace objects that no other builtin depends on.
+     */
+    private void putLazyGlobalProperty(TruffleString key, Supplier<JSDynamicObject> factory) {
+        assert !getGlobalObject().getShape().hasProperty(key);
+        // not a constant location: the proxy is realm-specific and global object shapes are shared
+        Properties.putWithFlagsUncached(getGlobalObject(), key, new LazyGlobalPropertyProxy(key, factory), JSAttributes.getDefaultNotEnumerable() | JSProperty.PROXY);
+    }
+
     private void putProperty(JSDynamicObject receiver, Object key, Object value) {
         JSObjectUtil.putDataProperty(getContext(), receiver, key, value, JSAttributes.getDefaultNotEnumerable());
     }
@@ -2331,6 +2387,8 @@ public class JSRealm {
         JSObject obj = JSObjectUtil.createOrdinaryPrototypeObject(this, this.getObjectPrototype());
         JSObjectUtil.putToStringTag(obj, REFLECT_CLASS_NAME);
         JSObjectUtil.putFunctionsFromContainer(this, obj, ReflectBuiltins.BUILTINS);
+        this.reflectApplyFunctionObject = JSObject.get(obj, Strings.APPLY);
+        this.reflectConstructFunctionObject = JSObject.get(obj, Strings.CONSTRUCT);
         return obj;
     }
 
@@ -2774,6 +2832,16 @@ public class JSRealm {
         }
     }
 
+    /**
+     * Stops background work of the module loader, if any.
+     */
+    @TruffleBoundary
+    public void terminateModuleLoader() {
+        if (moduleLoader instanceof DefaultESModuleLoader) {
+            ((DefaultESModuleLoader) moduleLoader).terminate();
+        }
+    }
+
     public final JSAgent getAgent() {
         assert agent != null;
         return agent;
@@ -2943,6 +3011,47 @@ public class JSRealm {
         }
     }
 
+    /**
+     * Global property whose value is created on first access and then replaced by an ordinary data
+     * property with the same attributes. Assigning the property before it has been read skips the
+     * creation entirely.
+     */
+    private static final class LazyGlobalPropertyProxy extends PropertyProxy {
+        private final TruffleString key;
+        private Supplier<JSDynamicObject> factory;
+        private JSDynamicObject value;
+
+        LazyGlobalPropertyProxy(TruffleString key, Supplier<JSDynamicObject> factory) {
+            this.key = key;
+            this.factory = factory;
+        }
+
+        @TruffleBoundary
+        @Override
+        public Object get(JSDynamicObject store) {
+            if (value == null) {
+                value = factory.get();
+                factory = null;
+            }
+            replaceWithDataProperty(store, value);
+            return value;
+        }
+
+        @TruffleBoundary
+        @Override
+        public boolean set(JSDynamicObject store, Object newValue) {
+            replaceWithDataProperty(store, newValue);
+            return true;
+        }
+
+        private void replaceWithDataProperty(JSDynamicObject store, Object newValue) {
+            Property property = store.getShape().getProperty(key);
+            if (property != null && JSProperty.isProxy(property) && JSDynamicObject.getOrNull(store, key) == this) {
+                JSObjectUtil.defineDataProperty(store, key, newValue, property.getFlags() & ~JSProperty.PROXY);
+            }
+        }
+    }
+
     public boolean joinStackPush(Object o, BranchProfile growProfile) {
         InteropLibrary interop = (o instanceof JSObject) ? null : InteropLibrary.getFactory().getUncached(o);
         for (int i = 0; i < joinStack.size(); i++) {
@@ -2964,6 +3073,13 @@ public class JSRealm {
         return commonJSRequireCache;
     }
 
+    /**
+     * Returns the CommonJS module resolution cache, or {@code null} if it is disabled.
+     */
+    public final CommonJSResolutionCache getCommonJSResolutionCache() {
+        return commonJSResolutionCache;
+    }
+
     private boolean isWasmAvailable() {
         return truffleLanguageEnv.isPolyglotBindingsAccessAllowed() && truffleLanguageEnv.getInternalLanguages().get("wasm") != null;
     }
@@ -3232,28 +3348,6 @@ public class JSRealm {
         return ++lastAsyncEvaluationOrder;
     }
 
-    @TruffleBoundary
-    public void putCachedCompiledRegex(Source regexSource, Object compiledRegex) {
-        int regexCacheSize = context.getContextOptions().getRegexCacheSize();
-        if (regexCacheSize > 0) {
-            if (compiledRegexCache == null) {
-                compiledRegexCache = new LRUCache<>(regexCacheSize);
-            }
-            compiledRegexCache.put(regexSource, compiledRegex);
-        }
-    }
-
-    @TruffleBoundary
-    public Object getCachedCompiledRegex(Source regexSource) {
-        int regexCacheSize = context.getContextOptions().getRegexCacheSize();
-        if (regexCacheSize > 0) {
-            if (compiledRegexCache != null) {
-                return compiledRegexCache.get(regexSource);
-            }
-        }
-        return null;
-    }
-
     public void storeParentPromise(JSDynamicObject promise) {
         parentPromise = promise;
     }
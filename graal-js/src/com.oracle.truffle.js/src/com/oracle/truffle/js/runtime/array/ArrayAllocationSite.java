@@ -44,7 +44,18 @@ public interface ArrayAllocationSite {
     default void notifyArrayTransition(@SuppressWarnings("unused") ScriptArray arrayType, @SuppressWarnings("unused") int length) {
     }
 
+    default void notifyArrayGrowth(@SuppressWarnings("unused") ScriptArray arrayType, @SuppressWarnings("unused") int capacity) {
+    }
+
     default ScriptArray getInitialArrayType() {
         return null;
     }
+
+    /**
+     * Returns {@code true} if an array of this site whose first element is a small integer should
+     * be backed by a {@code byte[]}, i.e., no array of this site has needed wider elements yet.
+     */
+    default boolean isNarrowIntegerSite() {
+        return false;
+    }
 }
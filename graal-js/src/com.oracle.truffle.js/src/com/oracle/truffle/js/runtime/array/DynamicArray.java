@@ -43,8 +43,11 @@ package com.oracle.truffle.js.runtime.array;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
 
 /**
  * Common base class for all dynamic (i.e., non-typed) JavaScript arrays. Encapsulates information
@@ -158,6 +161,67 @@ public abstract class DynamicArray extends ScriptArray {
 
     public abstract Object cloneArray(JSDynamicObject object);
 
+    /**
+     * Reports a transition of the array to a different storage strategy to its allocation site.
+     */
+    protected static void notifyAllocationSite(JSDynamicObject object, ScriptArray newArray, int length) {
+        if (!isAllocationSiteFeedback(object)) {
+            return;
+        }
+        ArrayAllocationSite site = JSAbstractArray.arrayGetAllocationSite(object);
+        if (site != null) {
+            notifyArrayTransition(site, newArray, length);
+        }
+    }
+
+    /**
+     * Reports that the backing storage of the array had to be reallocated to its allocation site.
+     */
+    protected static void notifyAllocationSiteGrowth(JSDynamicObject object, ScriptArray arrayType, int newCapacity) {
+        if (!isAllocationSiteFeedback(object)) {
+            return;
+        }
+        ArrayAllocationSite site = JSAbstractArray.arrayGetAllocationSite(object);
+        if (site != null) {
+            notifyArrayGrowth(site, arrayType, newCapacity);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the allocation site of the array asks for small integers to be stored
+     * in a {@code byte[]}. Arrays without allocation-site feedback always use int storage.
+     */
+    protected static boolean isNarrowIntegerAllocationSite(JSDynamicObject object) {
+        if (!isAllocationSiteFeedback(object)) {
+            return false;
+        }
+        ArrayAllocationSite site = JSAbstractArray.arrayGetAllocationSite(object);
+        return site != null && isNarrowIntegerSite(site);
+    }
+
+    @TruffleBoundary
+    private static boolean isNarrowIntegerSite(ArrayAllocationSite site) {
+        return site.isNarrowIntegerSite();
+    }
+
+    /**
+     * Arrays only have an allocation site if allocation sites are tracked or allocation-site
+     * feedback is enabled; the latter is a compilation-final option of the context.
+     */
+    private static boolean isAllocationSiteFeedback(JSDynamicObject object) {
+        return JSConfig.TrackArrayAllocationSites || JSObject.getJSContext(object).getContextOptions().isArrayAllocationSiteFeedback();
+    }
+
+    @TruffleBoundary
+    private static void notifyArrayTransition(ArrayAllocationSite site, ScriptArray newArray, int length) {
+        site.notifyArrayTransition(newArray, length);
+    }
+
+    @TruffleBoundary
+    private static void notifyArrayGrowth(ArrayAllocationSite site, ScriptArray arrayType, int newCapacity) {
+        site.notifyArrayGrowth(arrayType, newCapacity);
+    }
+
     @Override
     public String toString() {
         return super.toString() + "[integrityLevel=" + integrityLevel + "]";
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array;
+
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractJSObjectArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractObjectArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedByteArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedJSObjectArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedObjectArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedShortArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayObject;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+
+/**
+ * Allocation site of an empty array literal that remembers the most general element kind and the
+ * largest capacity (up to {@link #MAX_CAPACITY}) needed by the arrays it created. Later arrays
+ * start out with that strategy and capacity, so arrays that are filled by {@code push} do not
+ * repeatedly grow and transition from byte to short, int, double and object elements.
+ *
+ * The capacity hint decays: it is halved after {@link #DECAY_INTERVAL} allocations during which no
+ * array of this site had to grow, and the element kind is forgotten once the hint has dropped back
+ * to {@link JSConfig#InitialArraySize}. The profile is only a hint and is updated without
+ * synchronization.
+ */
+public final class PresizingArrayAllocationSite implements ArrayAllocationSite {
+
+    private static final int KIND_UNKNOWN = 0;
+    private static final int KIND_BYTE = 1;
+    private static final int KIND_SHORT = 2;
+    private static final int KIND_INT = 3;
+    private static final int KIND_DOUBLE = 4;
+    private static final int KIND_JSOBJECT = 5;
+    private static final int KIND_OBJECT = 6;
+
+    static final int DECAY_INTERVAL = 16;
+    /**
+     * Upper bound of the capacity hint. Presized arrays are not trimmed, so the hint is kept small
+     * enough that an array that ends up with few elements wastes at most a few kilobytes.
+     */
+    static final int MAX_CAPACITY = 1 << 10;
+
+    private int elementKind;
+    private int capacity;
+    private int allocationsSinceGrowth;
+
+    public JSArrayObject createEmptyArray(JSContext context, JSRealm realm) {
+        int kind = elementKind;
+        int initialCapacity = nextCapacity();
+        switch (kind) {
+            case KIND_BYTE:
+                return JSArray.create(context, realm, ZeroBasedByteArray.createZeroBasedByteArray(), new byte[initialCapacity], this, 0, 0, 0, 0, 0);
+            case KIND_SHORT:
+                return JSArray.create(context, realm, ZeroBasedShortArray.createZeroBasedShortArray(), new short[initialCapacity], this, 0, 0, 0, 0, 0);
+            case KIND_INT:
+                return JSArray.create(context, realm, ZeroBasedIntArray.createZeroBasedIntArray(), new int[initialCapacity], this, 0, 0, 0, 0, 0);
+            case KIND_DOUBLE:
+                return JSArray.create(context, realm, ZeroBasedDoubleArray.createZeroBasedDoubleArray(), new double[initialCapacity], this, 0, 0, 0, 0, 0);
+            case KIND_JSOBJECT:
+                return JSArray.create(context, realm, ZeroBasedJSObjectArray.createZeroBasedJSObjectArray(), new JSDynamicObject[initialCapacity], this, 0, 0, 0, 0, 0);
+            case KIND_OBJECT:
+                return JSArray.create(context, realm, ZeroBasedObjectArray.createZeroBasedObjectArray(), new Object[initialCapacity], this, 0, 0, 0, 0, 0);
+            default:
+                return JSArray.createConstantEmptyArray(context, realm, this);
+        }
+    }
+
+    private int nextCapacity() {
+        int hint = capacity;
+        if (++allocationsSinceGrowth >= DECAY_INTERVAL) {
+            allocationsSinceGrowth = 0;
+            hint >>>= 1;
+            capacity = hint;
+            if (hint <= JSConfig.InitialArraySize) {
+                elementKind = KIND_UNKNOWN;
+            }
+        }
+        return Math.max(hint, JSConfig.InitialArraySize);
+    }
+
+    @Override
+    public void notifyArrayTransition(ScriptArray arrayType, int length) {
+        recordElementKind(arrayType);
+    }
+
+    @Override
+    public void notifyArrayGrowth(ScriptArray arrayType, int newCapacity) {
+        recordElementKind(arrayType);
+        capacity = Math.max(capacity, Math.min(newCapacity, MAX_CAPACITY));
+        allocationsSinceGrowth = 0;
+    }
+
+    private void recordElementKind(ScriptArray arrayType) {
+        int kind = elementKindOf(arrayType);
+        if (kind != KIND_UNKNOWN) {
+            elementKind = generalize(elementKind, kind);
+        }
+    }
+
+    private static int elementKindOf(ScriptArray arrayType) {
+        if (arrayType instanceof ZeroBasedByteArray) {
+            return KIND_BYTE;
+        } else if (arrayType instanceof ZeroBasedShortArray) {
+            return KIND_SHORT;
+        } else if (arrayType instanceof AbstractIntArray) {
+            return KIND_INT;
+        } else if (arrayType instanceof AbstractDoubleArray) {
+            return KIND_DOUBLE;
+        } else if (arrayType instanceof AbstractJSObjectArray) {
+            return KIND_JSOBJECT;
+        } else if (arrayType instanceof AbstractObjectArray) {
+            return KIND_OBJECT;
+        }
+        return KIND_UNKNOWN;
+    }
+
+    private static int generalize(int previous, int kind) {
+        if (previous == KIND_UNKNOWN || previous == kind) {
+            return kind;
+        } else if (previous <= KIND_DOUBLE && kind <= KIND_DOUBLE) {
+            // numeric kinds widen from byte to short, int and double
+            return Math.max(previous, kind);
+        }
+        return KIND_OBJECT;
+    }
+
+    @Override
+    public boolean isNarrowIntegerSite() {
+        return elementKind <= KIND_BYTE;
+    }
+
+    @Override
+    public ScriptArray getInitialArrayType() {
+        switch (elementKind) {
+            case KIND_BYTE:
+                return ZeroBasedByteArray.createZeroBasedByteArray();
+            case KIND_SHORT:
+                return ZeroBasedShortArray.createZeroBasedShortArray();
+            case KIND_INT:
+                return ZeroBasedIntArray.createZeroBasedIntArray();
+            case KIND_DOUBLE:
+                return ZeroBasedDoubleArray.createZeroBasedDoubleArray();
+            case KIND_JSOBJECT:
+                return ZeroBasedJSObjectArray.createZeroBasedJSObjectArray();
+            case KIND_OBJECT:
+                return ZeroBasedObjectArray.createZeroBasedObjectArray();
+            default:
+                return null;
+        }
+    }
+}
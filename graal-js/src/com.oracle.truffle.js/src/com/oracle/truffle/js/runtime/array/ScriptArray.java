@@ -302,6 +302,10 @@ public abstract class ScriptArray {
         return Byte.MIN_VALUE <= value && value <= Byte.MAX_VALUE;
     }
 
+    public static boolean valueIsShort(int value) {
+        return Short.MIN_VALUE <= value && value <= Short.MAX_VALUE;
+    }
+
     @TruffleBoundary
     public String toString(JSDynamicObject object) {
         StringBuilder sb = new StringBuilder();
@@ -144,13 +144,17 @@ public abstract class AbstractConstantArray extends DynamicArray {
         default boolean indexLessThanLength(ProfileHolder profile, boolean condition) {
             return profile.profile(this, 3, condition);
         }
+
+        default boolean valueByte(ProfileHolder profile, boolean condition) {
+            return profile.profile(this, 4, condition);
+        }
     }
 
     protected static final CreateWritableProfileAccess CREATE_WRITABLE_PROFILE = new CreateWritableProfileAccess() {
     };
 
     public static ProfileHolder createCreateWritableProfile() {
-        return ProfileHolder.create(4, CreateWritableProfileAccess.class);
+        return ProfileHolder.create(5, CreateWritableProfileAccess.class);
     }
 
     @Override
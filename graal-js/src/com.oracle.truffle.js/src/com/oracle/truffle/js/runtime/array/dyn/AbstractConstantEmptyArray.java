@@ -42,12 +42,9 @@ package com.oracle.truffle.js.runtime.array.dyn;
 
 import java.util.List;
 
-import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSRuntime;
-import com.oracle.truffle.js.runtime.array.ArrayAllocationSite;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
-import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
@@ -111,21 +108,30 @@ public abstract class AbstractConstantEmptyArray extends AbstractConstantArray {
         return -1;
     }
 
+    /**
+     * Integer arrays start out as int arrays, unless the array's allocation site has only seen
+     * small integers so far; then an array whose first element at index 0 is a small integer is
+     * backed by a {@code byte[]} and widened when a larger value is stored.
+     */
     @Override
-    public AbstractIntArray createWriteableInt(JSDynamicObject object, long index, int value, ProfileHolder profile) {
+    public AbstractWritableArray createWriteableInt(JSDynamicObject object, long index, int value, ProfileHolder profile) {
         assert index >= 0; // corner case, length would not be int then
         int capacity = lengthInt(object);
-        int[] initialArray = new int[calcNewArraySize(capacity, profile)];
-        AbstractIntArray newArray;
+        int newArraySize = calcNewArraySize(capacity, profile);
+        AbstractWritableArray newArray;
         if (CREATE_WRITABLE_PROFILE.indexZero(profile, index == 0)) {
-            newArray = ZeroBasedIntArray.makeZeroBasedIntArray(object, capacity, 0, initialArray, integrityLevel);
+            if (CREATE_WRITABLE_PROFILE.valueByte(profile, valueIsByte(value) && isNarrowIntegerAllocationSite(object))) {
+                newArray = ZeroBasedByteArray.makeZeroBasedByteArray(object, capacity, 0, new byte[newArraySize], integrityLevel);
+            } else {
+                newArray = ZeroBasedIntArray.makeZeroBasedIntArray(object, capacity, 0, new int[newArraySize], integrityLevel);
+            }
         } else {
-            newArray = createWritableIntContiguous(object, capacity, index, initialArray, profile);
+            newArray = createWritableIntContiguous(object, capacity, index, new int[newArraySize], profile);
         }
         if (JSConfig.TraceArrayTransitions) {
             traceArrayTransition(this, newArray, index, value);
         }
-        notifyAllocationSite(object, newArray);
+        notifyAllocationSite(object, newArray, lengthInt(object));
         return newArray;
     }
 
@@ -163,7 +169,7 @@ public abstract class AbstractConstantEmptyArray extends AbstractConstantArray {
         if (JSConfig.TraceArrayTransitions) {
             traceArrayTransition(this, newArray, index, value);
         }
-        notifyAllocationSite(object, newArray);
+        notifyAllocationSite(object, newArray, lengthInt(object));
         return newArray;
     }
 
@@ -191,7 +197,7 @@ public abstract class AbstractConstantEmptyArray extends AbstractConstantArray {
         if (JSConfig.TraceArrayTransitions) {
             traceArrayTransition(this, newArray, index, value);
         }
-        notifyAllocationSite(object, newArray);
+        notifyAllocationSite(object, newArray, lengthInt(object));
         return newArray;
     }
 
@@ -219,7 +225,7 @@ public abstract class AbstractConstantEmptyArray extends AbstractConstantArray {
         if (JSConfig.TraceArrayTransitions) {
             traceArrayTransition(this, newArray, index, value);
         }
-        notifyAllocationSite(object, newArray);
+        notifyAllocationSite(object, newArray, lengthInt(object));
         return newArray;
     }
 
@@ -248,13 +254,4 @@ public abstract class AbstractConstantEmptyArray extends AbstractConstantArray {
     public List<Object> ownPropertyKeys(JSDynamicObject object) {
         return ownPropertyKeysContiguous(object);
     }
-
-    private void notifyAllocationSite(JSDynamicObject object, ScriptArray newArray) {
-        if (JSConfig.TrackArrayAllocationSites && CompilerDirectives.inInterpreter()) {
-            ArrayAllocationSite site = JSAbstractArray.arrayGetAllocationSite(object);
-            if (site != null) {
-                site.notifyArrayTransition(newArray, lengthInt(object));
-            }
-        }
-    }
 }
@@ -263,6 +263,7 @@ public abstract class AbstractWritableArray extends DynamicArray {
                 }
             }
             resizeArray(object, (int) newCapacity, capacity, offset);
+            notifyAllocationSiteGrowth(object, this, (int) newCapacity);
             return offset;
         }
     }
@@ -659,7 +660,9 @@ public abstract class AbstractWritableArray extends DynamicArray {
     }
 
     private ScriptArray addRangeGrow(JSDynamicObject object, Object array, int arrayLength, int usedLength, int length, int offset, int size, int arrayOffset, long indexOffset) {
-        Object newArray = allocateArray(nextPower(arrayLength + size));
+        int newCapacity = nextPower(arrayLength + size);
+        Object newArray = allocateArray(newCapacity);
+        notifyAllocationSiteGrowth(object, this, newCapacity);
         if (offset - arrayOffset > arrayLength) {
             System.arraycopy(array, arrayOffset, newArray, arrayOffset, arrayLength);
             fillWithHoles(newArray, usedLength, usedLength + size);
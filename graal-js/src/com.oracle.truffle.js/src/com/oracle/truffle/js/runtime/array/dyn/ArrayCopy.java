@@ -55,24 +55,68 @@ final class ArrayCopy {
     }
 
     static int[] byteToInt(byte[] array) {
+        return byteToInt(array, array.length);
+    }
+
+    static int[] byteToInt(byte[] array, int usedLength) {
         int[] copyArray = new int[array.length];
-        for (int i = 0; i < array.length; i++) {
+        for (int i = 0; i < usedLength; i++) {
             copyArray[i] = array[i];
         }
         return copyArray;
     }
 
     static double[] byteToDouble(byte[] array) {
+        return byteToDouble(array, array.length);
+    }
+
+    static double[] byteToDouble(byte[] array, int usedLength) {
         double[] copyArray = new double[array.length];
-        for (int i = 0; i < array.length; i++) {
+        for (int i = 0; i < usedLength; i++) {
             copyArray[i] = array[i];
         }
         return copyArray;
     }
 
     static Object[] byteToObject(byte[] array) {
+        return byteToObject(array, array.length);
+    }
+
+    static Object[] byteToObject(byte[] array, int usedLength) {
+        Object[] copyArray = new Object[array.length];
+        for (int i = 0; i < usedLength; i++) {
+            copyArray[i] = (int) array[i];
+        }
+        return copyArray;
+    }
+
+    static short[] byteToShort(byte[] array, int usedLength) {
+        short[] copyArray = new short[array.length];
+        for (int i = 0; i < usedLength; i++) {
+            copyArray[i] = array[i];
+        }
+        return copyArray;
+    }
+
+    static int[] shortToInt(short[] array, int usedLength) {
+        int[] copyArray = new int[array.length];
+        for (int i = 0; i < usedLength; i++) {
+            copyArray[i] = array[i];
+        }
+        return copyArray;
+    }
+
+    static double[] shortToDouble(short[] array, int usedLength) {
+        double[] copyArray = new double[array.length];
+        for (int i = 0; i < usedLength; i++) {
+            copyArray[i] = array[i];
+        }
+        return copyArray;
+    }
+
+    static Object[] shortToObject(short[] array, int usedLength) {
         Object[] copyArray = new Object[array.length];
-        for (int i = 0; i < array.length; i++) {
+        for (int i = 0; i < usedLength; i++) {
             copyArray[i] = (int) array[i];
         }
         return copyArray;
@@ -98,9 +98,16 @@ public final class ConstantByteArray extends AbstractConstantArray {
     }
 
     @Override
-    public ZeroBasedIntArray createWriteableInt(JSDynamicObject object, long index, int value, ProfileHolder profile) {
-        int[] intCopy = ArrayCopy.byteToInt(getArray(object));
-        ZeroBasedIntArray newArray = ZeroBasedIntArray.makeZeroBasedIntArray(object, intCopy.length, intCopy.length, intCopy, integrityLevel);
+    public AbstractWritableArray createWriteableInt(JSDynamicObject object, long index, int value, ProfileHolder profile) {
+        AbstractWritableArray newArray;
+        if (valueIsByte(value)) {
+            // the backing array is shared with the literal, so it has to be copied
+            byte[] byteCopy = ArrayCopy.byteToByte(getArray(object));
+            newArray = ZeroBasedByteArray.makeZeroBasedByteArray(object, byteCopy.length, byteCopy.length, byteCopy, integrityLevel);
+        } else {
+            int[] intCopy = ArrayCopy.byteToInt(getArray(object));
+            newArray = ZeroBasedIntArray.makeZeroBasedIntArray(object, intCopy.length, intCopy.length, intCopy, integrityLevel);
+        }
         if (JSConfig.TraceArrayTransitions) {
             traceArrayTransition(this, newArray, index, value);
         }
@@ -74,7 +74,7 @@ public final class ConstantEmptyPrototypeArray extends AbstractConstantEmptyArra
     }
 
     @Override
-    public AbstractIntArray createWriteableInt(JSDynamicObject object, long index, int value, ProfileHolder profile) {
+    public AbstractWritableArray createWriteableInt(JSDynamicObject object, long index, int value, ProfileHolder profile) {
         getArrayPrototypeNoElementsAssumption(object).invalidate(JSAbstractArray.ARRAY_PROTOTYPE_NO_ELEMENTS_INVALIDATION);
         return super.createWriteableInt(object, index, value, profile);
     }
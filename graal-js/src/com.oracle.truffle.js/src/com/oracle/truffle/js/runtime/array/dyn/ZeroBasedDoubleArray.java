@@ -118,6 +118,7 @@ public final class ZeroBasedDoubleArray extends AbstractDoubleArray {
         if (JSConfig.TraceArrayTransitions) {
             traceArrayTransition(this, newArray, index, value);
         }
+        notifyAllocationSite(object, newArray, length);
         return newArray;
     }
 
@@ -120,6 +120,7 @@ public final class ZeroBasedIntArray extends AbstractIntArray {
         if (JSConfig.TraceArrayTransitions) {
             traceArrayTransition(this, newArray, index, value);
         }
+        notifyAllocationSite(object, newArray, length);
         return newArray;
     }
 
@@ -134,6 +135,7 @@ public final class ZeroBasedIntArray extends AbstractIntArray {
         if (JSConfig.TraceArrayTransitions) {
             traceArrayTransition(this, newArray, index, value);
         }
+        notifyAllocationSite(object, newArray, length);
         return newArray;
     }
 
@@ -144,6 +144,7 @@ public final class ZeroBasedJSObjectArray extends AbstractJSObjectArray {
         if (JSConfig.TraceArrayTransitions) {
             traceArrayTransition(this, newArray, index, value);
         }
+        notifyAllocationSite(object, newArray, length);
         return newArray;
     }
 
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array.dyn;
+
+import static com.oracle.truffle.api.CompilerDirectives.FASTPATH_PROBABILITY;
+import static com.oracle.truffle.api.CompilerDirectives.injectBranchProbability;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetArray;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetArray;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetLength;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetUsedLength;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+
+/**
+ * Writable zero-based array of 16-bit integers, backed by a {@code short[]}. Usually reached by
+ * widening a {@link ZeroBasedByteArray}. Writing any other value widens the array to
+ * {@link ZeroBasedIntArray} (or a more general array type). Like the byte variant, there is no
+ * contiguous or holes counterpart.
+ */
+public final class ZeroBasedShortArray extends AbstractWritableArray {
+
+    private static final ZeroBasedShortArray ZERO_BASED_SHORT_ARRAY = new ZeroBasedShortArray(INTEGRITY_LEVEL_NONE, createCache()).maybePreinitializeCache();
+
+    public static ZeroBasedShortArray makeZeroBasedShortArray(JSDynamicObject object, int length, int usedLength, short[] array, int integrityLevel) {
+        ZeroBasedShortArray arrayType = createZeroBasedShortArray().setIntegrityLevel(integrityLevel);
+        arraySetLength(object, length);
+        arraySetUsedLength(object, usedLength);
+        arraySetArray(object, array);
+        return arrayType;
+    }
+
+    public static ZeroBasedShortArray createZeroBasedShortArray() {
+        return ZERO_BASED_SHORT_ARRAY;
+    }
+
+    private ZeroBasedShortArray(int integrityLevel, DynamicArrayCache cache) {
+        super(integrityLevel, cache);
+    }
+
+    private static short[] getArray(JSDynamicObject object) {
+        Object array = arrayGetArray(object);
+        if (array.getClass() == short[].class) {
+            return (short[]) array;
+        } else {
+            throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    @Override
+    public ScriptArray setElementImpl(JSDynamicObject object, long index, Object value, boolean strict) {
+        assert index >= 0;
+        if (injectBranchProbability(FASTPATH_PROBABILITY, value instanceof Integer && valueIsShort((int) value) && isSupported(object, index))) {
+            setSupported(object, (int) index, (short) (int) value, ProfileHolder.empty());
+            return this;
+        } else {
+            return rewrite(object, index, value).setElementImpl(object, index, value, strict);
+        }
+    }
+
+    private ScriptArray rewrite(JSDynamicObject object, long index, Object value) {
+        if (value instanceof Integer) {
+            return toInt(object, index, value);
+        } else if (value instanceof Double) {
+            return toDouble(object, index, (double) value);
+        } else {
+            return toObject(object, index, value);
+        }
+    }
+
+    @Override
+    public boolean isSupported(JSDynamicObject object, long index) {
+        return isSupportedZeroBased(object, (int) index);
+    }
+
+    @Override
+    public Object getInBoundsFast(JSDynamicObject object, int index) {
+        return getInBoundsFastInt(object, index);
+    }
+
+    @Override
+    public int getInBoundsFastInt(JSDynamicObject object, int index) {
+        return getArray(object)[index];
+    }
+
+    public void setInBoundsFast(JSDynamicObject object, int index, short value) {
+        getArray(object)[index] = value;
+        if (JSConfig.TraceArrayWrites) {
+            traceWriteValue("InBoundsFast", index, value);
+        }
+    }
+
+    public void setSupported(JSDynamicObject object, int index, short value, ProfileHolder profile) {
+        int preparedIndex = prepareSupported(object, index, profile);
+        getArray(object)[preparedIndex] = value;
+        if (JSConfig.TraceArrayWrites) {
+            traceWriteValue("Supported", index, value);
+        }
+    }
+
+    @Override
+    protected int prepareInBoundsFast(JSDynamicObject object, long index) {
+        return (int) index;
+    }
+
+    @Override
+    protected int prepareInBounds(JSDynamicObject object, int index, ProfileHolder profile) {
+        prepareInBoundsZeroBased(object, index, profile);
+        return index;
+    }
+
+    @Override
+    protected int prepareSupported(JSDynamicObject object, int index, ProfileHolder profile) {
+        prepareSupportedZeroBased(object, index, profile);
+        return index;
+    }
+
+    @Override
+    protected void setLengthLess(JSDynamicObject object, long length, ProfileHolder profile) {
+        setLengthLessZeroBased(object, length, profile);
+    }
+
+    @Override
+    AbstractWritableArray sameTypeHolesArray(JSDynamicObject object, int length, Object array, long indexOffset, int arrayOffset, int usedLength, int holeCount) {
+        // only reachable for non-zero-based arrays
+        throw Errors.shouldNotReachHere();
+    }
+
+    @Override
+    void fillWithHoles(Object array, int fromIndex, int toIndex) {
+        Arrays.fill((short[]) array, fromIndex, toIndex, (short) 0);
+    }
+
+    @Override
+    int getArrayLength(Object array) {
+        return ((short[]) array).length;
+    }
+
+    @Override
+    protected void setHoleValue(JSDynamicObject object, int preparedIndex) {
+        // no holes; only used to clear the unused area
+        getArray(object)[preparedIndex] = 0;
+    }
+
+    @Override
+    protected boolean isHolePrepared(JSDynamicObject object, int preparedIndex) {
+        return false;
+    }
+
+    @Override
+    protected int getArrayCapacity(JSDynamicObject object) {
+        return getArray(object).length;
+    }
+
+    @Override
+    protected void resizeArray(JSDynamicObject object, int newCapacity, int oldCapacity, int offset) {
+        short[] newArray = new short[newCapacity];
+        System.arraycopy(getArray(object), 0, newArray, offset, oldCapacity);
+        arraySetArray(object, newArray);
+    }
+
+    @Override
+    protected void moveRangePrepared(JSDynamicObject object, int src, int dst, int len) {
+        short[] array = getArray(object);
+        System.arraycopy(array, src, array, dst, len);
+    }
+
+    public ZeroBasedIntArray toInt(JSDynamicObject object, long index, Object value) {
+        short[] array = getArray(object);
+        int length = lengthInt(object);
+        int usedLength = getUsedLength(object);
+
+        int[] intCopy = ArrayCopy.shortToInt(array, usedLength);
+        ZeroBasedIntArray newArray = ZeroBasedIntArray.makeZeroBasedIntArray(object, length, usedLength, intCopy, integrityLevel);
+        if (JSConfig.TraceArrayTransitions) {
+            traceArrayTransition(this, newArray, index, value);
+        }
+        notifyAllocationSite(object, newArray, length);
+        return newArray;
+    }
+
+    @Override
+    public ZeroBasedDoubleArray toDouble(JSDynamicObject object, long index, double value) {
+        short[] array = getArray(object);
+        int length = lengthInt(object);
+        int usedLength = getUsedLength(object);
+
+        double[] doubleCopy = ArrayCopy.shortToDouble(array, usedLength);
+        ZeroBasedDoubleArray newArray = ZeroBasedDoubleArray.makeZeroBasedDoubleArray(object, length, usedLength, doubleCopy, integrityLevel);
+        if (JSConfig.TraceArrayTransitions) {
+            traceArrayTransition(this, newArray, index, value);
+        }
+        notifyAllocationSite(object, newArray, length);
+        return newArray;
+    }
+
+    @Override
+    public ZeroBasedObjectArray toObject(JSDynamicObject object, long index, Object value) {
+        short[] array = getArray(object);
+        int length = lengthInt(object);
+        int usedLength = getUsedLength(object);
+
+        Object[] objectCopy = ArrayCopy.shortToObject(array, usedLength);
+        ZeroBasedObjectArray newArray = ZeroBasedObjectArray.makeZeroBasedObjectArray(object, length, usedLength, objectCopy, integrityLevel);
+        if (JSConfig.TraceArrayTransitions) {
+            traceArrayTransition(this, newArray, index, value);
+        }
+        notifyAllocationSite(object, newArray, length);
+        return newArray;
+    }
+
+    @Override
+    public AbstractWritableArray toContiguous(JSDynamicObject object, long index, Object value) {
+        return toInt(object, index, value).toContiguous(object, index, value);
+    }
+
+    @Override
+    public AbstractWritableArray toHoles(JSDynamicObject object, long index, Object value) {
+        return toInt(object, index, value).toHoles(object, index, value);
+    }
+
+    @Override
+    public ScriptArray deleteElementImpl(JSDynamicObject object, long index, boolean strict) {
+        return toHoles(object, index, HolesIntArray.HOLE_VALUE).deleteElementImpl(object, index, strict);
+    }
+
+    @Override
+    public long firstElementIndex(JSDynamicObject object) {
+        return 0;
+    }
+
+    @Override
+    public long lastElementIndex(JSDynamicObject object) {
+        return getUsedLength(object) - 1;
+    }
+
+    @Override
+    public long nextElementIndex(JSDynamicObject object, long index) {
+        return nextElementIndexZeroBased(object, index);
+    }
+
+    @Override
+    public ScriptArray removeRangeImpl(JSDynamicObject object, long start, long end) {
+        short[] array = getArray(object);
+        int usedLength = getUsedLength(object);
+        long moveLength = usedLength - end;
+        if (moveLength > 0) {
+            System.arraycopy(array, (int) end, array, (int) start, (int) moveLength);
+        }
+        if (start < usedLength) {
+            int newUsedLength = (int) ((moveLength > 0) ? (usedLength - (end - start)) : start);
+            arraySetUsedLength(object, newUsedLength);
+        }
+        return this;
+    }
+
+    @Override
+    public ScriptArray shiftRangeImpl(JSDynamicObject object, long from) {
+        if (from < getUsedLength(object)) {
+            // the int array can shift without moving the elements
+            return toInt(object, 0, null).shiftRangeImpl(object, from);
+        } else {
+            return removeRangeImpl(object, 0, from);
+        }
+    }
+
+    @Override
+    public ScriptArray addRangeImpl(JSDynamicObject object, long offset, int size) {
+        return addRangeImplZeroBased(object, offset, size);
+    }
+
+    @Override
+    public boolean hasHoles(JSDynamicObject object) {
+        return getUsedLength(object) < lengthInt(object);
+    }
+
+    @Override
+    public Object allocateArray(int length) {
+        return new short[length];
+    }
+
+    @Override
+    public Object cloneArray(JSDynamicObject object) {
+        return getArray(object).clone();
+    }
+
+    @Override
+    protected ZeroBasedShortArray withIntegrityLevel(int newIntegrityLevel) {
+        return new ZeroBasedShortArray(newIntegrityLevel, cache);
+    }
+}
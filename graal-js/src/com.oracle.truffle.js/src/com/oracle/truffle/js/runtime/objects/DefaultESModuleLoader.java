@@ -44,9 +44,16 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.FileSystemException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import com.oracle.js.parser.ir.Module.ModuleRequest;
 import com.oracle.truffle.api.TruffleFile;
@@ -56,6 +63,7 @@ import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.JSInterruptedExecutionException;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.UserScriptException;
@@ -73,6 +81,22 @@ public class DefaultESModuleLoader implements JSModuleLoader {
     protected final JSRealm realm;
     protected final Map<String, JSModuleRecord> moduleMap = new HashMap<>();
 
+    /** Requested modules that are read and parsed in the background, by canonical path. */
+    private final Map<String, Future<PrefetchedModule>> prefetchedModules = new HashMap<>();
+    private ExecutorService parseExecutor;
+    private final List<Thread> parseThreads = new ArrayList<>();
+
+    private static final class PrefetchedModule {
+        final Source source;
+        /** Result of {@code Evaluator.parseModuleAhead}, {@code null} if the module has errors. */
+        final Object parsedModule;
+
+        PrefetchedModule(Source source, Object parsedModule) {
+            this.source = source;
+            this.parsedModule = parsedModule;
+        }
+    }
+
     public static DefaultESModuleLoader create(JSRealm realm) {
         return new DefaultESModuleLoader(realm);
     }
@@ -109,25 +133,7 @@ public class DefaultESModuleLoader implements JSModuleLoader {
                 canonicalPath = maybeCustomPath.toJavaStringUncached();
                 moduleFile = realm.getEnv().getPublicTruffleFile(canonicalPath).getCanonicalFile();
             } else {
-                if (refPath == null) {
-                    if (maybeUri != null) {
-                        moduleFile = realm.getEnv().getPublicTruffleFile(maybeUri);
-                    } else {
-                        moduleFile = realm.getEnv().getPublicTruffleFile(specifier);
-                    }
-                } else {
-                    TruffleFile refFile = realm.getEnv().getPublicTruffleFile(refPath);
-                    if (maybeUri != null) {
-                        String uriFile = realm.getEnv().getPublicTruffleFile(maybeUri).getCanonicalFile().getPath();
-                        moduleFile = refFile.resolveSibling(uriFile);
-                    } else {
-                        if (bareSpecifierDirectLookup(specifier)) {
-                            moduleFile = realm.getEnv().getPublicTruffleFile(specifier);
-                        } else {
-                            moduleFile = refFile.resolveSibling(specifier);
-                        }
-                    }
-                }
+                moduleFile = resolveModuleFile(refPath, specifier);
                 canonicalPath = null;
             }
             return loadModuleFromUrl(referrer, moduleRequest, moduleFile, canonicalPath);
@@ -151,6 +157,29 @@ public class DefaultESModuleLoader implements JSModuleLoader {
         }
     }
 
+    private TruffleFile resolveModuleFile(String refPath, String specifier) throws IOException {
+        URI maybeUri = asURI(specifier);
+        if (refPath == null) {
+            if (maybeUri != null) {
+                return realm.getEnv().getPublicTruffleFile(maybeUri);
+            } else {
+                return realm.getEnv().getPublicTruffleFile(specifier);
+            }
+        } else {
+            TruffleFile refFile = realm.getEnv().getPublicTruffleFile(refPath);
+            if (maybeUri != null) {
+                String uriFile = realm.getEnv().getPublicTruffleFile(maybeUri).getCanonicalFile().getPath();
+                return refFile.resolveSibling(uriFile);
+            } else {
+                if (bareSpecifierDirectLookup(specifier)) {
+                    return realm.getEnv().getPublicTruffleFile(specifier);
+                } else {
+                    return refFile.resolveSibling(specifier);
+                }
+            }
+        }
+    }
+
     private boolean bareSpecifierDirectLookup(String specifier) {
         JSContextOptions options = realm.getContext().getContextOptions();
         if (options.isEsmBareSpecifierRelativeLookup()) {
@@ -185,7 +214,13 @@ public class DefaultESModuleLoader implements JSModuleLoader {
             return existingModule;
         }
 
-        Source source = Source.newBuilder(JavaScriptLanguage.ID, moduleFile).name(Strings.toJavaString(moduleRequest.getSpecifier())).mimeType(JavaScriptLanguage.MODULE_MIME_TYPE).build();
+        String name = Strings.toJavaString(moduleRequest.getSpecifier());
+        PrefetchedModule prefetched = takePrefetchedModule(canonicalPath);
+        if (prefetched != null && !prefetched.source.getName().equals(name)) {
+            // prefetched for a different specifier
+            prefetched = null;
+        }
+        Source source = prefetched != null ? prefetched.source : Source.newBuilder(JavaScriptLanguage.ID, moduleFile).name(name).mimeType(JavaScriptLanguage.MODULE_MIME_TYPE).build();
         Map<TruffleString, TruffleString> assertions = moduleRequest.getAssertions();
         int moduleType = getModuleType(moduleFile.getName());
         TruffleString assertedType = assertions.get(JSContext.getTypeImportAssertion());
@@ -196,8 +231,14 @@ public class DefaultESModuleLoader implements JSModuleLoader {
         if (isModuleType(moduleType, JSON_MODULE_TYPE)) {
             newModule = realm.getContext().getEvaluator().parseJSONModule(realm, source);
         } else {
-            JSModuleData parsedModule = realm.getContext().getEvaluator().envParseModule(realm, source);
+            JSModuleData parsedModule;
+            if (prefetched != null && prefetched.parsedModule != null) {
+                parsedModule = realm.getContext().getEvaluator().parseModule(realm.getContext(), source, prefetched.parsedModule);
+            } else {
+                parsedModule = realm.getContext().getEvaluator().envParseModule(realm, source);
+            }
             newModule = new JSModuleRecord(parsedModule, this);
+            prefetchRequestedModules(newModule);
         }
         moduleMap.put(canonicalPath, newModule);
 
@@ -231,7 +272,101 @@ public class DefaultESModuleLoader implements JSModuleLoader {
     @Override
     public JSModuleRecord loadModule(Source source, JSModuleData moduleData) {
         String canonicalPath = getCanonicalPath(source);
-        return moduleMap.computeIfAbsent(canonicalPath, (key) -> new JSModuleRecord(moduleData, this));
+        return moduleMap.computeIfAbsent(canonicalPath, (key) -> {
+            JSModuleRecord newModule = new JSModuleRecord(moduleData, this);
+            prefetchRequestedModules(newModule);
+            return newModule;
+        });
+    }
+
+    /**
+     * Starts reading and parsing the modules requested by a newly loaded module on background
+     * threads, if enabled, while the calling thread continues with linking. Only the parsing is
+     * done in the background; the parsed modules are translated when they are resolved.
+     */
+    protected void prefetchRequestedModules(JSModuleRecord module) {
+        int threads = realm.getContext().getContextOptions().getModuleParseThreads();
+        if (threads <= 0) {
+            return;
+        }
+        String refPath = module.getSource().getPath();
+        for (ModuleRequest moduleRequest : module.getModule().getRequestedModules()) {
+            String specifier = Strings.toJavaString(moduleRequest.getSpecifier());
+            TruffleFile moduleFile;
+            try {
+                TruffleString maybeCustomPath = realm.getCustomEsmPathMapping(Strings.fromJavaString(refPath), moduleRequest.getSpecifier());
+                if (maybeCustomPath != null) {
+                    moduleFile = realm.getEnv().getPublicTruffleFile(maybeCustomPath.toJavaStringUncached());
+                } else {
+                    moduleFile = resolveModuleFile(refPath, specifier);
+                    if (!moduleFile.isRegularFile()) {
+                        continue;
+                    }
+                }
+                moduleFile = moduleFile.getCanonicalFile();
+            } catch (IOException | SecurityException | UnsupportedOperationException | IllegalArgumentException e) {
+                // reported when the module is resolved
+                continue;
+            }
+            String canonicalPath = moduleFile.getPath();
+            if (moduleMap.containsKey(canonicalPath) || prefetchedModules.containsKey(canonicalPath) || isModuleType(getModuleType(moduleFile.getName()), JSON_MODULE_TYPE)) {
+                continue;
+            }
+            if (parseExecutor == null) {
+                parseExecutor = Executors.newFixedThreadPool(threads, (runnable) -> {
+                    Thread thread = realm.getEnv().createSystemThread(runnable);
+                    thread.setName("JS-Module-Parser-Thread");
+                    synchronized (parseThreads) {
+                        parseThreads.add(thread);
+                    }
+                    return thread;
+                });
+            }
+            JSContext context = realm.getContext();
+            TruffleFile file = moduleFile;
+            prefetchedModules.put(canonicalPath, parseExecutor.submit(() -> {
+                Source source = Source.newBuilder(JavaScriptLanguage.ID, file).name(specifier).mimeType(JavaScriptLanguage.MODULE_MIME_TYPE).build();
+                return new PrefetchedModule(source, context.getEvaluator().parseModuleAhead(context, source));
+            }));
+        }
+    }
+
+    private PrefetchedModule takePrefetchedModule(String canonicalPath) {
+        Future<PrefetchedModule> future = prefetchedModules.remove(canonicalPath);
+        if (future == null || future.cancel(false)) {
+            // not prefetched or not started yet; rather load the module on this thread
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw JSInterruptedExecutionException.wrap(e);
+        } catch (ExecutionException e) {
+            // errors are reported when the module is loaded on this thread
+            return null;
+        }
+    }
+
+    /**
+     * Stops the background threads parsing requested modules, if any.
+     */
+    public void terminate() {
+        if (parseExecutor != null) {
+            parseExecutor.shutdownNow();
+            try {
+                // parsing does not react to interrupts, wait for running tasks to complete
+                parseExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                // system threads must have finished before the context is closed
+                synchronized (parseThreads) {
+                    for (Thread thread : parseThreads) {
+                        thread.join();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            prefetchedModules.clear();
+        }
     }
 
     private String getCanonicalPath(Source source) {
@@ -44,7 +44,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Consumer;
 
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -62,10 +61,8 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Properties;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.Symbol;
-import com.oracle.truffle.js.runtime.builtins.Builtin;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
-import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 
 /**
@@ -419,19 +416,7 @@ public final class JSObjectUtil {
     }
 
     public static void putFunctionsFromContainer(JSRealm realm, JSDynamicObject thisObj, JSBuiltinsContainer container) {
-        JSContext context = realm.getContext();
-        container.forEachBuiltin(new Consumer<Builtin>() {
-            @Override
-            public void accept(Builtin builtin) {
-                if (!builtin.isIncluded(context)) {
-                    return;
-                } else if (builtin.isGetter() || builtin.isSetter()) {
-                    return;
-                }
-                JSFunctionData functionData = builtin.createFunctionData(context);
-                putDataProperty(context, thisObj, builtin.getKey(), JSFunction.create(realm, functionData), builtin.getAttributeFlags());
-            }
-        });
+        realm.getContext().getBuiltinsTemplate(container).install(realm, thisObj);
     }
 
     public static void putHiddenProperty(JSDynamicObject obj, Object key, Object value) {
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe, bounded cache with W-TinyLFU admission and eviction.
+ *
+ * Entries are distributed over independently locked {@link TinyLFUCache} segments, so that threads
+ * looking up unrelated keys do not contend for a single lock. Admission and eviction decisions are
+ * made per segment. Hit, miss and eviction counts are kept by each segment under its lock and are
+ * summed up on request.
+ */
+public final class ConcurrentTinyLFUCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+    /** Small caches are not split any further to keep the eviction order meaningful. */
+    private static final int MIN_SEGMENT_SIZE = 8;
+
+    private final TinyLFUCache<K, V>[] segments;
+    private final int maxCacheSize;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentTinyLFUCache(int maxCacheSize) {
+        assert maxCacheSize > 0 : maxCacheSize;
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maxCacheSize / MIN_SEGMENT_SIZE)));
+        this.segments = new TinyLFUCache[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int segmentSize = maxCacheSize / segmentCount + (i < maxCacheSize % segmentCount ? 1 : 0);
+            segments[i] = new TinyLFUCache<>(segmentSize);
+        }
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    private TinyLFUCache<K, V> segmentFor(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[hash & (segments.length - 1)];
+    }
+
+    public V get(K key) {
+        TinyLFUCache<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    public void put(K key, V value) {
+        TinyLFUCache<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (TinyLFUCache<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int getMaxCacheSize() {
+        return maxCacheSize;
+    }
+
+    public long getHitCount() {
+        long count = 0;
+        for (TinyLFUCache<K, V> segment : segments) {
+            synchronized (segment) {
+                count += segment.getHitCount();
+            }
+        }
+        return count;
+    }
+
+    public long getMissCount() {
+        long count = 0;
+        for (TinyLFUCache<K, V> segment : segments) {
+            synchronized (segment) {
+                count += segment.getMissCount();
+            }
+        }
+        return count;
+    }
+
+    public long getEvictionCount() {
+        long count = 0;
+        for (TinyLFUCache<K, V> segment : segments) {
+            synchronized (segment) {
+                count += segment.getEvictionCount();
+            }
+        }
+        return count;
+    }
+    /** Size and counters of this cache by name, for debugging. */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("size", (long) size());
+        statistics.put("maxSize", (long) getMaxCacheSize());
+        statistics.put("hits", getHitCount());
+        statistics.put("misses", getMissCount());
+        statistics.put("evictions", getEvictionCount());
+        return statistics;
+    }
+}
@@ -40,12 +40,20 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
-import java.util.HashMap;
+import java.util.Arrays;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.Strings;
 
 /**
  * ES6-compliant hash map implementation.
+ *
+ * Entries are stored in insertion order in flat arrays of keys, values, and hashes, and chained
+ * per bucket by index (a deterministic hash table). Removed entries leave a hole that is
+ * reclaimed when the table is rebuilt. A rebuilt table records the removed slots so that cursors
+ * created on an older table can continue on the new one.
  */
 public final class JSHashMap {
     public interface Cursor {
@@ -72,21 +80,26 @@ public final class JSHashMap {
         Cursor copy();
     }
 
-    private final HashMap<Object, Node> map;
-    private final Node head;
-    private Node tail;
+    /**
+     * Maps with at most this many used slots may be searched with the linear scans below, which
+     * (unlike the hashed lookups) can be partially evaluated.
+     */
+    public static final int SMALL_MAP_SLOTS = 8;
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int NONE = -1;
+
+    private Table table;
 
     @TruffleBoundary(allowInlining = true)
     public JSHashMap() {
-        this.map = new HashMap<>();
-        Node dummy = new Node(null, null, null, null);
-        this.head = dummy;
-        this.tail = dummy;
+        this.table = new Table(INITIAL_CAPACITY);
     }
 
     @TruffleBoundary(allowInlining = true)
     public int size() {
-        return map.size();
+        return table.size;
     }
 
     /**
@@ -94,172 +107,361 @@ public final class JSHashMap {
      */
     @TruffleBoundary
     public void put(Object key, Object value) {
-        Node newNode = new Node(key, value, null, null);
-        Node oldNode = map.putIfAbsent(key, newNode);
-        if (oldNode == null) {
-            newNode.setPrev(tail);
-            tail.setNext(newNode);
-            tail = newNode;
+        assert value != null;
+        int hash = hash(key);
+        Table t = table;
+        int index = t.find(key, hash);
+        if (index != NONE) {
+            t.values[index] = value;
         } else {
-            oldNode.setValue(value);
+            if (t.usedSlots == t.keys.length) {
+                t = rebuild();
+            }
+            t.add(key, value, hash);
         }
     }
 
     @TruffleBoundary
     public Object get(Object key) {
-        Node node = map.get(key);
-        return node == null ? null : node.getValue();
+        Table t = table;
+        int index = t.find(key, hash(key));
+        return index == NONE ? null : t.values[index];
+    }
+
+    /**
+     * Variant of {@link #get(Object)} for (normalized) int keys that does not box the key.
+     */
+    @TruffleBoundary
+    public Object get(int key) {
+        Table t = table;
+        int index = t.findInt(key);
+        return index == NONE ? null : t.values[index];
     }
 
     @TruffleBoundary
     public boolean has(Object key) {
-        return map.containsKey(key);
+        return table.find(key, hash(key)) != NONE;
+    }
+
+    /**
+     * Variant of {@link #has(Object)} for (normalized) int keys that does not box the key.
+     */
+    @TruffleBoundary
+    public boolean has(int key) {
+        return table.findInt(key) != NONE;
+    }
+
+    /**
+     * Returns {@code true} if this map is small enough for the linear scan lookups.
+     */
+    public boolean isSmall() {
+        return table.usedSlots <= SMALL_MAP_SLOTS;
+    }
+
+    /**
+     * Linear scan variant of {@link #get(int)} for {@link #isSmall() small} maps.
+     */
+    public Object getSmall(int key) {
+        Table t = table;
+        for (int i = 0; i < t.usedSlots; i++) {
+            Object k = t.keys[i];
+            if (k instanceof Integer && ((Integer) k).intValue() == key) {
+                return t.values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Linear scan variant of {@link #get(Object)} for {@link #isSmall() small} maps and keys that
+     * are only equal to themselves (objects and symbols).
+     */
+    public Object getSmallIdentity(Object key) {
+        Table t = table;
+        for (int i = 0; i < t.usedSlots; i++) {
+            if (t.keys[i] == key) {
+                return t.values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Linear scan variant of {@link #get(Object)} for {@link #isSmall() small} maps and string
+     * keys.
+     */
+    public Object getSmall(TruffleString key, TruffleString.EqualNode equalNode) {
+        Table t = table;
+        for (int i = 0; i < t.usedSlots; i++) {
+            Object k = t.keys[i];
+            if (k instanceof TruffleString && Strings.equals(equalNode, key, (TruffleString) k)) {
+                return t.values[i];
+            }
+        }
+        return null;
     }
 
     @TruffleBoundary
     public boolean remove(Object key) {
-        Node node = map.remove(key);
-        if (node == null) {
+        Table t = table;
+        int index = t.find(key, hash(key));
+        if (index == NONE) {
             return false;
-        } else {
-            unlink(node);
-            return true;
         }
+        t.remove(index);
+        return true;
     }
 
-    private void unlink(Node node) {
-        Node next = node.getNext();
-        Node prev = node.getPrev();
-        prev.setNext(next);
-        if (next != null) {
-            next.setPrev(prev);
-        } else {
-            tail = prev;
+    /**
+     * Variant of {@link #remove(Object)} for (normalized) int keys that does not box the key.
+     */
+    @TruffleBoundary
+    public boolean remove(int key) {
+        Table t = table;
+        int index = t.findInt(key);
+        if (index == NONE) {
+            return false;
         }
-        node.setEmpty();
+        t.remove(index);
+        return true;
     }
 
     @TruffleBoundary
     public void clear() {
-        map.clear();
-        for (Node current = head.getNext(); current != null; current = current.getNext()) {
-            current.setEmpty();
+        Table newTable = new Table(INITIAL_CAPACITY);
+        table.replace(newTable, null);
+        table = newTable;
+    }
+
+    /**
+     * Rebuilds the table without the removed entries, growing or shrinking it as needed.
+     */
+    private Table rebuild() {
+        Table oldTable = table;
+        int size = oldTable.size;
+        int capacity = oldTable.keys.length;
+        int newCapacity;
+        if (size >= capacity / 2) {
+            if (capacity >= MAXIMUM_CAPACITY) {
+                throw Errors.createRangeError("Map maximum size exceeded");
+            }
+            newCapacity = capacity * 2;
+        } else if (size < capacity / 8 && capacity > INITIAL_CAPACITY) {
+            newCapacity = capacity / 2;
+        } else {
+            newCapacity = capacity;
         }
-        head.setNext(null);
-        tail = head;
+        Table newTable = new Table(newCapacity);
+        int[] removed = new int[oldTable.usedSlots - size];
+        int removedCount = 0;
+        for (int i = 0; i < oldTable.usedSlots; i++) {
+            Object key = oldTable.keys[i];
+            if (key == null) {
+                removed[removedCount++] = i;
+            } else {
+                newTable.add(key, oldTable.values[i], oldTable.hashes[i]);
+            }
+        }
+        assert removedCount == removed.length;
+        oldTable.replace(newTable, removed);
+        table = newTable;
+        return newTable;
+    }
+
+    private static int hash(Object key) {
+        return spread(key.hashCode());
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
     }
 
     @TruffleBoundary
     @Override
     public String toString() {
-        return map.toString();
+        StringBuilder sb = new StringBuilder("{");
+        Table t = table;
+        for (int i = 0; i < t.usedSlots; i++) {
+            if (t.keys[i] != null) {
+                if (sb.length() > 1) {
+                    sb.append(", ");
+                }
+                sb.append(t.keys[i]).append('=').append(t.values[i]);
+            }
+        }
+        return sb.append('}').toString();
     }
 
     public Cursor getEntries() {
-        return new CursorImpl(head);
+        return new CursorImpl(table, NONE);
     }
 
-    private static final class CursorImpl implements Cursor {
-        private Node current;
+    private static final class Table {
+        /** Keys in insertion order; {@code null} for removed entries. */
+        private Object[] keys;
+        private Object[] values;
+        private int[] hashes;
+        /** Index of the next entry in the same bucket, or {@link #NONE}. */
+        private int[] chain;
+        /** Index of the most recently added entry of each bucket, or {@link #NONE}. */
+        private int[] buckets;
+        private int usedSlots;
+        private int size;
+
+        /** The table that replaced this one, if any. */
+        private Table next;
+        /** Slots removed when this table was rebuilt into {@link #next}; {@code null} if cleared. */
+        private int[] removed;
+
+        Table(int capacity) {
+            this.keys = new Object[capacity];
+            this.values = new Object[capacity];
+            this.hashes = new int[capacity];
+            this.chain = new int[capacity];
+            this.buckets = new int[capacity];
+            Arrays.fill(buckets, NONE);
+        }
 
-        CursorImpl(Node head) {
-            this.current = head;
+        int find(Object key, int hash) {
+            for (int i = buckets[hash & (buckets.length - 1)]; i != NONE; i = chain[i]) {
+                if (hashes[i] == hash && key.equals(keys[i])) {
+                    return i;
+                }
+            }
+            return NONE;
         }
 
-        @Override
-        public boolean advance() {
-            if (current == null) {
-                return false;
-            } else {
-                // if current is no longer in the map, back up to a previous node still in the map
-                while (current.isEmpty() && current.getPrev() != null) {
-                    current = current.getPrev();
+        int findInt(int key) {
+            int hash = spread(Integer.hashCode(key));
+            for (int i = buckets[hash & (buckets.length - 1)]; i != NONE; i = chain[i]) {
+                if (hashes[i] == hash && keys[i] instanceof Integer && ((Integer) keys[i]).intValue() == key) {
+                    return i;
                 }
-                Node next = current.getNext();
-                assert next == null || next.getKey() != null;
-                current = next;
-                return next != null;
             }
+            return NONE;
         }
 
-        @Override
-        public Object getKey() {
-            Object key = current.getKey();
-            assert key != null;
-            return key;
+        void add(Object key, Object value, int hash) {
+            assert usedSlots < keys.length;
+            int index = usedSlots++;
+            int bucket = hash & (buckets.length - 1);
+            keys[index] = key;
+            values[index] = value;
+            hashes[index] = hash;
+            chain[index] = buckets[bucket];
+            buckets[bucket] = index;
+            size++;
         }
 
-        @Override
-        public Object getValue() {
-            Object value = current.getValue();
-            assert value != null;
-            return value;
+        void remove(int index) {
+            int bucket = hashes[index] & (buckets.length - 1);
+            if (buckets[bucket] == index) {
+                buckets[bucket] = chain[index];
+            } else {
+                int prev = buckets[bucket];
+                while (chain[prev] != index) {
+                    prev = chain[prev];
+                }
+                chain[prev] = chain[index];
+            }
+            keys[index] = null;
+            values[index] = null;
+            size--;
         }
 
-        @Override
-        public String toString() {
-            return "Cursor [current=" + current + "]";
+        /**
+         * Marks this table as replaced. Only the information needed to move cursors to the new
+         * table is kept.
+         */
+        void replace(Table newTable, int[] removedSlots) {
+            this.next = newTable;
+            this.removed = removedSlots;
+            this.keys = null;
+            this.values = null;
+            this.hashes = null;
+            this.chain = null;
+            this.buckets = null;
         }
 
-        @Override
-        public Cursor copy() {
-            return new CursorImpl(current);
+        /**
+         * Translates the index of a cursor on this table to the corresponding index on
+         * {@link #next}, i.e., the index of the last entry before the next one to visit.
+         */
+        int translateIndex(int index) {
+            if (removed == null) {
+                return NONE;
+            }
+            int removedBefore = Arrays.binarySearch(removed, index);
+            // number of removed slots <= index
+            removedBefore = removedBefore >= 0 ? removedBefore + 1 : -removedBefore - 1;
+            return index - removedBefore;
         }
     }
 
-    private static final class Node {
+    private static final class CursorImpl implements Cursor {
+        /** The table of this cursor, or {@code null} once the cursor is exhausted. */
+        private Table table;
+        private int index;
         private Object key;
         private Object value;
-        private Node prev;
-        private Node next;
-
-        Node(Object key, Object value, Node prev, Node next) {
-            this.key = key;
-            this.value = value;
-            this.prev = prev;
-            this.next = next;
-        }
-
-        Object getKey() {
-            return key;
-        }
-
-        Object getValue() {
-            return value;
-        }
-
-        void setValue(Object value) {
-            this.value = value;
-        }
 
-        Node getPrev() {
-            return prev;
+        CursorImpl(Table table, int index) {
+            this.table = table;
+            this.index = index;
         }
 
-        void setPrev(Node prev) {
-            this.prev = prev;
-        }
-
-        Node getNext() {
-            return next;
+        @Override
+        public boolean advance() {
+            Table t = table;
+            if (t == null) {
+                return false;
+            }
+            int i = index;
+            while (t.next != null) {
+                i = t.translateIndex(i);
+                t = t.next;
+            }
+            i++;
+            while (i < t.usedSlots && t.keys[i] == null) {
+                i++;
+            }
+            if (i < t.usedSlots) {
+                table = t;
+                index = i;
+                key = t.keys[i];
+                value = t.values[i];
+                return true;
+            } else {
+                table = null;
+                key = null;
+                value = null;
+                return false;
+            }
         }
 
-        void setNext(Node next) {
-            this.next = next;
+        @Override
+        public Object getKey() {
+            assert key != null;
+            return key;
         }
 
-        void setEmpty() {
-            this.key = null;
-            this.value = null;
+        @Override
+        public Object getValue() {
+            assert value != null;
+            return value;
         }
 
-        boolean isEmpty() {
-            return this.key == null;
+        @Override
+        public String toString() {
+            return "Cursor [index=" + index + ", key=" + key + "]";
         }
 
         @Override
-        public String toString() {
-            return "Node [key=" + key + ", value=" + value + "]";
+        public Cursor copy() {
+            CursorImpl copy = new CursorImpl(table, index);
+            copy.key = key;
+            copy.value = value;
+            return copy;
         }
     }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted by {@link ParseMetrics} for every measured phase. This is the only class that
+ * depends on the optional {@code jdk.jfr} module; it is only loaded if the module is available.
+ */
+@Name("com.oracle.truffle.js.Parse")
+@Label("JavaScript Parse")
+@Description("Parsing or translation of a JavaScript source or function")
+@Category("JavaScript")
+@StackTrace(false)
+final class ParseEvent extends Event {
+    @Label("Source") String source;
+    @Label("Phase") String phase;
+    @Label("Allocated") @DataAmount long allocatedBytes;
+
+    /**
+     * Begins a new event. The parameter and return types are {@link Object} so that callers can be
+     * verified without loading this class.
+     */
+    static Object beginEvent() {
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitEvent(Object e, String source, String phase, long allocatedBytes) {
+        ParseEvent event = (ParseEvent) e;
+        if (event.shouldCommit()) {
+            event.end();
+            event.source = source;
+            event.phase = phase;
+            event.allocatedBytes = allocatedBytes;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.nodes.RootNode;
+
+/**
+ * Per-source parse and translate metrics of a JSContext, collected when the
+ * {@code js.parse-metrics} option is enabled. Every measured phase is also emitted as a
+ * {@code com.oracle.truffle.js.Parse} JFR event if the {@code jdk.jfr} module is available.
+ *
+ * The JSContext, and therefore the metrics, are shared by all polyglot contexts of an engine that
+ * use compatible options, so the metrics include the sources of all of them.
+ */
+public final class ParseMetrics {
+
+    public enum Phase {
+        PARSE,
+        TRANSLATE
+    }
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+    private static final boolean JFR_AVAILABLE = isJFRAvailable();
+
+    private final Map<String, SourceMetrics> sources = new ConcurrentHashMap<>();
+
+    public Sample start() {
+        CompilerAsserts.neverPartOfCompilation();
+        return new Sample();
+    }
+
+    /**
+     * Records the time and memory spent since {@code sample} was started in the given phase.
+     */
+    public void end(Sample sample, Phase phase, String sourceName) {
+        CompilerAsserts.neverPartOfCompilation();
+        long nanos = System.nanoTime() - sample.startNanos;
+        long bytes = sample.startBytes < 0 ? 0 : Math.max(0, currentThreadAllocatedBytes() - sample.startBytes);
+        SourceMetrics metrics = getSourceMetrics(sourceName);
+        if (phase == Phase.PARSE) {
+            metrics.parseCount.increment();
+            metrics.parseNanos.add(nanos);
+        } else {
+            metrics.translateNanos.add(nanos);
+        }
+        metrics.allocatedBytes.add(bytes);
+
+        if (sample.event != null) {
+            ParseEvent.commitEvent(sample.event, sourceName, phase.name(), bytes);
+        }
+    }
+
+    /**
+     * Records a function whose translation has been deferred until its first call.
+     */
+    public void functionDeferred(String sourceName) {
+        getSourceMetrics(sourceName).deferredFunctions.increment();
+    }
+
+    /**
+     * Records a translated function, either as part of its enclosing script or on demand.
+     */
+    public void functionTranslated(String sourceName, RootNode rootNode, boolean onDemand) {
+        SourceMetrics metrics = getSourceMetrics(sourceName);
+        (onDemand ? metrics.onDemandFunctions : metrics.eagerFunctions).increment();
+        metrics.nodeCount.add(NodeUtil.countNodes(rootNode));
+    }
+
+    /**
+     * Returns a snapshot of the metrics, sorted by source name.
+     */
+    public Map<String, SourceMetrics> getSources() {
+        return new TreeMap<>(sources);
+    }
+
+    private SourceMetrics getSourceMetrics(String sourceName) {
+        return sources.computeIfAbsent(sourceName, k -> new SourceMetrics());
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+                return (com.sun.management.ThreadMXBean) bean;
+            }
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // allocation tracking not available
+        }
+        return null;
+    }
+
+    /**
+     * The {@code jdk.jfr} module is optional; it may be missing from the runtime image or not be
+     * resolved when running on the module path.
+     */
+    private static boolean isJFRAvailable() {
+        Module jfr = ModuleLayer.boot().findModule("jdk.jfr").orElse(null);
+        return jfr != null && ParseMetrics.class.getModule().canRead(jfr);
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (THREAD_MX_BEAN == null || !THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public static final class Sample {
+        private final long startNanos;
+        private final long startBytes;
+        /** The JFR event, or {@code null} if JFR is not available. */
+        private final Object event;
+
+        private Sample() {
+            this.event = JFR_AVAILABLE ? ParseEvent.beginEvent() : null;
+            this.startBytes = currentThreadAllocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+    }
+
+    public static final class SourceMetrics {
+        private final LongAdder parseCount = new LongAdder();
+        private final LongAdder parseNanos = new LongAdder();
+        private final LongAdder translateNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder nodeCount = new LongAdder();
+        private final LongAdder eagerFunctions = new LongAdder();
+        private final LongAdder deferredFunctions = new LongAdder();
+        private final LongAdder onDemandFunctions = new LongAdder();
+
+        /** Number of times the source or one of its preparsed functions was parsed. */
+        public long getParseCount() {
+            return parseCount.sum();
+        }
+
+        public long getParseNanos() {
+            return parseNanos.sum();
+        }
+
+        public long getTranslateNanos() {
+            return translateNanos.sum();
+        }
+
+        /** Bytes allocated while parsing and translating, or 0 if not supported by the VM. */
+        public long getAllocatedBytes() {
+            return allocatedBytes.sum();
+        }
+
+        /** Number of nodes of all translated functions. */
+        public long getNodeCount() {
+            return nodeCount.sum();
+        }
+
+        /** Number of functions translated together with their script or module, including its body. */
+        public long getEagerFunctions() {
+            return eagerFunctions.sum();
+        }
+
+        /** Number of functions whose translation was deferred until their first call. */
+        public long getDeferredFunctions() {
+            return deferredFunctions.sum();
+        }
+
+        /** Number of deferred functions that have been translated since. */
+        public long getOnDemandFunctions() {
+            return onDemandFunctions.sum();
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.HashMap;
+
+/**
+ * Bounded cache with W-TinyLFU admission and eviction.
+ *
+ * New entries enter a small LRU window. Entries that fall out of the window only replace the
+ * eviction victim of the main (segmented LRU) region if they have been accessed more frequently,
+ * as estimated by a count-min sketch. This keeps frequently used entries alive when the cache is
+ * flooded with entries that are used only once.
+ *
+ * Not thread-safe; callers must synchronize on the cache or use {@link ConcurrentTinyLFUCache}.
+ */
+public final class TinyLFUCache<K, V> {
+
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    private final HashMap<K, Node<K, V>> data;
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+    private final FrequencySketch sketch;
+
+    private final int maxCacheSize;
+    private final int maxWindowSize;
+    private final int maxProtectedSize;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public TinyLFUCache(int maxCacheSize) {
+        assert maxCacheSize >= 0 : maxCacheSize;
+        this.maxCacheSize = maxCacheSize;
+        this.maxWindowSize = Math.max(1, maxCacheSize / 100);
+        this.maxProtectedSize = (maxCacheSize - maxWindowSize) * 4 / 5;
+        this.data = new HashMap<>(Math.min(maxCacheSize, 16));
+        this.sketch = new FrequencySketch(maxCacheSize);
+    }
+
+    public V get(K key) {
+        sketch.increment(key);
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onAccess(node);
+        return node.value;
+    }
+
+    public V put(K key, V value) {
+        sketch.increment(key);
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            V oldValue = node.value;
+            node.value = value;
+            onAccess(node);
+            return oldValue;
+        }
+        if (maxCacheSize == 0) {
+            return null;
+        }
+        node = new Node<>(key, value);
+        data.put(key, node);
+        window.addLast(node, WINDOW);
+        if (window.size > maxWindowSize) {
+            Node<K, V> candidate = window.removeFirst();
+            probation.addLast(candidate, PROBATION);
+            if (data.size() > maxCacheSize) {
+                evict(candidate);
+            }
+        }
+        return null;
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                protectedQueue.addLast(node, PROTECTED);
+                if (protectedQueue.size > maxProtectedSize) {
+                    probation.addLast(protectedQueue.removeFirst(), PROBATION);
+                }
+                break;
+            case PROTECTED:
+                protectedQueue.moveToLast(node);
+                break;
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Evicts either the candidate that has just left the window or the least recently used entry
+     * of the main region, whichever has been accessed less frequently.
+     */
+    private void evict(Node<K, V> candidate) {
+        Node<K, V> victim = probation.first();
+        if (victim == candidate) {
+            victim = protectedQueue.first();
+        }
+        Node<K, V> evicted;
+        if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            evicted = victim;
+        } else {
+            evicted = candidate;
+        }
+        (evicted.queue == PROTECTED ? protectedQueue : probation).remove(evicted);
+        data.remove(evicted.key);
+        evictionCount++;
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public int getMaxCacheSize() {
+        return maxCacheSize;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        byte queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Doubly-linked list of nodes, ordered from least to most recently used.
+     */
+    private static final class AccessQueue<K, V> {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+        int size;
+
+        Node<K, V> first() {
+            return head;
+        }
+
+        void addLast(Node<K, V> node, byte queue) {
+            node.queue = queue;
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        Node<K, V> removeFirst() {
+            Node<K, V> node = head;
+            remove(node);
+            return node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != tail) {
+                byte queue = node.queue;
+                remove(node);
+                addLast(node, queue);
+            }
+        }
+    }
+
+    /**
+     * Count-min sketch with four 4-bit counters per key, packed into longs. All counters are
+     * halved periodically so that the estimate reflects recent accesses.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+        /**
+         * Upper bound on the table length (128 KB). Larger caches share counters, which only makes
+         * the frequency estimate less precise.
+         */
+        private static final int MAX_TABLE_LENGTH = 1 << 14;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxCacheSize) {
+            int length = Integer.highestOneBit(Math.max(8, Math.min(maxCacheSize, MAX_TABLE_LENGTH)) - 1) << 1;
+            this.table = new long[length];
+            this.sampleSize = 10 * length;
+        }
+
+        private static int spread(Object key) {
+            int h = key.hashCode() * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return ((int) h) & (table.length - 1);
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key);
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int shift = (start + i) << 2;
+                int count = (int) ((table[indexOf(hash, i)] >>> shift) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key);
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int shift = (start + i) << 2;
+                long mask = 0xfL << shift;
+                if ((table[index] & mask) != mask) {
+                    table[index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions /= 2;
+        }
+    }
+}
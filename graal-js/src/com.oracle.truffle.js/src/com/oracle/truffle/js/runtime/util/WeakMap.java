@@ -40,23 +40,48 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-import com.oracle.truffle.api.object.HiddenKey;
-import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
-import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 
 /**
- * JavaScript WeakMap that emulates ephemeron semantics by storing the value in the key itself
- * (i.e., in a hidden property within the key object).
+ * JavaScript WeakMap backed by a hash table owned by the map, keyed weakly by identity. Keys are
+ * not modified, so adding a key to a WeakMap neither changes its shape nor costs it any memory.
+ * Entries whose key has been garbage-collected are enqueued to a {@link ReferenceQueue} and
+ * expunged on the next access.
+ *
+ * This only approximates ephemeron semantics: the values are held strongly by the table, so a
+ * value that refers to its own key keeps the key alive for as long as the WeakMap is reachable.
  */
 public final class WeakMap implements Map<JSObject, Object> {
-    public static final HiddenKey INVERTED_WEAK_MAP_KEY = new HiddenKey("InvertedWeakMap");
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Value of a key in a WeakMap, linked to the other entries of its bucket.
+     */
+    private static final class Entry extends WeakReference<JSObject> {
+        private final int hash;
+        private Object value;
+        private Entry next;
+
+        Entry(JSObject key, int hash, Object value, Entry next, ReferenceQueue<JSObject> queue) {
+            super(key, queue);
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private final ReferenceQueue<JSObject> queue = new ReferenceQueue<>();
+    /** Allocated on first put; its length is always a power of two. */
+    private Entry[] table;
+    private int size;
 
     public WeakMap() {
     }
@@ -68,59 +93,122 @@ public final class WeakMap implements Map<JSObject, Object> {
         return (JSObject) key;
     }
 
-    @SuppressWarnings("unchecked")
-    private static Map<WeakMap, Object> getInvertedMap(JSObject k) {
-        return (Map<WeakMap, Object>) JSDynamicObject.getOrNull(k, INVERTED_WEAK_MAP_KEY);
+    /**
+     * Returns {@code false} if this map certainly contains no key. Does not expunge stale entries,
+     * so it may return {@code true} for a map whose keys have all been collected.
+     */
+    public boolean hasEntries() {
+        return size != 0;
     }
 
-    private static Map<WeakMap, Object> putInvertedMap(JSObject k) {
-        Map<WeakMap, Object> invertedMap = newInvertedMap();
-        JSObjectUtil.putHiddenProperty(k, INVERTED_WEAK_MAP_KEY, invertedMap);
-        return invertedMap;
+    private static int indexFor(int hash, int length) {
+        return hash & (length - 1);
     }
 
-    @TruffleBoundary
-    public static Map<WeakMap, Object> newInvertedMap() {
-        return new WeakHashMap<>();
+    private Entry find(JSObject k) {
+        expungeStaleEntries();
+        if (table == null) {
+            return null;
+        }
+        int hash = System.identityHashCode(k);
+        for (Entry e = table[indexFor(hash, table.length)]; e != null; e = e.next) {
+            if (e.hash == hash && e.get() == k) {
+                return e;
+            }
+        }
+        return null;
     }
 
-    @TruffleBoundary
-    public Map<WeakMap, Object> newInvertedMapWithEntry(JSObject key, Object value) {
-        assert getInvertedMap(key) == null;
-        Map<WeakMap, Object> map = new WeakHashMap<>();
-        map.put(this, value);
-        return map;
+    /**
+     * Unlinks the entries whose key has been garbage-collected.
+     */
+    private void expungeStaleEntries() {
+        for (Object ref; (ref = queue.poll()) != null;) {
+            unlink((Entry) ref);
+        }
     }
 
+    private void unlink(Entry entry) {
+        int index = indexFor(entry.hash, table.length);
+        Entry prev = null;
+        for (Entry e = table[index]; e != null; e = e.next) {
+            if (e == entry) {
+                if (prev == null) {
+                    table[index] = e.next;
+                } else {
+                    prev.next = e.next;
+                }
+                // Drop the value now rather than when the entry itself is collected.
+                e.value = null;
+                size--;
+                return;
+            }
+            prev = e;
+        }
+    }
+
+    private void resize() {
+        Entry[] oldTable = table;
+        Entry[] newTable = new Entry[oldTable.length * 2];
+        for (Entry head : oldTable) {
+            for (Entry e = head; e != null;) {
+                Entry next = e.next;
+                int index = indexFor(e.hash, newTable.length);
+                e.next = newTable[index];
+                newTable[index] = e;
+                e = next;
+            }
+        }
+        table = newTable;
+    }
+
+    @TruffleBoundary
     @Override
     public boolean containsKey(Object key) {
-        JSObject k = checkKey(key);
-        Map<WeakMap, Object> invertedMap = getInvertedMap(k);
-        return invertedMap == null ? false : invertedMap.containsKey(this);
+        return find(checkKey(key)) != null;
     }
 
+    @TruffleBoundary
     @Override
     public Object get(Object key) {
-        JSObject k = checkKey(key);
-        Map<WeakMap, Object> invertedMap = getInvertedMap(k);
-        return invertedMap == null ? null : invertedMap.get(this);
+        Entry e = find(checkKey(key));
+        return e == null ? null : e.value;
     }
 
+    @TruffleBoundary
     @Override
     public Object put(JSObject key, Object value) {
         JSObject k = checkKey(key);
-        Map<WeakMap, Object> invertedMap = getInvertedMap(k);
-        if (invertedMap == null) {
-            invertedMap = putInvertedMap(k);
+        Entry e = find(k);
+        if (e != null) {
+            Object oldValue = e.value;
+            e.value = value;
+            return oldValue;
+        }
+        if (table == null) {
+            table = new Entry[INITIAL_CAPACITY];
+        } else if (size >= table.length - (table.length >>> 2)) {
+            resize();
         }
-        return invertedMap.put(this, value);
+        int hash = System.identityHashCode(k);
+        int index = indexFor(hash, table.length);
+        table[index] = new Entry(k, hash, value, table[index], queue);
+        size++;
+        return null;
     }
 
+    @TruffleBoundary
     @Override
     public Object remove(Object key) {
-        JSObject k = checkKey(key);
-        Map<WeakMap, Object> invertedMap = getInvertedMap(k);
-        return invertedMap == null ? null : invertedMap.remove(this);
+        Entry e = find(checkKey(key));
+        if (e == null) {
+            return null;
+        }
+        Object oldValue = e.value;
+        unlink(e);
+        // Keep the entry from being unlinked a second time once its key is collected.
+        e.clear();
+        return oldValue;
     }
 
     @Override